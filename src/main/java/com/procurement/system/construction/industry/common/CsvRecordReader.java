@@ -0,0 +1,102 @@
+package com.procurement.system.construction.industry.common;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 RECORDS READ ONE AT A TIME FROM A STREAM: QUOTED FIELDS MAY HOLD COMMAS, DOUBLED QUOTES AND LINE BREAKS.
+// ONLY THE CURRENT RECORD IS HELD IN MEMORY, HOWEVER LONG THE FILE IS
+public class CsvRecordReader {
+
+    private static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+    private int pending = -2;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // NULL AT THE END OF THE STREAM; BLANK LINES ARE SKIPPED
+    public List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if(c == -1){
+                return null;
+            }
+            if(c == '\r' || c == '\n'){
+                continue;
+            }
+
+            unread(c);
+            return readRecord();
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            int c = read();
+            if(quoted){
+                if(c == -1){
+                    throw new IOException("unterminated quoted field");
+                }
+                if(c == '"'){
+                    int following = read();
+                    if(following == '"'){
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+                continue;
+            }
+
+            if(c == -1 || c == '\n' || c == '\r'){
+                if(c == '\r'){
+                    int following = read();
+                    if(following != '\n'){
+                        unread(following);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if(c == ','){
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if(c == '"' && field.isEmpty()){
+                quoted = true;
+            } else {
+                append(field, (char) c);
+            }
+        }
+    }
+
+    private static void append(StringBuilder field, char c) throws IOException {
+        if(field.length() >= MAX_FIELD_LENGTH){
+            throw new IOException("field longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        if(pending != -2){
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
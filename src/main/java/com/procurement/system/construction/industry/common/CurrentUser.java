@@ -0,0 +1,14 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public final class CurrentUser {
+
+    private final AuthPrincipal principal;
+
+    private final String token;
+}
@@ -0,0 +1,24 @@
+package com.procurement.system.construction.industry.common;
+
+import java.util.Optional;
+
+// FILLED ONCE PER REQUEST BY THE JWT FILTER AND ALWAYS CLEARED BEFORE THE THREAD IS RETURNED
+public final class CurrentUserContext {
+
+    private static final ThreadLocal<CurrentUser> CURRENT_USER = new ThreadLocal<>();
+
+    private CurrentUserContext() {
+    }
+
+    public static void set(CurrentUser currentUser) {
+        CURRENT_USER.set(currentUser);
+    }
+
+    public static Optional<CurrentUser> get() {
+        return Optional.ofNullable(CURRENT_USER.get());
+    }
+
+    public static void clear() {
+        CURRENT_USER.remove();
+    }
+}
@@ -0,0 +1,43 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.enums.ItemSort;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// POSITION OF THE LAST ROW OF A CATALOG PAGE IN (sortKey, itemId) ORDER. THE SORT IS PART OF THE TOKEN, SO A CURSOR
+// CAN'T BE REPLAYED AGAINST A DIFFERENT ORDERING; key IS THE NAME OR THE PRICE OF THAT ROW
+public record ItemCursor(ItemSort sort, String key, Long itemId) {
+
+    private static final String SEPARATOR = "|";
+
+    // THE VALUE TO BIND AGAINST THE SORT COLUMN
+    public Object sortKey() {
+        return sort.byPrice() ? Double.valueOf(key) : key;
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + itemId + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // THE KEY GOES LAST SO A NAME CONTAINING THE SEPARATOR STILL DECODES
+    public static ItemCursor decode(String token) throws BadRequestException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = first < 0 ? -1 : raw.indexOf(SEPARATOR, first + 1);
+            if(second < 0){
+                throw new BadRequestException("invalid page cursor.");
+            }
+
+            ItemCursor cursor = new ItemCursor(ItemSort.valueOf(raw.substring(0, first)),
+                    raw.substring(second + 1), Long.parseLong(raw.substring(first + 1, second)));
+            cursor.sortKey();
+            return cursor;
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("invalid page cursor.");
+        }
+    }
+}
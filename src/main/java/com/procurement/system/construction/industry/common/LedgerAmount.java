@@ -0,0 +1,7 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.enums.Status;
+
+// SUM OF THE CAPTURED LINE TOTALS OF ONE SITE'S ORDER LINES IN ONE STATUS
+public record LedgerAmount(Long siteId, Status status, Double amount) {
+}
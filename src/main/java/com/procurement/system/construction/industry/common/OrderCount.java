@@ -0,0 +1,9 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.enums.Status;
+
+import java.time.LocalDate;
+
+// NUMBER OF ORDERS SHARING ONE (site, status, supplier, requiredDate) COMBINATION
+public record OrderCount(Long siteId, Status status, Long supplierId, LocalDate requiredDate, long count) {
+}
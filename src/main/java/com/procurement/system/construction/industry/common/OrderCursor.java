@@ -0,0 +1,33 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// POSITION OF THE LAST ROW OF A PAGE IN (requiredDate, orderId) ORDER, HANDED TO CLIENTS AS AN OPAQUE TOKEN
+public record OrderCursor(LocalDate requiredDate, Long orderId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = requiredDate + SEPARATOR + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) throws BadRequestException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if(separator < 0){
+                throw new BadRequestException("invalid page cursor.");
+            }
+
+            return new OrderCursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new BadRequestException("invalid page cursor.");
+        }
+    }
+}
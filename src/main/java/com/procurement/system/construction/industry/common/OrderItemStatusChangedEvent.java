@@ -0,0 +1,8 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.enums.Status;
+
+// PUBLISHED INSIDE THE TRANSACTION THAT MOVES A SINGLE ORDER ITEM; version IS THE ITEM ROW'S VERSION AFTER THE CHANGE
+public record OrderItemStatusChangedEvent(Long orderItemId, Long orderId, Long siteId, Long supplierId,
+                                          Status from, Status to, long version) {
+}
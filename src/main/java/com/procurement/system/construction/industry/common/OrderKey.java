@@ -0,0 +1,9 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.enums.Status;
+
+import java.time.LocalDate;
+
+// THE FIELDS OF AN ORDER THAT STATUS CHANGE EVENTS CARRY
+public record OrderKey(Long orderId, Long siteId, Long supplierId, LocalDate requiredDate, Status status, long version) {
+}
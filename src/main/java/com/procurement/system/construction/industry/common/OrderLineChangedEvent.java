@@ -0,0 +1,5 @@
+package com.procurement.system.construction.industry.common;
+
+// PUBLISHED INSIDE THE TRANSACTION THAT ADDS A LINE TO, OR REMOVES A LINE FROM, AN EXISTING ORDER
+public record OrderLineChangedEvent(Long orderId, Long orderItemId, Long siteId, Long itemId, int quantity, boolean removed) {
+}
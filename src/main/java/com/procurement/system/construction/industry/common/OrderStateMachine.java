@@ -0,0 +1,112 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.enums.UserRole;
+import com.procurement.system.construction.industry.exception.ConflictException;
+import com.procurement.system.construction.industry.exception.ForbiddenException;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+// EVERY LEGAL ORDER AND ITEM STATUS CHANGE, AND WHICH ROLE MAY REQUEST IT. ALL TABLES ARE BUILT ONCE AND NEVER MUTATED.
+public final class OrderStateMachine {
+
+    private static final Map<Status, Set<Status>> ORDER_TRANSITIONS = table(Map.of(
+            Status.Pending, EnumSet.of(Status.Approved, Status.Cancelled),
+            Status.Approved, EnumSet.of(Status.Delivered, Status.Cancelled),
+            Status.Delivered, EnumSet.of(Status.Completed)
+    ));
+
+    private static final Map<Status, Set<Status>> ITEM_TRANSITIONS = table(Map.of(
+            Status.Pending, EnumSet.of(Status.Approved, Status.Cancelled),
+            Status.Approved, EnumSet.of(Status.Delivered, Status.Cancelled),
+            Status.Delivered, EnumSet.of(Status.Completed, Status.Returned),
+            Status.Returned, EnumSet.of(Status.Delivered)
+    ));
+
+    private static final Map<UserRole, Set<Status>> ORDER_TARGETS_BY_ROLE = roles(Map.of(
+            UserRole.SITE_MANAGER, EnumSet.of(Status.Completed),
+            UserRole.PROCUREMENT_MANAGER, EnumSet.of(Status.Approved, Status.Cancelled),
+            UserRole.SUPPLIER, EnumSet.of(Status.Delivered),
+            UserRole.ADMIN, EnumSet.allOf(Status.class)
+    ));
+
+    private static final Map<UserRole, Set<Status>> ITEM_TARGETS_BY_ROLE = roles(Map.of(
+            UserRole.SITE_MANAGER, EnumSet.of(Status.Completed, Status.Returned),
+            UserRole.SUPPLIER, EnumSet.of(Status.Delivered, Status.Cancelled),
+            UserRole.ADMIN, EnumSet.allOf(Status.class)
+    ));
+
+    // REVERSE LOOKUPS: FROM WHICH STATUSES CAN AN ORDER / ITEM REACH A TARGET
+    private static final Map<Status, Set<Status>> ORDER_SOURCES = sources(ORDER_TRANSITIONS);
+    private static final Map<Status, Set<Status>> ITEM_SOURCES = sources(ITEM_TRANSITIONS);
+
+    private OrderStateMachine() {
+    }
+
+    public static void checkOrderRole(UserRole role, Status target) throws ForbiddenException {
+        if(!ORDER_TARGETS_BY_ROLE.get(role).contains(target)){
+            throw new ForbiddenException("you are not allowed to mark an order as " + target);
+        }
+    }
+
+    public static void checkItemRole(UserRole role, Status target) throws ForbiddenException {
+        if(!ITEM_TARGETS_BY_ROLE.get(role).contains(target)){
+            throw new ForbiddenException("you are not allowed to mark an order item as " + target);
+        }
+    }
+
+    public static void checkOrderTransition(Status current, Status target) throws ConflictException {
+        if(!ORDER_TRANSITIONS.get(current).contains(target)){
+            throw new ConflictException("an order that is " + current + " cannot be marked as " + target);
+        }
+    }
+
+    public static void checkItemTransition(Status current, Status target) throws ConflictException {
+        if(!ITEM_TRANSITIONS.get(current).contains(target)){
+            throw new ConflictException("an order item that is " + current + " cannot be marked as " + target);
+        }
+    }
+
+    public static Set<Status> orderSourcesOf(Status target) {
+        return ORDER_SOURCES.get(target);
+    }
+
+    // ITEMS THAT FOLLOW THEIR ORDER TO target; ITEMS ALREADY PAST IT (E.G. CANCELLED LINES) ARE LEFT ALONE
+    public static Set<Status> itemSourcesOf(Status target) {
+        return ITEM_SOURCES.get(target);
+    }
+
+    private static Map<Status, Set<Status>> table(Map<Status, Set<Status>> transitions) {
+        Map<Status, Set<Status>> table = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            table.put(status, Collections.unmodifiableSet(transitions.getOrDefault(status, EnumSet.noneOf(Status.class))));
+        }
+        return Collections.unmodifiableMap(table);
+    }
+
+    private static Map<UserRole, Set<Status>> roles(Map<UserRole, Set<Status>> targets) {
+        Map<UserRole, Set<Status>> table = new EnumMap<>(UserRole.class);
+        for (UserRole role : UserRole.values()) {
+            table.put(role, Collections.unmodifiableSet(targets.getOrDefault(role, EnumSet.noneOf(Status.class))));
+        }
+        return Collections.unmodifiableMap(table);
+    }
+
+    private static Map<Status, Set<Status>> sources(Map<Status, Set<Status>> transitions) {
+        Map<Status, Set<Status>> sources = new EnumMap<>(Status.class);
+        for (Status target : Status.values()) {
+            Set<Status> from = EnumSet.noneOf(Status.class);
+            transitions.forEach((status, targets) -> {
+                if(targets.contains(target)){
+                    from.add(status);
+                }
+            });
+            sources.put(target, Collections.unmodifiableSet(from));
+        }
+        return Collections.unmodifiableMap(sources);
+    }
+}
@@ -0,0 +1,11 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.enums.Status;
+
+import java.time.LocalDate;
+
+// PUBLISHED INSIDE THE TRANSACTION THAT MOVES AN ORDER; from IS NULL WHEN THE ORDER WAS JUST CREATED.
+// version IS THE ORDER ROW'S VERSION AFTER THE CHANGE
+public record OrderStatusChangedEvent(Long orderId, Long siteId, Long supplierId, LocalDate requiredDate,
+                                      Status from, Status to, long version) {
+}
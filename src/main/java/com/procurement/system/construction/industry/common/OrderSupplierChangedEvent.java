@@ -0,0 +1,5 @@
+package com.procurement.system.construction.industry.common;
+
+// PUBLISHED INSIDE THE TRANSACTION THAT ASSIGNS A SUPPLIER; fromSupplierId IS NULL IF THE ORDER HAD NONE
+public record OrderSupplierChangedEvent(Long orderId, Long siteId, Long fromSupplierId, Long toSupplierId) {
+}
@@ -0,0 +1,7 @@
+package com.procurement.system.construction.industry.common;
+
+import java.util.List;
+
+// PUBLISHED INSIDE EACH ARCHIVAL CHUNK'S TRANSACTION, WITH THE ORDERS IT MOVED OUT OF THE HOT TABLES
+public record OrdersArchivedEvent(List<OrderKey> orders) {
+}
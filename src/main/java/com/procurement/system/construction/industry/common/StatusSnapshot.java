@@ -0,0 +1,7 @@
+package com.procurement.system.construction.industry.common;
+
+import com.procurement.system.construction.industry.enums.Status;
+
+// WHAT A TRANSITION READS BEFORE ITS COMPARE-AND-SET UPDATE
+public record StatusSnapshot(Long id, Status status, long version, Long siteId, Long supplierId) {
+}
@@ -1,10 +1,12 @@
 package com.procurement.system.construction.industry.config;
 
+import com.procurement.system.construction.industry.config.principal.AuthPrincipalCache;
 import com.procurement.system.construction.industry.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -17,21 +19,25 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @EnableWebSecurity
+@EnableScheduling
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final AuthPrincipalCache authPrincipalCache;
 
+    // REQUEST AUTHORIZATION: LEAN CACHED PRINCIPAL, NO ENTITY GRAPH
     @Bean
     public UserDetailsService userDetailsService(){
-        return username -> userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return authPrincipalCache::load;
     }
 
+    // PASSWORD AUTHENTICATION: FULL USER WITH ITS ENCODED PASSWORD
     @Bean
     public AuthenticationProvider authenticationProvider(){
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
-        authenticationProvider.setUserDetailsService(userDetailsService());
+        authenticationProvider.setUserDetailsService(username -> userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
         authenticationProvider.setPasswordEncoder(passwordEncoder());
         return authenticationProvider;
     }
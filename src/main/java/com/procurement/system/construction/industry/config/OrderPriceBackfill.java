@@ -0,0 +1,40 @@
+package com.procurement.system.construction.industry.config;
+
+import com.procurement.system.construction.industry.repository.OrderItemRepository;
+import com.procurement.system.construction.industry.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// ORDER LINES WRITTEN BEFORE PRICES WERE CAPTURED HAVE NO unitPrice / lineTotal AND THEIR ORDERS NO totalAmount.
+// PRICE THEM ONCE FROM THE CATALOG BEFORE THE SERVER TAKES TRAFFIC; AFTERWARDS EVERY QUERY FINDS NOTHING TO DO.
+@Slf4j
+@Component
+public class OrderPriceBackfill {
+
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderPriceBackfill(OrderItemRepository orderItemRepository,
+                              OrderRepository orderRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.orderItemRepository = orderItemRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void backfill() {
+        transactionTemplate.executeWithoutResult(status -> {
+            int lines = orderItemRepository.backfillUnitPrices();
+            orderItemRepository.backfillLineTotals();
+            int orders = orderRepository.backfillTotalAmounts();
+            if(lines > 0 || orders > 0){
+                log.info("Captured prices for {} order lines and totals for {} orders", lines, orders);
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.procurement.system.construction.industry.config;
+
+import com.procurement.system.construction.industry.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCRYPT RUNS ON A SMALL DEDICATED POOL SO A LOGIN BURST CAN'T TAKE OVER THE REQUEST THREADS
+@Component
+public class PasswordHashExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeout;
+    private final Timer hashLatency;
+    private final Counter rejected;
+
+    public PasswordHashExecutor(PasswordEncoder passwordEncoder,
+                                MeterRegistry meterRegistry,
+                                @Value("${application.security.password-hash.pool-size}") int poolSize,
+                                @Value("${application.security.password-hash.queue-capacity}") int queueCapacity,
+                                @Value("${application.security.password-hash.timeout}") long timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password checks waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password checks currently hashing")
+                .register(meterRegistry);
+        this.hashLatency = Timer.builder("auth.password.hash.latency")
+                .description("Time spent inside BCrypt per password check")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hash.rejected")
+                .description("Password checks refused because the hashing queue was full or too slow")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) throws ServiceUnavailableException {
+        Callable<Boolean> check = () -> hashLatency.record(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+
+        Future<Boolean> result;
+        try {
+            result = executor.submit(check);
+        } catch (RejectedExecutionException exception) {
+            rejected.increment();
+            throw new ServiceUnavailableException("the login service is busy, please try again shortly");
+        }
+
+        try {
+            return Boolean.TRUE.equals(result.get(timeout, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException exception) {
+            result.cancel(true);
+            rejected.increment();
+            throw new ServiceUnavailableException("the login service is busy, please try again shortly");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("the login request was interrupted");
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("password check failed", exception.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
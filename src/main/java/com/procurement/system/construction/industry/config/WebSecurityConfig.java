@@ -3,6 +3,7 @@ package com.procurement.system.construction.industry.config;
 import com.procurement.system.construction.industry.config.jwt.JwtAuthenticationFilter;
 import com.procurement.system.construction.industry.enums.Permission;
 import com.procurement.system.construction.industry.enums.UserRole;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,6 +47,8 @@ public class WebSecurityConfig {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth.requestMatchers(WHITELIST).permitAll()
+                        // STREAMED RESPONSES FINISH ON AN ASYNC DISPATCH THAT CARRIES NO JWT; THE ORIGINAL REQUEST WAS ALREADY AUTHORIZED
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/v1/site-manager/**").hasAnyRole(UserRole.SITE_MANAGER.name(), UserRole.ADMIN.name())
                         .requestMatchers(HttpMethod.GET, "/api/v1/site-manager/**").hasAnyAuthority(Permission.SITE_MANAGER_READ.name(), Permission.ADMIN_READ.name())
                         .requestMatchers(HttpMethod.POST, "/api/v1/site-manager/**").hasAnyAuthority(Permission.SITE_MANAGER_CREATE.name(), Permission.ADMIN_CREATE.name())
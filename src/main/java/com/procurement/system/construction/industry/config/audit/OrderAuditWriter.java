@@ -0,0 +1,173 @@
+package com.procurement.system.construction.industry.config.audit;
+
+import com.procurement.system.construction.industry.common.*;
+import com.procurement.system.construction.industry.entity.OrderAudit;
+import com.procurement.system.construction.industry.enums.AuditAction;
+import com.procurement.system.construction.industry.repository.OrderAuditRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// THE REQUEST THREAD ONLY OFFERS TO A BOUNDED QUEUE AFTER ITS TRANSACTION COMMITS; ONE WRITER THREAD DRAINS IT AND
+// BATCH-INSERTS. IF THE QUEUE IS FULL THE ENTRY IS DROPPED AND COUNTED RATHER THAN SLOWING THE REQUEST DOWN.
+@Slf4j
+@Component
+public class OrderAuditWriter {
+
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final OrderAuditRepository orderAuditRepository;
+    private final BlockingQueue<OrderAudit> queue;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter lost;
+    private final Timer flushLatency;
+
+    public OrderAuditWriter(OrderAuditRepository orderAuditRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${application.audit.queue-capacity}") int queueCapacity,
+                            @Value("${application.audit.batch-size}") int batchSize) {
+        this.orderAuditRepository = orderAuditRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.writer = new Thread(this::run, "order-audit-writer");
+        this.writer.setDaemon(true);
+
+        Gauge.builder("order.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit entries waiting for the writer thread")
+                .register(meterRegistry);
+        this.written = Counter.builder("order.audit.written")
+                .description("Audit entries inserted")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("order.audit.dropped")
+                .description("Audit entries refused because the queue was full")
+                .register(meterRegistry);
+        this.lost = Counter.builder("order.audit.lost")
+                .description("Audit entries given up on after repeated insert failures")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("order.audit.flush.latency")
+                .description("Time per batched audit insert")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // THE WRITER LEAVES ITS LOOP ONCE THE QUEUE IS EMPTY
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if(event.from() == null){
+            record(event.orderId(), null, AuditAction.ORDER_CREATED, null, event.to().name());
+        } else {
+            record(event.orderId(), null, AuditAction.ORDER_STATUS_CHANGED, event.from().name(), event.to().name());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderItemStatusChanged(OrderItemStatusChangedEvent event) {
+        record(event.orderId(), event.orderItemId(), AuditAction.ITEM_STATUS_CHANGED, event.from().name(), event.to().name());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderSupplierChanged(OrderSupplierChangedEvent event) {
+        record(event.orderId(), null, AuditAction.SUPPLIER_ASSIGNED,
+                Objects.toString(event.fromSupplierId(), null), Objects.toString(event.toSupplierId(), null));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderLineChanged(OrderLineChangedEvent event) {
+        String line = "item " + event.itemId() + " x " + event.quantity();
+        if(event.removed()){
+            record(event.orderId(), event.orderItemId(), AuditAction.ITEM_REMOVED, line, null);
+        } else {
+            record(event.orderId(), event.orderItemId(), AuditAction.ITEM_ADDED, null, line);
+        }
+    }
+
+    // AFTER_COMMIT LISTENERS RUN ON THE REQUEST THREAD, SO THE SIGNED-IN USER IS STILL IN CONTEXT
+    private void record(Long orderId, Long orderItemId, AuditAction action, String fromValue, String toValue) {
+        OrderAudit entry = OrderAudit.builder()
+                .orderId(orderId)
+                .orderItemId(orderItemId)
+                .action(action)
+                .fromValue(fromValue)
+                .toValue(toValue)
+                .actorId(CurrentUserContext.get().map(user -> user.getPrincipal().getUserId()).orElse(null))
+                .occurredAt(Instant.now()).build();
+
+        if(!queue.offer(entry)){
+            dropped.increment();
+        }
+    }
+
+    private void run() {
+        List<OrderAudit> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OrderAudit first = queue.poll(1, TimeUnit.SECONDS);
+                if(first == null){
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException exception) {
+                // NOTHING MAY END THIS LOOP BUT SHUTDOWN, OR EVERY LATER ENTRY WOULD PILE UP AND BE DROPPED UNSEEN
+                log.error("audit writer lost a batch of {}", batch.size(), exception);
+                lost.increment(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<OrderAudit> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+            try {
+                flushLatency.record(() -> orderAuditRepository.insertAll(batch));
+                written.increment(batch.size());
+                return;
+            } catch (DataAccessException exception) {
+                log.warn("audit batch of {} failed (attempt {}): {}", batch.size(), attempt, exception.getMessage());
+                TimeUnit.MILLISECONDS.sleep(200L * attempt);
+            } catch (RuntimeException exception) {
+                // NOT A DATABASE HICCUP, SO A RETRY WOULD FAIL THE SAME WAY
+                log.error("audit batch of {} could not be written", batch.size(), exception);
+                break;
+            }
+        }
+        lost.increment(batch.size());
+    }
+}
@@ -0,0 +1,192 @@
+package com.procurement.system.construction.industry.config.catalog;
+
+import com.procurement.system.construction.industry.dto.ItemDTO;
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// THE WHOLE CATALOG AS ONE IMMUTABLE SNAPSHOT. READERS DEREFERENCE A VOLATILE FIELD AND NEVER TOUCH THE DATABASE;
+// A COMMITTED WRITE BUMPS THE REQUESTED VERSION AND HANDS THE REBUILD TO A BACKGROUND THREAD, WHERE A BURST OF WRITES
+// COALESCES INTO ONE OR TWO LOADS. UNTIL IT LANDS, READERS KEEP GETTING THE PREVIOUS SNAPSHOT; ONLY WHEN THERE IS NONE
+// YET, OR THE LAST REBUILD FAILED, DOES A READER LOAD IT ITSELF. THE DTOs ARE SHARED, SO CALLERS MUST TREAT THEM AS
+// READ-ONLY.
+@Slf4j
+@Component
+public class ItemCatalog {
+
+    private final ItemRepository itemRepository;
+
+    private final AtomicLong requestedVersion = new AtomicLong(1);
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of(), List.of());
+    private volatile boolean rebuildFailed;
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-catalog-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Timer rebuildTime;
+
+    public ItemCatalog(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+
+        Gauge.builder("item.catalog.size", this, catalog -> catalog.snapshot.all().size())
+                .description("Items in the current catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("item.catalog.version", this, catalog -> catalog.snapshot.version())
+                .description("Version of the current catalog snapshot")
+                .register(meterRegistry);
+        this.hits = Counter.builder("item.catalog.requests")
+                .tag("result", "hit")
+                .description("Catalog reads served from the current snapshot")
+                .register(meterRegistry);
+        this.staleHits = Counter.builder("item.catalog.requests")
+                .tag("result", "stale")
+                .description("Catalog reads served from the previous snapshot while a rebuild is pending")
+                .register(meterRegistry);
+        this.misses = Counter.builder("item.catalog.requests")
+                .tag("result", "miss")
+                .description("Catalog reads that had to load the catalog themselves")
+                .register(meterRegistry);
+        this.rebuildTime = Timer.builder("item.catalog.rebuild")
+                .description("Time to load and index the catalog")
+                .register(meterRegistry);
+    }
+
+    public List<ItemDTO> all() {
+        return current().all();
+    }
+
+    public Optional<ItemDTO> get(Long itemId) {
+        return Optional.ofNullable(current().byId().get(itemId));
+    }
+
+    // CALLED FROM INSIDE THE WRITING TRANSACTION: THE NEW SNAPSHOT IS BUILT ONLY ONCE THE ROW IS VISIBLE
+    public void invalidate() {
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // THE WRITING THREAD ONLY BUMPS THE VERSION; AT MOST ONE BACKGROUND REBUILD IS QUEUED AT A TIME
+    private void refresh() {
+        requestedVersion.incrementAndGet();
+        if(rebuildScheduled.compareAndSet(false, true)){
+            try {
+                rebuilder.execute(this::rebuildInBackground);
+            } catch (RejectedExecutionException exception) {
+                // SHUTTING DOWN; NO BACKGROUND PASS WILL COME, SO ANY READER LEFT LOADS IT ITSELF
+                rebuildScheduled.set(false);
+                rebuildFailed = true;
+            }
+        }
+    }
+
+    private void rebuildInBackground() {
+        // CLEARED BEFORE LOADING, SO A WRITE THAT COMMITS DURING THE LOAD QUEUES EXACTLY ONE MORE PASS
+        rebuildScheduled.set(false);
+        try {
+            rebuild();
+        } catch (RuntimeException exception) {
+            // THE WRITE HAS COMMITTED; RATHER THAN SERVE THE OLD SNAPSHOT INDEFINITELY, READERS RETRY THE LOAD
+            rebuildFailed = true;
+            log.warn("Item catalog rebuild failed, readers will retry", exception);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if(current.version() >= requestedVersion.get()){
+            hits.increment();
+            return current;
+        }
+
+        // A WRITE IS WAITING FOR ITS BACKGROUND PASS; THE PREVIOUS SNAPSHOT IS SERVED RATHER THAN BLOCKING ON THE LOAD
+        if(current.version() > 0 && !rebuildFailed){
+            staleHits.increment();
+            return current;
+        }
+
+        misses.increment();
+        return rebuild();
+    }
+
+    private Snapshot rebuild() {
+        synchronized (rebuildLock) {
+            // CAPTURE THE TARGET BEFORE LOADING: A WRITE THAT COMMITS DURING THE LOAD BUMPS IT AGAIN AND FORCES ANOTHER PASS
+            long target = requestedVersion.get();
+            if(snapshot.version() >= target){
+                return snapshot;
+            }
+
+            Snapshot built = rebuildTime.record(() -> load(target));
+            snapshot = built;
+            rebuildFailed = false;
+            return built;
+        }
+    }
+
+    private Snapshot load(long version) {
+        List<Item> items = itemRepository.findAll();
+
+        Map<Long, ItemDTO> byId = new HashMap<>(items.size() * 2);
+        List<ItemDTO> all = new ArrayList<>(items.size());
+        for (Item item : items) {
+            ItemDTO itemDTO = toItemDTO(item);
+            byId.put(itemDTO.getItemId(), itemDTO);
+            all.add(itemDTO);
+        }
+        all.sort(Comparator.comparing(ItemDTO::getItemId));
+
+        return new Snapshot(version, Collections.unmodifiableMap(byId), Collections.unmodifiableList(all));
+    }
+
+    public static ItemDTO toItemDTO(Item item) {
+        return ItemDTO.builder()
+                .itemId(item.getItemId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .manufacturer(item.getManufacturer())
+                .price(item.getPrice())
+                .volumeType(item.getVolumeType())
+                .weight(item.getWeight())
+                .color(item.getColor())
+                .build();
+    }
+
+    private record Snapshot(long version, Map<Long, ItemDTO> byId, List<ItemDTO> all) {
+    }
+}
@@ -0,0 +1,350 @@
+package com.procurement.system.construction.industry.config.catalog;
+
+import com.procurement.system.construction.industry.dto.ItemDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// INVERTED INDEX OVER THE CATALOG: TERM -> (ITEM -> BEST FIELD WEIGHT), TERMS KEPT SORTED FOR PREFIX LOOKUPS AND
+// TRIGRAM -> TERMS FOR TYPO-TOLERANT FALLBACK. SEEDED FROM THE CATALOG SNAPSHOT, THEN PATCHED ONE ITEM AT A TIME
+// AFTER EACH COMMITTED WRITE. READS SHARE A READ LOCK, WRITES ARE RARE AND TOUCH ONLY THE TERMS OF ONE ITEM.
+@Component
+public class ItemSearchIndex {
+
+    // A HIT IN THE NAME OUTRANKS THE SAME WORD IN A DESCRIPTION
+    private static final float NAME = 5f;
+    private static final float MANUFACTURER = 3f;
+    private static final float COLOR = 2f;
+    private static final float VOLUME_TYPE = 1.5f;
+    private static final float DESCRIPTION = 1f;
+
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float FUZZY_FACTOR = 0.5f;
+    private static final float MIN_SIMILARITY = 0.45f;
+
+    // BOUNDS THE WORK OF A ONE-LETTER PREFIX OR A VERY COMMON TRIGRAM, WHICH KEEPS AUTOCOMPLETE LATENCY FLAT.
+    // THE PREFIX CAPS ONLY APPLY TO A ONE-TOKEN QUERY; AFTER EARLIER TOKENS EVERY EXPANSION IS CHECKED AGAINST THEIR SURVIVORS
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MAX_PREFIX_CANDIDATES = 5_000;
+    private static final int MAX_FUZZY_TERMS = 8;
+
+    private static final Comparator<Candidate> RANK = Comparator.comparingDouble(Candidate::score).reversed()
+            .thenComparingInt(candidate -> candidate.item().getName().length())
+            .thenComparing(candidate -> candidate.item().getItemId());
+
+    private final ItemCatalog itemCatalog;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> trigramTerms = new HashMap<>();
+
+    private final Timer searchLatency;
+    private final Timer autocompleteLatency;
+
+    public ItemSearchIndex(ItemCatalog itemCatalog, MeterRegistry meterRegistry) {
+        this.itemCatalog = itemCatalog;
+
+        Gauge.builder("item.search.terms", postings, Map::size)
+                .description("Distinct terms in the item search index")
+                .register(meterRegistry);
+        this.searchLatency = Timer.builder("item.search.latency")
+                .tag("mode", "search")
+                .description("Time to answer a ranked item search")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.autocompleteLatency = Timer.builder("item.search.latency")
+                .tag("mode", "autocomplete")
+                .description("Time to answer an item autocomplete")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void seed() {
+        lock.writeLock().lock();
+        try {
+            for (ItemDTO item : itemCatalog.all()) {
+                add(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ItemDTO> search(String query, int limit) {
+        return searchLatency.record(() -> find(query, limit, true));
+    }
+
+    public List<ItemDTO> autocomplete(String prefix, int limit) {
+        return autocompleteLatency.record(() -> find(prefix, limit, false));
+    }
+
+    // BOTH CALLED FROM INSIDE THE WRITING TRANSACTION, THE INDEX CHANGES ONLY ONCE THE ROW HAS COMMITTED
+    public void index(ItemDTO item) {
+        afterCommit(() -> apply(item.getItemId(), item));
+    }
+
+    public void remove(Long itemId) {
+        afterCommit(() -> apply(itemId, null));
+    }
+
+    static List<String> tokenize(String text) {
+        if(text == null){
+            return List.of();
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            if(i < lower.length() && Character.isLetterOrDigit(lower.charAt(i))){
+                if(start < 0){
+                    start = i;
+                }
+            } else if(start >= 0){
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private List<ItemDTO> find(String query, int limit, boolean fuzzy) {
+        List<String> tokens = tokenize(query);
+        if(tokens.isEmpty()){
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // EVERY TOKEN MUST MATCH; THE LAST ONE IS STILL BEING TYPED, SO IT ALSO MATCHES AS A PREFIX
+            // AND ONLY ITEMS THAT SURVIVED THE EARLIER TOKENS ARE COLLECTED FOR IT
+            Map<Long, Float> scores = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                Map<Long, Float> matches = match(tokens.get(i), i == tokens.size() - 1, fuzzy, scores);
+                scores = scores == null ? matches : intersect(scores, matches);
+                if(scores.isEmpty()){
+                    return List.of();
+                }
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> match(String token, boolean prefix, boolean fuzzy, Map<Long, Float> within) {
+        Map<Long, Float> matches = new HashMap<>();
+
+        Map<Long, Float> exact = postings.get(token);
+        if(exact != null){
+            accumulate(matches, exact, idf(exact.size()), within);
+        }
+
+        if(prefix){
+            int expanded = 0;
+            for (Map<Long, Float> longer : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                // THE FIRST TERMS IN ALPHABETICAL ORDER ARE NOT THE BEST ONES, SO A FILTERED LOOKUP MUST SEE THEM ALL
+                if(within == null && (++expanded > MAX_PREFIX_TERMS || matches.size() > MAX_PREFIX_CANDIDATES)){
+                    break;
+                }
+                accumulate(matches, longer, idf(longer.size()) * PREFIX_FACTOR, within);
+            }
+        }
+
+        if(matches.isEmpty() && fuzzy){
+            for (Map.Entry<String, Float> similar : similarTerms(token).entrySet()) {
+                Map<Long, Float> close = postings.get(similar.getKey());
+                accumulate(matches, close, idf(close.size()) * FUZZY_FACTOR * similar.getValue(), within);
+            }
+        }
+        return matches;
+    }
+
+    // DICE SIMILARITY OVER PADDED TRIGRAMS, SO "cemnt" STILL FINDS "cement"
+    private Map<String, Float> similarTerms(String token) {
+        if(token.length() < 3){
+            return Map.of();
+        }
+
+        Set<String> grams = trigrams(token);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<String> terms = trigramTerms.get(gram);
+            if(terms != null){
+                for (String term : terms) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+
+        // A PADDED TERM HAS AS MANY TRIGRAMS AS CHARACTERS
+        PriorityQueue<Map.Entry<String, Float>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            float similarity = 2f * entry.getValue() / (grams.size() + entry.getKey().length());
+            if(similarity >= MIN_SIMILARITY){
+                best.add(Map.entry(entry.getKey(), similarity));
+                if(best.size() > MAX_FUZZY_TERMS){
+                    best.poll();
+                }
+            }
+        }
+
+        Map<String, Float> similar = new HashMap<>();
+        for (Map.Entry<String, Float> entry : best) {
+            similar.put(entry.getKey(), entry.getValue());
+        }
+        return similar;
+    }
+
+    private List<ItemDTO> top(Map<Long, Float> scores, int limit) {
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, RANK.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            best.add(new Candidate(documents.get(entry.getKey()).item(), entry.getValue()));
+            if(best.size() > limit){
+                best.poll();
+            }
+        }
+
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(RANK);
+
+        List<ItemDTO> items = new ArrayList<>(ranked.size());
+        for (Candidate candidate : ranked) {
+            items.add(candidate.item());
+        }
+        return items;
+    }
+
+    private static Map<Long, Float> intersect(Map<Long, Float> scores, Map<Long, Float> matches) {
+        Map<Long, Float> smaller = scores.size() <= matches.size() ? scores : matches;
+        Map<Long, Float> larger = smaller == scores ? matches : scores;
+
+        Map<Long, Float> both = new HashMap<>();
+        for (Map.Entry<Long, Float> entry : smaller.entrySet()) {
+            Float other = larger.get(entry.getKey());
+            if(other != null){
+                both.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return both;
+    }
+
+    // A DOCUMENT TAKES ITS BEST HIT PER QUERY TOKEN, SO MANY PREFIX EXPANSIONS DON'T INFLATE ONE ITEM
+    private static void accumulate(Map<Long, Float> matches, Map<Long, Float> posting, float factor, Map<Long, Float> within) {
+        if(within != null && within.size() < posting.size()){
+            for (Long itemId : within.keySet()) {
+                Float weight = posting.get(itemId);
+                if(weight != null){
+                    matches.merge(itemId, weight * factor, Math::max);
+                }
+            }
+            return;
+        }
+
+        for (Map.Entry<Long, Float> entry : posting.entrySet()) {
+            if(within == null || within.containsKey(entry.getKey())){
+                matches.merge(entry.getKey(), entry.getValue() * factor, Math::max);
+            }
+        }
+    }
+
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1 + (double) documents.size() / documentFrequency);
+    }
+
+    private void afterCommit(Runnable change) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void apply(Long itemId, ItemDTO item) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(itemId);
+            if(previous != null){
+                unindex(itemId, previous);
+            }
+            if(item != null){
+                add(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(ItemDTO item) {
+        Map<String, Float> terms = new HashMap<>();
+        collect(terms, item.getName(), NAME);
+        collect(terms, item.getManufacturer(), MANUFACTURER);
+        collect(terms, item.getColor(), COLOR);
+        collect(terms, item.getVolumeType(), VOLUME_TYPE);
+        collect(terms, item.getDescription(), DESCRIPTION);
+
+        documents.put(item.getItemId(), new Document(item, terms));
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), this::newTerm).put(item.getItemId(), term.getValue());
+        }
+    }
+
+    private Map<Long, Float> newTerm(String term) {
+        for (String gram : trigrams(term)) {
+            trigramTerms.computeIfAbsent(gram, key -> new HashSet<>()).add(term);
+        }
+        return new HashMap<>();
+    }
+
+    private void unindex(Long itemId, Document document) {
+        for (String term : document.terms().keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            posting.remove(itemId);
+            if(posting.isEmpty()){
+                postings.remove(term);
+                for (String gram : trigrams(term)) {
+                    Set<String> terms = trigramTerms.get(gram);
+                    terms.remove(term);
+                    if(terms.isEmpty()){
+                        trigramTerms.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void collect(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private record Document(ItemDTO item, Map<String, Float> terms) {
+    }
+
+    private record Candidate(ItemDTO item, float score) {
+    }
+}
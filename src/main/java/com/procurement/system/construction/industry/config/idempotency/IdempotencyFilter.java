@@ -0,0 +1,209 @@
+package com.procurement.system.construction.industry.config.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procurement.system.construction.industry.common.CurrentUser;
+import com.procurement.system.construction.industry.common.CurrentUserContext;
+import com.procurement.system.construction.industry.common.ResponseMessage;
+import com.procurement.system.construction.industry.config.jwt.TokenDigests;
+import com.procurement.system.construction.industry.entity.IdempotencyRecord;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// REPLAYS THE STORED RESPONSE WHEN AN ORDER WRITE IS RETRIED WITH THE SAME Idempotency-Key.
+// RUNS AFTER THE SECURITY CHAIN, SO THE CALLER IS KNOWN AND KEYS ARE SCOPED PER USER.
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "DELETE");
+    // THE OrderController WRITES, ONE BY ONE; A WILDCARD UNDER site-manager/item WOULD ALSO CATCH THE CATALOG ENDPOINTS
+    private static final List<String> ORDER_WRITE_PATHS = List.of(
+            "/api/v1/site-manager/order/add",
+            "/api/v1/site-manager/order/add/item",
+            "/api/v1/site-manager/order/delete/item/*",
+            "/api/v1/site-manager/order/complete/*",
+            "/api/v1/site-manager/item/complete/*",
+            "/api/v1/site-manager/item/return/*",
+            "/api/v1/procurement-manager/order/assign/*",
+            "/api/v1/procurement-manager/order/approval/*",
+            "/api/v1/procurement-manager/order/cancel/*",
+            "/api/v1/procurement-manager/order/bulk/status",
+            "/api/v1/supplier/order/delivered/*",
+            "/api/v1/supplier/item/delivered/*",
+            "/api/v1/supplier/item/cancelled/*"
+    );
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        if(request.getHeader(IDEMPOTENCY_KEY_HEADER) == null || !WRITE_METHODS.contains(request.getMethod())){
+            return true;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return ORDER_WRITE_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull FilterChain filterChain) throws ServletException, IOException {
+        Optional<CurrentUser> currentUser = CurrentUserContext.get();
+        if(currentUser.isEmpty()){
+            // UNAUTHENTICATED REQUESTS ARE REJECTED BY SECURITY; NOTHING TO REPLAY
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if(key.isBlank() || key.length() > MAX_KEY_LENGTH){
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // THE BODY IS READ UP FRONT SO IT CAN BE PART OF THE FINGERPRINT, THEN HANDED ON TO THE CONTROLLER UNCHANGED
+        BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request);
+        String keyDigest = TokenDigests.digest(currentUser.get().getPrincipal().getUserId() + ":" + key);
+        String fingerprint = request.getMethod() + " " + request.getRequestURI() + " " + TokenDigests.digest(bufferedRequest.body);
+
+        // THE KEY IS CLAIMED BEFORE THE STORED RESPONSE IS LOOKED UP. CHECKING FIRST WOULD LET A RETRY MISS A RECORD
+        // THAT IS SAVED JUST AFTER ITS LOOKUP, THEN CLAIM THE FREED KEY AND RUN THE WRITE A SECOND TIME
+        if(!idempotencyStore.begin(keyDigest)){
+            Optional<IdempotencyRecord> stored = idempotencyStore.find(keyDigest);
+            if(stored.isPresent()){
+                replay(stored.get(), fingerprint, response);
+            } else {
+                writeError(response, HttpStatus.CONFLICT, "a request with this Idempotency-Key is still being processed");
+            }
+            return;
+        }
+
+        try {
+            Optional<IdempotencyRecord> stored = idempotencyStore.find(keyDigest);
+            if(stored.isPresent()){
+                replay(stored.get(), fingerprint, response);
+            } else {
+                execute(bufferedRequest, response, filterChain, keyDigest, fingerprint);
+            }
+        } finally {
+            idempotencyStore.finish(keyDigest);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String keyDigest, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+
+            // SERVER ERRORS ARE NOT STORED, SO THE CLIENT CAN RETRY THEM WITH THE SAME KEY
+            if(cachingResponse.getStatus() < 500){
+                idempotencyStore.save(IdempotencyRecord.builder()
+                        .keyDigest(keyDigest)
+                        .requestFingerprint(fingerprint)
+                        .statusCode(cachingResponse.getStatus())
+                        .contentType(cachingResponse.getContentType())
+                        .responseBody(new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8)).build());
+            }
+        } finally {
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyRecord record, String fingerprint, HttpServletResponse response) throws IOException {
+        if(!record.getRequestFingerprint().equals(fingerprint)){
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key was already used for a different request");
+            return;
+        }
+
+        response.setStatus(record.getStatusCode());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if(record.getContentType() != null){
+            response.setContentType(record.getContentType());
+        }
+        byte[] body = record.getResponseBody() == null ? new byte[0] : record.getResponseBody().getBytes(StandardCharsets.UTF_8);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ResponseMessage(status.value(), status, message));
+    }
+
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("the body is already buffered");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
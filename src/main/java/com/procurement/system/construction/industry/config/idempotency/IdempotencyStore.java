@@ -0,0 +1,75 @@
+package com.procurement.system.construction.industry.config.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.procurement.system.construction.industry.entity.IdempotencyRecord;
+import com.procurement.system.construction.industry.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// BOUNDED IN-MEMORY FRONT FOR THE idempotency_record TABLE. A HIT NEVER TOUCHES THE DATABASE; A MISS READS ONE ROW BY KEY.
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final Duration ttl;
+    private final Cache<String, IdempotencyRecord> records;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${application.idempotency.maximum-size}") long maximumSize,
+                            @Value("${application.idempotency.ttl}") long ttl) {
+        this.recordRepository = recordRepository;
+        this.ttl = Duration.ofMillis(ttl);
+        this.records = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(this.ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, records, "idempotency.record");
+    }
+
+    public Optional<IdempotencyRecord> find(String keyDigest) {
+        IdempotencyRecord record = records.getIfPresent(keyDigest);
+        if(record == null){
+            record = recordRepository.findById(keyDigest).orElse(null);
+            if(record == null){
+                return Optional.empty();
+            }
+            records.put(keyDigest, record);
+        }
+
+        return record.getExpiresAt().isAfter(Instant.now()) ? Optional.of(record) : Optional.empty();
+    }
+
+    public void save(IdempotencyRecord record) {
+        record.setExpiresAt(Instant.now().plus(ttl));
+        recordRepository.save(record);
+        records.put(record.getKeyDigest(), record);
+    }
+
+    // ONLY ONE REQUEST PER KEY MAY RUN AT A TIME ON THIS INSTANCE; A CONCURRENT RETRY IS TURNED AWAY
+    public boolean begin(String keyDigest) {
+        return inFlight.add(keyDigest);
+    }
+
+    public void finish(String keyDigest) {
+        inFlight.remove(keyDigest);
+    }
+
+    @Scheduled(fixedDelayString = "${application.idempotency.cleanup-interval}")
+    public void deleteExpired() {
+        recordRepository.deleteExpired(Instant.now());
+    }
+}
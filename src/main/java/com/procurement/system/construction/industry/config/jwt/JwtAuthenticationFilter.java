@@ -1,7 +1,9 @@
 package com.procurement.system.construction.industry.config.jwt;
 
-import com.procurement.system.construction.industry.common.CommonFunctions;
-import com.procurement.system.construction.industry.repository.AuthTokenRepository;
+import com.procurement.system.construction.industry.common.CurrentUser;
+import com.procurement.system.construction.industry.common.CurrentUserContext;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,8 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
-    private final AuthTokenRepository authTokenRepository;
-    private final CommonFunctions commonFunctions;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull FilterChain filterChain) throws ServletException, IOException {
@@ -39,16 +40,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
-        commonFunctions.storeJWT(jwt);
+        final Claims claims = jwtService.extactAllClaims(jwt);
+        userEmail = claims.getSubject();
 
         if(userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null){
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            boolean isTokenValid = authTokenRepository.findByToken(jwt)
-                    .map(token -> !(token.isExpired() && token.isRevoked()))
-                    .orElse(false);
+            boolean isTokenValid = JwtService.isTokenType(claims, JwtService.ACCESS_TOKEN)
+                    && tokenVersionRegistry.isCurrent(claims);
 
-            if(jwtService.isTokenValid(jwt, userDetails) && isTokenValid){
+            if(jwtService.isTokenValid(claims, userDetails) && isTokenValid){
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -58,8 +58,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                CurrentUserContext.set(new CurrentUser((AuthPrincipal) userDetails, jwt));
             }
         }
-        filterChain.doFilter(request, response);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CurrentUserContext.clear();
+        }
     }
 }
@@ -0,0 +1,78 @@
+package com.procurement.system.construction.industry.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class JwtClaimsVerifier {
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> claimsCache;
+
+    public JwtClaimsVerifier(@Value("${application.security.jwt.secret-key}") String secretKey,
+                             @Value("${application.security.jwt.claims-cache.maximum-size}") long maximumSize,
+                             @Value("${application.security.jwt.claims-cache.ttl}") long ttl) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ClaimsExpiry(TimeUnit.MILLISECONDS.toNanos(ttl)))
+                .build();
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public Claims verify(String token) {
+        String digest = TokenDigests.digest(token);
+
+        Claims claims = claimsCache.getIfPresent(digest);
+        if(claims != null){
+            return claims;
+        }
+
+        // VERIFY SIGNATURE AND EXPIRY ONCE, THEN SERVE THE SAME CLAIMS UNTIL THE TOKEN EXPIRES
+        claims = parser.parseClaimsJws(token).getBody();
+        claimsCache.put(digest, claims);
+        return claims;
+    }
+
+    // AN ENTRY NEVER OUTLIVES THE TOKEN'S OWN EXPIRATION, SO EXPIRED TOKENS ARE RE-PARSED AND REJECTED
+    private record ClaimsExpiry(long maxTtlNanos) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if(expiration == null){
+                return maxTtlNanos;
+            }
+
+            long remaining = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxTtlNanos, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
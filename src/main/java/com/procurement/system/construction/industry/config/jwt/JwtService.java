@@ -1,15 +1,14 @@
 package com.procurement.system.construction.industry.config.jwt;
 
+import com.procurement.system.construction.industry.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,9 +16,14 @@ import java.util.Objects;
 import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
-    @Value("${application.security.jwt.secret-key}")
-    private String SECRET_KEY;
+
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    private final JwtClaimsVerifier claimsVerifier;
 
     @Value("${application.security.jwt.expiration}")
     private long JWT_EXPIRATION;
@@ -36,53 +40,47 @@ public class JwtService {
         return  claimResolver.apply(claims);
     }
 
-    public String generateToken(UserDetails userDetails){
-        return generateToken(new HashMap<>(), userDetails);
+    public String generateToken(User user){
+        return generateToken(new HashMap<>(), user);
     }
 
-    public String generateToken(Map<String, Objects> extractClaims, UserDetails userDetails){
-        return buildToken(extractClaims, userDetails, JWT_EXPIRATION);
+    public String generateToken(Map<String, Objects> extractClaims, User user){
+        return buildToken(extractClaims, user, ACCESS_TOKEN, JWT_EXPIRATION);
     }
 
-    public String generateRefreshToken(UserDetails userDetails){
-        return buildToken(new HashMap<>(), userDetails, REFRESH_EXPIRATION);
+    public String generateRefreshToken(User user){
+        return buildToken(new HashMap<>(), user, REFRESH_TOKEN, REFRESH_EXPIRATION);
     }
 
-    private String buildToken(Map<String, Objects> extractClaims, UserDetails userDetails, long expiration){
+    private String buildToken(Map<String, Objects> extractClaims, User user, String tokenType, long expiration){
         return Jwts
                 .builder()
                 .setClaims(extractClaims)
-                .setSubject(userDetails.getUsername())
+                .setSubject(user.getUsername())
+                .claim(TokenVersionRegistry.USER_ID_CLAIM, user.getUserId())
+                .claim(TokenVersionRegistry.VERSION_CLAIM, user.getTokenVersion())
+                .claim(TOKEN_TYPE_CLAIM, tokenType)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration((new Date(System.currentTimeMillis() + expiration)))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(claimsVerifier.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails){
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extactAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails){
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername())) && !claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extactAllClaims(String token){
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // ACCESS AND REFRESH TOKENS CARRY THE SAME IDENTITY CLAIMS, SO ONLY THE TYPE KEEPS ONE FROM STANDING IN FOR THE OTHER
+    public static boolean isTokenType(Claims claims, String tokenType){
+        return tokenType.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Claims extactAllClaims(String token){
+        return claimsVerifier.verify(token);
     }
 }
@@ -0,0 +1,26 @@
+package com.procurement.system.construction.industry.config.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+public final class TokenDigests {
+
+    private TokenDigests() {
+    }
+
+    // SHA-256 OF THE RAW TOKEN, SO CACHES AND INDEXES NEVER HOLD THE BEARER STRING ITSELF
+    public static String digest(String token) {
+        return digest(token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static String digest(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
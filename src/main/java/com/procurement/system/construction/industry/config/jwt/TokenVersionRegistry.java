@@ -0,0 +1,69 @@
+package com.procurement.system.construction.industry.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.procurement.system.construction.industry.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class TokenVersionRegistry {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String VERSION_CLAIM = "ver";
+
+    private static final long UNKNOWN_USER = -1L;
+
+    private final UserRepository userRepository;
+
+    // USER ID -> CURRENT TOKEN VERSION, LOADED ON FIRST USE AND DROPPED WHENEVER IT CHANGES
+    private final Cache<Long, Long> versions;
+
+    public TokenVersionRegistry(UserRepository userRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${application.security.jwt.version-cache.maximum-size}") long maximumSize) {
+        this.userRepository = userRepository;
+        // BOUNDED SO A FLOOD OF TOKENS FOR DISTINCT OR UNKNOWN USER IDS CANNOT GROW IT WITHOUT LIMIT
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "auth.token.version");
+    }
+
+    public boolean isCurrent(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Number version = claims.get(VERSION_CLAIM, Number.class);
+        if(userId == null || version == null){
+            return false;
+        }
+
+        return version.longValue() == currentVersion(userId.longValue());
+    }
+
+    public long currentVersion(Long userId) {
+        return versions.get(userId,
+                id -> userRepository.findTokenVersionByUserId(id).orElse(UNKNOWN_USER));
+    }
+
+    // EVERY TOKEN ISSUED BEFORE THIS CALL STOPS BEING ACCEPTED
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        versions.invalidate(userId);
+
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(userId);
+                }
+            });
+        }
+    }
+}
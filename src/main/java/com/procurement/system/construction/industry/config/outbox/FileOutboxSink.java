@@ -0,0 +1,40 @@
+package com.procurement.system.construction.industry.config.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.procurement.system.construction.industry.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// APPENDS ONE NDJSON LINE PER EVENT; MEANT FOR LOCAL RUNS AND TESTS
+@Component
+@ConditionalOnProperty(name = "application.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOutboxSink(ObjectMapper objectMapper, @Value("${application.outbox.file-path}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void deliver(OutboxEvent event) throws IOException {
+        // THE PAYLOAD IS ALREADY JSON, SO IT IS EMBEDDED AS A TREE RATHER THAN AS AN ESCAPED STRING
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("id", event.getId());
+        line.put("type", event.getEventType().name());
+        line.put("aggregateId", event.getAggregateId());
+        line.set("payload", objectMapper.readTree(event.getPayload()));
+        Files.writeString(path, objectMapper.writeValueAsString(line) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
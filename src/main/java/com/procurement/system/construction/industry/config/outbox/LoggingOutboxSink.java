@@ -0,0 +1,17 @@
+package com.procurement.system.construction.industry.config.outbox;
+
+import com.procurement.system.construction.industry.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void deliver(OutboxEvent event) {
+        log.info("outbox event {} {} for {}: {}", event.getId(), event.getEventType(), event.getAggregateId(), event.getPayload());
+    }
+}
@@ -0,0 +1,162 @@
+package com.procurement.system.construction.industry.config.outbox;
+
+import com.procurement.system.construction.industry.entity.OutboxEvent;
+import com.procurement.system.construction.industry.enums.OutboxStatus;
+import com.procurement.system.construction.industry.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// CLAIMS DUE OUTBOX ROWS IN BATCHES, LEASES THEM AND COMMITS, THEN DELIVERS WITH NO TRANSACTION OR ROW LOCK HELD.
+// A DISPATCHER THAT DIES MID-BATCH LEAVES ITS ROWS TO BE PICKED UP AGAIN WHEN THE LEASE RUNS OUT.
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter dead;
+    private final Timer deliveryLatency;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            OutboxSink outboxSink,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${application.outbox.batch-size}") int batchSize,
+                            @Value("${application.outbox.max-batches-per-poll}") int maxBatchesPerPoll,
+                            @Value("${application.outbox.max-attempts}") int maxAttempts,
+                            @Value("${application.outbox.lease}") long lease,
+                            @Value("${application.outbox.initial-backoff}") long initialBackoff,
+                            @Value("${application.outbox.max-backoff}") long maxBackoff,
+                            @Value("${application.outbox.retention}") long retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofMillis(lease);
+        this.initialBackoff = Duration.ofMillis(initialBackoff);
+        this.maxBackoff = Duration.ofMillis(maxBackoff);
+        this.retention = Duration.ofMillis(retention);
+
+        Gauge.builder("outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age in milliseconds of the oldest undelivered outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("outbox.delivered")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.failed = Counter.builder("outbox.failed")
+                .description("Outbox delivery attempts that failed and will be retried")
+                .register(meterRegistry);
+        this.dead = Counter.builder("outbox.dead")
+                .description("Outbox events given up on after the maximum number of attempts")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("outbox.delivery.latency")
+                .description("Time the sink takes per event")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval}")
+    public void dispatch() {
+        // KEEP GOING WHILE BATCHES COME BACK FULL, SO A BACKLOG DRAINS WITHOUT WAITING FOR THE NEXT POLL
+        for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+            if(dispatchBatch() < batchSize){
+                break;
+            }
+        }
+
+        lagMillis.set(outboxEventRepository.findOldestPending()
+                .map(oldest -> Math.max(0, Duration.between(oldest, Instant.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.purge-interval}")
+    public void purgeDelivered() {
+        outboxEventRepository.deleteDelivered(Instant.now().minus(retention));
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> due = outboxEventRepository.findDue(OutboxStatus.PENDING, Instant.now(), PageRequest.of(0, batchSize));
+            if(!due.isEmpty()){
+                outboxEventRepository.lease(due.stream().map(OutboxEvent::getId).toList(), Instant.now().plus(lease));
+            }
+            return due;
+        });
+        if(claimed == null || claimed.isEmpty()){
+            return 0;
+        }
+
+        List<Long> deliveredIds = new ArrayList<>(claimed.size());
+        for (OutboxEvent event : claimed) {
+            try {
+                deliveryLatency.recordCallable(() -> {
+                    outboxSink.deliver(event);
+                    return null;
+                });
+                deliveredIds.add(event.getId());
+            } catch (Exception exception) {
+                recordFailure(event, exception);
+            }
+        }
+
+        if(!deliveredIds.isEmpty()){
+            outboxEventRepository.markDelivered(deliveredIds, Instant.now());
+            delivered.increment(deliveredIds.size());
+        }
+        return claimed.size();
+    }
+
+    private void recordFailure(OutboxEvent event, Exception exception) {
+        int attempts = event.getAttempts() + 1;
+        String error = exception.getClass().getSimpleName() + ": " + exception.getMessage();
+        if(error.length() > 1000){
+            error = error.substring(0, 1000);
+        }
+
+        if(attempts >= maxAttempts){
+            outboxEventRepository.markFailed(event.getId(), OutboxStatus.DEAD, attempts, event.getNextAttemptAt(), error);
+            dead.increment();
+            log.error("outbox event {} {} dead-lettered after {} attempts: {}", event.getId(), event.getEventType(), attempts, error);
+            return;
+        }
+
+        outboxEventRepository.markFailed(event.getId(), OutboxStatus.PENDING, attempts, Instant.now().plus(backoff(attempts)), error);
+        failed.increment();
+    }
+
+    // EXPONENTIAL: initial, 2 x initial, 4 x initial ... CAPPED AT max-backoff
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
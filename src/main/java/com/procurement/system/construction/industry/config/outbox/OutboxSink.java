@@ -0,0 +1,10 @@
+package com.procurement.system.construction.industry.config.outbox;
+
+import com.procurement.system.construction.industry.entity.OutboxEvent;
+
+// WHERE DISPATCHED OUTBOX EVENTS GO (MAIL, ERP, ACCOUNTING ...). DELIVERY IS AT LEAST ONCE, SO A SINK MUST TOLERATE
+// SEEING THE SAME EVENT ID AGAIN; THROWING MARKS THE ATTEMPT AS FAILED AND IT IS RETRIED WITH BACKOFF.
+public interface OutboxSink {
+
+    void deliver(OutboxEvent event) throws Exception;
+}
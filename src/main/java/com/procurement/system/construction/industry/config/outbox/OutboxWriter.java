@@ -0,0 +1,62 @@
+package com.procurement.system.construction.industry.config.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procurement.system.construction.industry.common.OrderItemStatusChangedEvent;
+import com.procurement.system.construction.industry.common.OrderStatusChangedEvent;
+import com.procurement.system.construction.industry.common.OrderSupplierChangedEvent;
+import com.procurement.system.construction.industry.entity.OutboxEvent;
+import com.procurement.system.construction.industry.enums.OutboxEventType;
+import com.procurement.system.construction.industry.enums.OutboxStatus;
+import com.procurement.system.construction.industry.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+// BEFORE_COMMIT RUNS INSIDE THE ORDER CHANGE'S OWN TRANSACTION: THE OUTBOX ROW COMMITS OR ROLLS BACK WITH IT,
+// AND THE REQUEST ONLY PAYS FOR ONE MORE (BATCHED) INSERT. DELIVERY HAPPENS LATER IN OutboxDispatcher.
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        OutboxEventType type = event.from() == null ? OutboxEventType.ORDER_CREATED : OutboxEventType.ORDER_STATUS_CHANGED;
+        write(type, event.orderId(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderItemStatusChanged(OrderItemStatusChangedEvent event) {
+        write(OutboxEventType.ORDER_ITEM_STATUS_CHANGED, event.orderItemId(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderSupplierChanged(OrderSupplierChangedEvent event) {
+        write(OutboxEventType.ORDER_SUPPLIER_ASSIGNED, event.orderId(), event);
+    }
+
+    private void write(OutboxEventType type, Long aggregateId, Object event) {
+        Instant now = Instant.now();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(type)
+                .aggregateId(aggregateId)
+                .payload(toJson(event))
+                .createdAt(now)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(now).build());
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("couldn't serialise " + event.getClass().getSimpleName(), exception);
+        }
+    }
+}
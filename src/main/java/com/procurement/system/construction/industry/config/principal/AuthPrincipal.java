@@ -0,0 +1,72 @@
+package com.procurement.system.construction.industry.config.principal;
+
+import com.procurement.system.construction.industry.enums.UserRole;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public final class AuthPrincipal implements UserDetails {
+
+    private final Long userId;
+
+    private final String email;
+
+    private final UserRole role;
+
+    private final boolean active;
+
+    private final Long siteId;
+
+    @Getter(AccessLevel.NONE)
+    private final List<GrantedAuthority> authorities;
+
+    public AuthPrincipal(Long userId, String email, UserRole role, Boolean active, Long siteId) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.active = Boolean.TRUE.equals(active);
+        this.siteId = siteId;
+        this.authorities = List.copyOf(role.getAuthorities());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // CREDENTIALS ARE NEVER CACHED; PASSWORD CHECKS LOAD THE FULL USER
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package com.procurement.system.construction.industry.config.principal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.procurement.system.construction.industry.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+@Component
+public class AuthPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthPrincipal> principals;
+
+    public AuthPrincipalCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${application.security.principal-cache.maximum-size}") long maximumSize,
+                              @Value("${application.security.principal-cache.ttl}") long ttl) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principal");
+    }
+
+    public AuthPrincipal load(String email) {
+        AuthPrincipal principal = principals.get(email, key -> userRepository.findPrincipalByEmail(key).orElse(null));
+        if(principal == null){
+            throw new UsernameNotFoundException("User not found");
+        }
+        return principal;
+    }
+
+    public void invalidate(String email) {
+        principals.invalidate(email);
+
+        // A REQUEST RUNNING BEFORE THE COMMIT COULD RE-CACHE THE OLD ROW, SO DROP IT AGAIN AFTERWARDS
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(email);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+}
@@ -3,8 +3,15 @@ package com.procurement.system.construction.industry.controller;
 
 import com.procurement.system.construction.industry.common.ResponseMessage;
 import com.procurement.system.construction.industry.dto.ItemDTO;
+import com.procurement.system.construction.industry.dto.ItemFilterDTO;
+import com.procurement.system.construction.industry.dto.ItemImportReportDTO;
+import com.procurement.system.construction.industry.dto.ItemPageDTO;
+import com.procurement.system.construction.industry.enums.ImportFormat;
+import com.procurement.system.construction.industry.enums.ItemSort;
+import com.procurement.system.construction.industry.exception.BadRequestException;
 import com.procurement.system.construction.industry.exception.ConflictException;
 import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.service.ItemImportService;
 import com.procurement.system.construction.industry.service.ItemService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +20,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -22,6 +30,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @Operation(summary = "Add Item", description = "Add a new item to the system.")
     @PostMapping("item/add")
@@ -29,6 +38,12 @@ public class ItemController {
         return itemService.addItem(itemDTO);
     }
 
+    @Operation(summary = "Import Items", description = "Stream a price list in the request body, as CSV with a header row or as JSON, and upsert every row by item name. Returns a per-row error report.")
+    @PostMapping("item/import")
+    public ItemImportReportDTO importItems(@RequestParam(value = "format", defaultValue = "CSV") ImportFormat format, InputStream body) throws BadRequestException {
+        return itemImportService.importItems(format, body);
+    }
+
     @Operation(summary = "Get All Items", description = "Retrieve details of all items in the system.")
     @GetMapping("item/get/all")
     public List<ItemDTO> getAllItems() throws NotFoundException {
@@ -41,6 +56,38 @@ public class ItemController {
         return itemService.getItem(itemId);
     }
 
+    @Operation(summary = "Get Item Page", description = "One page of the catalog, filtered by manufacturer, volume type and price range and sorted by name or price. Pass nextCursor back to read the following page.")
+    @GetMapping("item/page")
+    public ItemPageDTO getItemPage(@RequestParam(value = "manufacturer", required = false) String manufacturer,
+                                   @RequestParam(value = "volumeType", required = false) String volumeType,
+                                   @RequestParam(value = "minPrice", required = false) Double minPrice,
+                                   @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+                                   @RequestParam(value = "sort", defaultValue = "NAME_ASC") ItemSort sort,
+                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                   @RequestParam(value = "size", defaultValue = "20") int size) throws BadRequestException {
+        ItemFilterDTO filter = ItemFilterDTO.builder()
+                .manufacturer(manufacturer)
+                .volumeType(volumeType)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice).build();
+
+        return itemService.getItemPage(filter, sort, cursor, size);
+    }
+
+    @Operation(summary = "Search Items", description = "Ranked search over item name, manufacturer, description, color and volume type, tolerant of typos.")
+    @GetMapping("item/search")
+    public List<ItemDTO> searchItems(@RequestParam("q") String query,
+                                     @RequestParam(value = "size", defaultValue = "20") int size) throws BadRequestException {
+        return itemService.searchItems(query, size);
+    }
+
+    @Operation(summary = "Autocomplete Items", description = "Items matching the text typed so far, the last word matched as a prefix.")
+    @GetMapping("item/autocomplete")
+    public List<ItemDTO> autocompleteItems(@RequestParam("prefix") String prefix,
+                                           @RequestParam(value = "size", defaultValue = "10") int size) throws BadRequestException {
+        return itemService.autocompleteItems(prefix, size);
+    }
+
     @Operation(summary = "Update Item", description = "Update the details of an existing item.")
     @PutMapping("item/update")
     public ResponseEntity<ResponseMessage> updateItem(@Valid @RequestBody ItemDTO itemDTO) throws NotFoundException {
@@ -1,20 +1,33 @@
 package com.procurement.system.construction.industry.controller;
 
 import com.procurement.system.construction.industry.common.ResponseMessage;
-import com.procurement.system.construction.industry.dto.GetUserDTO;
-import com.procurement.system.construction.industry.dto.OrderDetailsDTO;
-import com.procurement.system.construction.industry.dto.OrderItemDTO;
-import com.procurement.system.construction.industry.dto.SiteDTO;
+import com.procurement.system.construction.industry.dto.*;
+import com.procurement.system.construction.industry.enums.ExportFormat;
+import com.procurement.system.construction.industry.enums.Status;
 import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.exception.ConflictException;
+import com.procurement.system.construction.industry.exception.ForbiddenException;
 import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.exception.ServiceUnavailableException;
+import com.procurement.system.construction.industry.service.OrderArchiveService;
+import com.procurement.system.construction.industry.service.OrderAuditService;
+import com.procurement.system.construction.industry.service.OrderChangeFeedService;
+import com.procurement.system.construction.industry.service.OrderExportService;
 import com.procurement.system.construction.industry.service.OrderService;
+import com.procurement.system.construction.industry.service.OrderSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -24,6 +37,11 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderSummaryService orderSummaryService;
+    private final OrderChangeFeedService orderChangeFeedService;
+    private final OrderAuditService orderAuditService;
+    private final OrderArchiveService orderArchiveService;
 
     // ALL USERS ACCESS
     @Operation(summary = "Get All Order Info", description = "Retrieve details of all orders.")
@@ -32,16 +50,67 @@ public class OrderController {
         return orderService.getAllOrderDetails();
     }
 
+    @Operation(summary = "Get Order Page", description = "Retrieve one page of orders ordered by required date. pass the returned nextCursor to fetch the following page.")
+    @GetMapping("all-users/order/page")
+    public OrderPageDTO getOrderPage(@RequestParam(value = "status", required = false) Status status,
+                                     @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+                                     @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+                                     @RequestParam(value = "supplierId", required = false) Long supplierId,
+                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                     @RequestParam(value = "size", defaultValue = "20") int size) throws NotFoundException, BadRequestException {
+        OrderFilterDTO filter = OrderFilterDTO.builder()
+                .status(status)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .supplierId(supplierId).build();
+
+        return orderService.getOrderPage(filter, cursor, size);
+    }
+
+    @Operation(summary = "Get Order History", description = "Retrieve one page of archived (long closed) orders ordered by required date. pass the returned nextCursor to fetch the following page.")
+    @GetMapping("all-users/order/history")
+    public OrderPageDTO getOrderHistory(@RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "size", defaultValue = "20") int size) throws NotFoundException, BadRequestException {
+        return orderArchiveService.getOrderHistory(cursor, size);
+    }
+
+    @Operation(summary = "Get Order Timeline", description = "Every recorded change to an order and its items, oldest first, with who made it.")
+    @GetMapping("all-users/order/timeline/{id}")
+    public List<OrderAuditDTO> getOrderTimeline(@PathVariable("id") Long orderId) throws NotFoundException {
+        return orderAuditService.getOrderTimeline(orderId);
+    }
+
+    // SITE MANAGER AND PROCUREMENT MANAGER ACCESS
+    @Operation(summary = "Get Order Summary", description = "Order counts of your site by status and by supplier, with the number of open orders past their required date.")
+    @GetMapping({"site-manager/order/summary", "procurement-manager/order/summary"})
+    public OrderSummaryDTO getOrderSummary() throws NotFoundException {
+        return orderSummaryService.getOrderSummary();
+    }
+
+    // SITE MANAGER, PROCUREMENT MANAGER AND SUPPLIER ACCESS
+    @Operation(summary = "Order Change Feed", description = "Server-Sent Events stream of order and item status changes. reconnect with Last-Event-ID to resume where you left off.")
+    @GetMapping(value = {"site-manager/order/feed", "procurement-manager/order/feed", "supplier/order/feed"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getOrderFeed(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws NotFoundException, ServiceUnavailableException {
+        return orderChangeFeedService.subscribe(lastEventId);
+    }
+
+    // SUPER ADMIN ACCESS
+    @Operation(summary = "Get Order Summary by Site ID", description = "Order counts of a site by status and by supplier, with the number of open orders past their required date.")
+    @GetMapping("super-admin/order/summary/{id}")
+    public OrderSummaryDTO getOrderSummary(@PathVariable("id") Long siteId) throws NotFoundException {
+        return orderSummaryService.getOrderSummary(siteId);
+    }
+
     // SITE MANAGER ACCESS
     @Operation(summary = "Add a New Order", description = " Add a new order providing necessary details.")
     @PostMapping("site-manager/order/add")
-    public ResponseEntity<ResponseMessage> addOrder(@Valid @RequestBody OrderDetailsDTO orderDTO) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> addOrder(@Valid @RequestBody OrderDetailsDTO orderDTO) throws NotFoundException, BadRequestException {
         return orderService.addOrder(orderDTO);
     }
 
     @Operation(summary = "Add an Item to an Order.", description = "Add an item to an order. providing necessary details.")
     @PutMapping("site-manager/order/add/item")
-    public ResponseEntity<ResponseMessage> addOrderItem(@Valid @RequestBody OrderItemDTO orderItemDTO) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> addOrderItem(@Valid @RequestBody OrderItemDTO orderItemDTO) throws NotFoundException, ConflictException {
         return orderService.addOrderItem(orderItemDTO);
     }
 
@@ -53,19 +122,19 @@ public class OrderController {
 
     @Operation(summary = "Mark Order as Complete", description = "Use this option to indicate that an order has been successfully completed.")
     @PutMapping("site-manager/order/complete/{id}")
-    public ResponseEntity<ResponseMessage> setAsComplete(@PathVariable("id") Long orderId) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> setAsComplete(@PathVariable("id") Long orderId) throws NotFoundException, ForbiddenException, ConflictException {
         return orderService.setAsComplete(orderId);
     }
 
     @Operation(summary = "Mark Item as Completed", description = "Use this option to indicate that an item within the order has been successfully completed.")
     @PutMapping("site-manager/item/complete/{id}")
-    public ResponseEntity<ResponseMessage> setAsCompleteItem(@PathVariable("id") Long orderItemId) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> setAsCompleteItem(@PathVariable("id") Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException {
         return orderService.setAsCompleteItem(orderItemId);
     }
 
     @Operation(summary = "Mark Item for Return", description = "Use this option to request a return for an item within the order.")
     @PutMapping("site-manager/item/return/{id}")
-    public ResponseEntity<ResponseMessage> setAsReturnItem(@PathVariable("id") Long orderItemId) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> setAsReturnItem(@PathVariable("id") Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException {
         return orderService.setAsReturnItem(orderItemId);
     }
 
@@ -76,6 +145,15 @@ public class OrderController {
         return orderService.getSuppliers();
     }
 
+    @Operation(summary = "Export Site Orders", description = "Stream every order item of the site as NDJSON or CSV.")
+    @GetMapping("procurement-manager/order/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format) throws NotFoundException {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + format.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(orderExportService.exportOrders(format));
+    }
+
     @Operation(summary = "Assign Supplier to Order", description = "Assign a supplier to fulfill this order by specifying the supplier's ID.")
     @PutMapping("procurement-manager/order/assign/{id}")
     public ResponseEntity<ResponseMessage> assignSupplier(@PathVariable("id") Long orderId, @RequestBody Long supplierId) throws NotFoundException, BadRequestException {
@@ -84,32 +162,45 @@ public class OrderController {
 
     @Operation(summary = "Approve Order", description = "Approve this order for procurement and further processing.")
     @PutMapping("procurement-manager/order/approval/{id}")
-    public ResponseEntity<ResponseMessage> setAsApproved(@PathVariable("id") Long orderId) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> setAsApproved(@PathVariable("id") Long orderId) throws NotFoundException, ForbiddenException, ConflictException {
         return orderService.setAsApproved(orderId);
     }
 
     @Operation(summary = "Cancel Order", description = "Cancel this order, preventing further processing.")
     @PutMapping("procurement-manager/order/cancel/{id}")
-    public ResponseEntity<ResponseMessage> setAsCanceled(@PathVariable("id") Long orderId) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> setAsCanceled(@PathVariable("id") Long orderId) throws NotFoundException, ForbiddenException, ConflictException {
         return orderService.setAsCanceled(orderId);
     }
 
+    @Operation(summary = "Bulk Update Order Status", description = "Approve or cancel a list of orders on your site in one transaction.")
+    @PutMapping("procurement-manager/order/bulk/status")
+    public ResponseEntity<ResponseMessage> bulkUpdateStatus(@Valid @RequestBody BulkStatusUpdateDTO request) throws NotFoundException, ForbiddenException, BadRequestException, ConflictException {
+        return orderService.bulkUpdateStatus(request);
+    }
+
     // SUPPLIER ACCESS
+    @Operation(summary = "Get Supplier Inbox", description = "Retrieve one page of the approved and returned orders assigned to you, across every site. pass the returned nextCursor to fetch the following page.")
+    @GetMapping("supplier/order/inbox")
+    public OrderPageDTO getSupplierInbox(@RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "size", defaultValue = "20") int size) throws NotFoundException, BadRequestException {
+        return orderService.getSupplierInbox(cursor, size);
+    }
+
     @Operation(summary = "Mark Order as Delivered", description = "Use this option to confirm that the entire order has been successfully delivered.")
     @PutMapping("supplier/order/delivered/{id}")
-    public ResponseEntity<ResponseMessage> setAsDelivered(@PathVariable("id") Long orderId) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> setAsDelivered(@PathVariable("id") Long orderId) throws NotFoundException, ForbiddenException, ConflictException {
         return orderService.setAsDelivered(orderId);
     }
 
     @Operation(summary = "Mark Item as Delivered", description = "Use this option to confirm the delivery of a specific item within the order.")
     @PutMapping("supplier/item/delivered/{id}")
-    public ResponseEntity<ResponseMessage> setAsDeliveredItem(@PathVariable("id") Long orderItemId) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> setAsDeliveredItem(@PathVariable("id") Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException {
         return orderService.setAsDeliveredItem(orderItemId);
     }
 
     @Operation(summary = "Mark Item as Cancelled", description = "Use this option to cancel the delivery of a specific item within the order.")
     @PutMapping("supplier/item/cancelled/{id}")
-    public ResponseEntity<ResponseMessage> setAsCancelledItem(@PathVariable("id") Long orderItemId) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> setAsCancelledItem(@PathVariable("id") Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException {
         return orderService.setAsCancelledItem(orderItemId);
     }
 
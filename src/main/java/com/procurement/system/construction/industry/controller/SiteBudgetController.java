@@ -0,0 +1,32 @@
+package com.procurement.system.construction.industry.controller;
+
+import com.procurement.system.construction.industry.dto.SiteBudgetDTO;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.service.SiteBudgetService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/")
+@RequiredArgsConstructor
+@Tag(name = "Site Budget Controllers")
+public class SiteBudgetController {
+
+    private final SiteBudgetService siteBudgetService;
+
+    // SITE MANAGER AND PROCUREMENT MANAGER ACCESS
+    @Operation(summary = "Get Site Budget", description = "Allocated budget of your site, with the amounts committed by approved orders and spent on delivered items.")
+    @GetMapping({"site-manager/site/budget", "procurement-manager/site/budget"})
+    public SiteBudgetDTO getSiteBudget() throws NotFoundException {
+        return siteBudgetService.getSiteBudget();
+    }
+
+    // SUPER ADMIN ACCESS
+    @Operation(summary = "Get Site Budget by ID", description = "Allocated budget of a site, with the amounts committed and spent.")
+    @GetMapping("super-admin/site/budget/{id}")
+    public SiteBudgetDTO getSiteBudget(@PathVariable("id") Long siteId) throws NotFoundException {
+        return siteBudgetService.getSiteBudget(siteId);
+    }
+}
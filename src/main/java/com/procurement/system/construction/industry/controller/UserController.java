@@ -59,7 +59,7 @@ public class UserController {
     // GLOBAL ACCESS
     @Operation(summary = "User Authentication", description = "Authenticate a user by providing valid credentials.")
     @PostMapping("user/login")
-    public ResponseEntity<AuthenticationResponse> login(@RequestBody AuthenticationRequest request) throws ForbiddenException, NotFoundException {
+    public ResponseEntity<AuthenticationResponse> login(@RequestBody AuthenticationRequest request) throws ForbiddenException, NotFoundException, ServiceUnavailableException {
         return userService.authenticate(request);
     }
 
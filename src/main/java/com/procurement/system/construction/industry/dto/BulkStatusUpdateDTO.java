@@ -0,0 +1,24 @@
+package com.procurement.system.construction.industry.dto;
+
+import com.procurement.system.construction.industry.enums.Status;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateDTO {
+
+    @NotEmpty
+    private List<Long> orderIds;
+
+    @NotNull
+    private Status status;
+}
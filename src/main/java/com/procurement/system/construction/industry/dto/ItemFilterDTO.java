@@ -0,0 +1,21 @@
+package com.procurement.system.construction.industry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemFilterDTO {
+
+    private String manufacturer;
+
+    private Double minPrice;
+
+    private Double maxPrice;
+
+    private String volumeType;
+}
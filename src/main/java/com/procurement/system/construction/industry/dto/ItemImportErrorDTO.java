@@ -0,0 +1,20 @@
+package com.procurement.system.construction.industry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemImportErrorDTO {
+
+    // 1-BASED POSITION OF THE ITEM IN THE FILE, NOT COUNTING THE CSV HEADER
+    private long row;
+
+    private String name;
+
+    private String message;
+}
@@ -0,0 +1,31 @@
+package com.procurement.system.construction.industry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemImportReportDTO {
+
+    private long rows;
+
+    private long inserted;
+
+    private long updated;
+
+    private long failed;
+
+    private List<ItemImportErrorDTO> errors;
+
+    // TRUE WHEN MORE ROWS FAILED THAN THE REPORT LISTS
+    private boolean errorsTruncated;
+
+    // SET WHEN THE FILE COULD NOT BE READ TO THE END; ROWS BEFORE IT HAVE STILL BEEN IMPORTED
+    private String abortedReason;
+}
@@ -0,0 +1,24 @@
+package com.procurement.system.construction.industry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// THE COLUMNS OF A CATALOG LIST ROW; THE FULL ITEM IS FETCHED WITH item/get/{id}
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemSummaryDTO {
+
+    private Long itemId;
+
+    private String name;
+
+    private String manufacturer;
+
+    private Double price;
+
+    private String volumeType;
+}
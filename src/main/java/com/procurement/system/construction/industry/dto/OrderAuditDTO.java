@@ -0,0 +1,28 @@
+package com.procurement.system.construction.industry.dto;
+
+import com.procurement.system.construction.industry.enums.AuditAction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderAuditDTO {
+
+    private AuditAction action;
+
+    private Long orderItemId;
+
+    private String fromValue;
+
+    private String toValue;
+
+    private Long actorId;
+
+    private Instant occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.procurement.system.construction.industry.dto;
+
+import com.procurement.system.construction.industry.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderChangeDTO {
+
+    private Long orderId;
+
+    // NULL WHEN THE WHOLE ORDER CHANGED
+    private Long orderItemId;
+
+    private Status oldStatus;
+
+    private Status newStatus;
+
+    private long version;
+}
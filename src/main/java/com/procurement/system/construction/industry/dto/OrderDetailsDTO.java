@@ -31,4 +31,7 @@ public class OrderDetailsDTO {
     private Long supplierId;
 
     private Long siteId;
+
+    // SET BY THE SERVER FROM THE CAPTURED LINE PRICES
+    private Double totalAmount;
 }
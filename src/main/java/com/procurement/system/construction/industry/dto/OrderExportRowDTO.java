@@ -0,0 +1,37 @@
+package com.procurement.system.construction.industry.dto;
+
+import com.procurement.system.construction.industry.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// ONE EXPORT LINE PER ORDER ITEM; ORDERS WITHOUT ITEMS APPEAR ONCE WITH EMPTY ITEM COLUMNS
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderExportRowDTO {
+
+    private Long orderId;
+
+    private Status orderStatus;
+
+    private LocalDate requiredDate;
+
+    private Long supplierId;
+
+    private Long orderItemId;
+
+    private Long itemId;
+
+    private Integer quantity;
+
+    private Status itemStatus;
+
+    private Double unitPrice;
+
+    private Double lineTotal;
+}
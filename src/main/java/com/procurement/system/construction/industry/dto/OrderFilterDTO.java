@@ -0,0 +1,24 @@
+package com.procurement.system.construction.industry.dto;
+
+import com.procurement.system.construction.industry.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderFilterDTO {
+
+    private Status status;
+
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    private Long supplierId;
+}
@@ -25,4 +25,9 @@ public class OrderItemDTO {
     private Long itemId;
 
     private Long orderId;
+
+    // SET BY THE SERVER WHEN THE LINE IS ADDED, ANY CLIENT VALUE IS IGNORED
+    private Double unitPrice;
+
+    private Double lineTotal;
 }
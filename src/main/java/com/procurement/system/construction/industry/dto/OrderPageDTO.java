@@ -0,0 +1,20 @@
+package com.procurement.system.construction.industry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageDTO {
+
+    private List<OrderDetailsDTO> orders;
+
+    // NULL WHEN THIS IS THE LAST PAGE
+    private String nextCursor;
+}
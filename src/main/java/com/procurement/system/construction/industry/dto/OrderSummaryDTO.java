@@ -0,0 +1,24 @@
+package com.procurement.system.construction.industry.dto;
+
+import com.procurement.system.construction.industry.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummaryDTO {
+
+    private Long siteId;
+
+    private Map<Status, Long> statusCounts;
+
+    private long overdueCount;
+
+    private Map<Long, Long> supplierCounts;
+}
@@ -0,0 +1,23 @@
+package com.procurement.system.construction.industry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SiteBudgetDTO {
+
+    private Long siteId;
+
+    private double allocatedBudget;
+
+    private double committedAmount;
+
+    private double deliveredAmount;
+
+    private double remainingBudget;
+}
@@ -0,0 +1,45 @@
+package com.procurement.system.construction.industry.entity;
+
+import com.procurement.system.construction.industry.enums.Status;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// COLD COPY OF A CLOSED ORDER, WRITTEN ONLY BY OrderArchiveRepository. IT KEEPS PLAIN IDS RATHER THAN RELATIONS SO
+// NOTHING CASCADES INTO THE ARCHIVE AND IT OUTLIVES DELETED SITES, SUPPLIERS AND ITEMS.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_archived_order_site_required_date", columnList = "site_id, required_date, order_id"),
+        @Index(name = "idx_archived_order_supplier_required_date", columnList = "supplier_id, required_date, order_id")
+})
+public class ArchivedOrder {
+
+    // THE ORIGINAL orderId
+    @Id
+    private Long orderId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @NotNull
+    private LocalDate requiredDate;
+
+    private Long siteId;
+
+    private Long supplierId;
+
+    private Double totalAmount;
+
+    @NotNull
+    private LocalDate archivedOn;
+}
@@ -0,0 +1,40 @@
+package com.procurement.system.construction.industry.entity;
+
+import com.procurement.system.construction.industry.enums.Status;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_archived_order_item_order", columnList = "order_id, order_item_id")
+})
+public class ArchivedOrderItem {
+
+    // THE ORIGINAL orderItemId
+    @Id
+    private Long orderItemId;
+
+    @NotNull
+    private Long orderId;
+
+    private Long itemId;
+
+    private int quantity;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private Double unitPrice;
+
+    // THE LINE'S CAPTURED lineTotal, SO THE SITE SPEND LEDGER STAYS RECONCILABLE WITHOUT THE CATALOG
+    private double lineAmount;
+}
@@ -0,0 +1,40 @@
+package com.procurement.system.construction.industry.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+    // SHA-256 OF "userId:Idempotency-Key", SO KEYS ARE PER USER AND THE ROW STAYS FIXED-WIDTH
+    @Id
+    @Column(length = 43)
+    private String keyDigest;
+
+    // METHOD, PATH AND BODY DIGEST OF THE FIRST REQUEST; THE SAME KEY ON ANOTHER ENDPOINT OR WITH ANOTHER BODY IS REJECTED
+    @NotNull
+    private String requestFingerprint;
+
+    private int statusCode;
+
+    private String contentType;
+
+    @Lob
+    private String responseBody;
+
+    @NotNull
+    private Instant expiresAt;
+}
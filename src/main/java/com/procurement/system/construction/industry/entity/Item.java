@@ -14,6 +14,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // CATALOG PAGES: EACH SORT ORDER AS (sortKey, itemId), ALONE OR AFTER AN EQUALITY FILTER
+        @Index(name = "idx_item_name", columnList = "name, item_id"),
+        @Index(name = "idx_item_price", columnList = "price, item_id"),
+        @Index(name = "idx_item_manufacturer_name", columnList = "manufacturer, name, item_id"),
+        @Index(name = "idx_item_manufacturer_price", columnList = "manufacturer, price, item_id"),
+        @Index(name = "idx_item_volume_type_price", columnList = "volume_type, price, item_id")
+})
 public class Item {
 
     @Id
@@ -0,0 +1,50 @@
+package com.procurement.system.construction.industry.entity;
+
+import com.procurement.system.construction.industry.enums.AuditAction;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// APPEND-ONLY: ROWS ARE BATCH-INSERTED BY OrderAuditWriter AND NEVER UPDATED OR DELETED
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_order_audit_order_occurred_at", columnList = "order_id, occurred_at, id")
+})
+public class OrderAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    private Long orderId;
+
+    // SET WHEN A SINGLE LINE CHANGED
+    private Long orderItemId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private AuditAction action;
+
+    @Column(length = 100)
+    private String fromValue;
+
+    @Column(length = 100)
+    private String toValue;
+
+    // NULL WHEN THE CHANGE WAS NOT MADE BY A SIGNED-IN USER
+    private Long actorId;
+
+    @NotNull
+    private Instant occurredAt;
+}
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,10 +17,23 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// AN ENTITY SAVE WRITES ONLY THE COLUMNS IT CHANGED, SO ASSIGNING A SUPPLIER NEVER WRITES BACK A STALE totalAmount
+@DynamicUpdate
+@Table(indexes = {
+        // KEYSET PAGING: SITE EQUALITY, THEN (requiredDate, orderId) ORDER
+        @Index(name = "idx_order_site_required_date", columnList = "site_id_ref, required_date, order_id"),
+        // SUPPLIER INBOX: SUPPLIER AND STATUS EQUALITY, THEN (requiredDate, orderId) ORDER
+        @Index(name = "idx_order_supplier_status_required_date", columnList = "supplier_id, status, required_date, order_id"),
+        // ARCHIVAL: CLOSED ORDERS PAST THE CUT-OFF DATE
+        @Index(name = "idx_order_status_required_date", columnList = "status, required_date")
+})
 public class OrderDetails {
 
+    // POOLED TABLE GENERATOR: IDS ARE HANDED OUT IN BLOCKS OF 50, SO INSERTS CAN BE JDBC-BATCHED (IDENTITY CANNOT)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_details_id")
+    @TableGenerator(name = "order_details_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "order_details", allocationSize = 50)
     private Long orderId;
 
     @NotNull
@@ -29,6 +43,15 @@ public class OrderDetails {
     @NotNull
     private LocalDate requiredDate;
 
+    // SUM OF lineTotal OVER EVERY LINE, WHATEVER ITS STATUS; MOVED IN PLACE AS LINES ARE ADDED OR REMOVED, WITHOUT
+    // BUMPING version. SET ON INSERT ONLY; NEVER CHANGE IT ON A LOADED ENTITY
+    private Double totalAmount;
+
+    // OPTIMISTIC LOCK; STATUS CHANGES COMPARE AND BUMP IT IN THEIR OWN UPDATE STATEMENTS
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items;
 
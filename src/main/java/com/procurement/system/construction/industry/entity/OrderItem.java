@@ -15,17 +15,31 @@ import lombok.NoArgsConstructor;
 @Builder
 public class OrderItem {
 
+    // POOLED TABLE GENERATOR: IDS ARE HANDED OUT IN BLOCKS OF 50, SO INSERTS CAN BE JDBC-BATCHED (IDENTITY CANNOT)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_id")
+    @TableGenerator(name = "order_item_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "order_item", allocationSize = 50)
     private Long orderItemId;
 
     @NotNull
     private int quantity;
 
+    // Item.price CAPTURED WHEN THE LINE WAS ADDED; A LATER CATALOG PRICE CHANGE NEVER REPRICES AN EXISTING ORDER
+    private Double unitPrice;
+
+    // quantity * unitPrice, STORED SO COST FIGURES AND THE SPEND LEDGER NEVER JOIN THE CATALOG
+    private Double lineTotal;
+
     @NotNull
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    // OPTIMISTIC LOCK; STATUS CHANGES COMPARE AND BUMP IT IN THEIR OWN UPDATE STATEMENTS
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "item_id_ref")
     private Item item;
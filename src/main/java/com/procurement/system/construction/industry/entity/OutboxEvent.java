@@ -0,0 +1,63 @@
+package com.procurement.system.construction.industry.entity;
+
+import com.procurement.system.construction.industry.enums.OutboxEventType;
+import com.procurement.system.construction.industry.enums.OutboxStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        // THE DISPATCHER'S CLAIM: PENDING ROWS THAT ARE DUE, OLDEST FIRST
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at, id")
+})
+public class OutboxEvent {
+
+    // POOLED LIKE ORDERS, SO A BULK TRANSITION'S OUTBOX ROWS ARE INSERTED IN JDBC BATCHES
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_event_id")
+    @TableGenerator(name = "outbox_event_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "outbox_event", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40)
+    private OutboxEventType eventType;
+
+    // THE ORDER (OR ORDER ITEM) THE EVENT IS ABOUT
+    @NotNull
+    private Long aggregateId;
+
+    @Lob
+    @NotNull
+    private String payload;
+
+    @NotNull
+    private Instant createdAt;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    // ALSO THE CLAIM LEASE: A CLAIMED ROW IS PUSHED INTO THE FUTURE UNTIL ITS DELIVERY IS RECORDED
+    @NotNull
+    private Instant nextAttemptAt;
+
+    private Instant deliveredAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,26 @@
+package com.procurement.system.construction.industry.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// RUNNING TOTALS OF A SITE'S ORDER LINES (THEIR CAPTURED LINE TOTALS), KEPT IN STEP WITH ITEM STATUS CHANGES
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SiteSpend {
+
+    @Id
+    private Long siteId;
+
+    // LINES THAT ARE Approved BUT NOT YET DELIVERED
+    private double committedAmount;
+
+    // LINES THAT ARE Delivered OR Completed
+    private double deliveredAmount;
+}
@@ -50,8 +50,9 @@ public class User implements UserDetails {
     @NotNull
     private Boolean isActive;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private AuthToken authToken;
+    // ONLY EVER MOVED BY UserRepository.incrementTokenVersion; A SAVE OF A USER READ BEFORE A REVOKE MUST NOT WRITE IT BACK
+    @Column(nullable = false, updatable = false)
+    private long tokenVersion;
 
     @ManyToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "site_id_ref")
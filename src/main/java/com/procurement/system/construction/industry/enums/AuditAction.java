@@ -0,0 +1,16 @@
+package com.procurement.system.construction.industry.enums;
+
+public enum AuditAction {
+
+    ORDER_CREATED,
+
+    ORDER_STATUS_CHANGED,
+
+    ITEM_STATUS_CHANGED,
+
+    SUPPLIER_ASSIGNED,
+
+    ITEM_ADDED,
+
+    ITEM_REMOVED
+}
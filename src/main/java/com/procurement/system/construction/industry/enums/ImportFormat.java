@@ -0,0 +1,10 @@
+package com.procurement.system.construction.industry.enums;
+
+public enum ImportFormat {
+
+    // A HEADER ROW NAMING THE ItemDTO FIELDS, THEN ONE ITEM PER RECORD
+    CSV,
+
+    // A JSON ARRAY OF ItemDTO OBJECTS, OR ONE OBJECT PER LINE (NDJSON)
+    JSON
+}
@@ -0,0 +1,16 @@
+package com.procurement.system.construction.industry.enums;
+
+public enum ItemSort {
+    NAME_ASC,
+    NAME_DESC,
+    PRICE_ASC,
+    PRICE_DESC;
+
+    public boolean byPrice() {
+        return this == PRICE_ASC || this == PRICE_DESC;
+    }
+
+    public boolean descending() {
+        return this == NAME_DESC || this == PRICE_DESC;
+    }
+}
@@ -0,0 +1,12 @@
+package com.procurement.system.construction.industry.enums;
+
+public enum OutboxEventType {
+
+    ORDER_CREATED,
+
+    ORDER_STATUS_CHANGED,
+
+    ORDER_ITEM_STATUS_CHANGED,
+
+    ORDER_SUPPLIER_ASSIGNED
+}
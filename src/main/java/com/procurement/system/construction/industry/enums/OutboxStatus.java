@@ -0,0 +1,11 @@
+package com.procurement.system.construction.industry.enums;
+
+public enum OutboxStatus {
+
+    PENDING,
+
+    DELIVERED,
+
+    // GAVE UP AFTER THE MAXIMUM NUMBER OF ATTEMPTS; KEPT FOR INSPECTION AND MANUAL REPLAY
+    DEAD
+}
@@ -1,6 +1,8 @@
 package com.procurement.system.construction.industry.exception;
 
 import com.procurement.system.construction.industry.common.ResponseMessage;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -36,9 +38,22 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         return ResponseEntity.status(HttpStatus.CONFLICT).body(message);
     }
 
+    // OPTIMISTIC LOCK FAILURES AND LOCK TIMEOUTS FROM A CONCURRENT WRITER
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ResponseMessage> ConcurrencyFailureException(ConcurrencyFailureException exception){
+        ResponseMessage message = new ResponseMessage(409, HttpStatus.CONFLICT, "the record was changed by someone else, please try again");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(message);
+    }
+
     @ExceptionHandler(InternalServerException.class)
     public ResponseEntity<ResponseMessage> InternalServerException(InternalServerException exception){
         ResponseMessage message = new ResponseMessage(500, HttpStatus.INTERNAL_SERVER_ERROR, exception.getMessage());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(message);
     }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ResponseMessage> ServiceUnavailableException(ServiceUnavailableException exception){
+        ResponseMessage message = new ResponseMessage(503, HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(message);
+    }
 }
@@ -0,0 +1,116 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.dto.ItemDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// PLAIN JDBC FOR BULK CATALOG IMPORTS: ONE BATCHED INSERT AND ONE BATCHED UPDATE PER CHUNK, NO PERSISTENCE CONTEXT
+@Repository
+@RequiredArgsConstructor
+public class ItemImportRepository {
+
+    private static final String INSERT =
+            "INSERT INTO item (name, description, manufacturer, price, volume_type, weight, color) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // THE OPTIONAL COLUMNS KEEP THEIR STORED VALUE WHEN THE FILE LEAVES THEM OUT
+    private static final String UPDATE =
+            "UPDATE item SET name = ?, description = COALESCE(?, description), manufacturer = ?, price = ?, " +
+            "volume_type = ?, weight = COALESCE(?, weight), color = COALESCE(?, color) WHERE item_id = ?";
+
+    private static final String SELECT =
+            "SELECT item_id, name, description, manufacturer, price, volume_type, weight, color FROM item WHERE item_id IN ";
+
+    private static final int NAME_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // STREAMS (name, itemId) OF EVERY ITEM WITHOUT MATERIALISING THE ROWS
+    public void forEachName(BiConsumer<String, Long> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT name, item_id FROM item");
+            statement.setFetchSize(NAME_FETCH_SIZE);
+            return statement;
+        }, row -> {
+            consumer.accept(row.getString(1), row.getLong(2));
+        });
+    }
+
+    // RETURNS THE GENERATED IDS IN THE ORDER OF items; IDENTITY KEYS COME BACK FROM THE BATCH ITSELF
+    public List<Long> insertAll(List<ItemDTO> items) {
+        if(items.isEmpty()){
+            return List.of();
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                for (ItemDTO item : items) {
+                    bind(statement, item);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                List<Long> ids = new ArrayList<>(items.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if(ids.size() != items.size()){
+                    throw new SQLException("expected " + items.size() + " generated keys but got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    public void updateAll(List<ItemDTO> items) {
+        if(items.isEmpty()){
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE, items, items.size(), (statement, item) -> {
+            bind(statement, item);
+            statement.setLong(8, item.getItemId());
+        });
+    }
+
+    // THE ROWS AS STORED; ONE QUERY PER CHUNK, SO THE IN LIST IS BOUNDED BY THE BATCH SIZE
+    public List<ItemDTO> findAll(List<Long> itemIds) {
+        if(itemIds.isEmpty()){
+            return List.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(itemIds.size(), "?"));
+        return jdbcTemplate.query(SELECT + "(" + placeholders + ")", (row, rowNum) -> ItemDTO.builder()
+                .itemId(row.getLong("item_id"))
+                .name(row.getString("name"))
+                .description(row.getString("description"))
+                .manufacturer(row.getString("manufacturer"))
+                .price(row.getDouble("price"))
+                .volumeType(row.getString("volume_type"))
+                .weight(row.getObject("weight", Double.class))
+                .color(row.getString("color")).build(), itemIds.toArray());
+    }
+
+    private static void bind(PreparedStatement statement, ItemDTO item) throws SQLException {
+        statement.setString(1, item.getName());
+        statement.setString(2, item.getDescription());
+        statement.setString(3, item.getManufacturer());
+        statement.setDouble(4, item.getPrice());
+        statement.setString(5, item.getVolumeType());
+        statement.setObject(6, item.getWeight(), Types.DOUBLE);
+        statement.setString(7, item.getColor());
+    }
+}
@@ -0,0 +1,14 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.common.ItemCursor;
+import com.procurement.system.construction.industry.dto.ItemFilterDTO;
+import com.procurement.system.construction.industry.dto.ItemSummaryDTO;
+import com.procurement.system.construction.industry.enums.ItemSort;
+
+import java.util.List;
+
+public interface ItemReadRepository {
+
+    // UP TO limit LIST ROWS AFTER THE CURSOR IN (sortKey, itemId) ORDER; A NULL CURSOR STARTS FROM THE FIRST ITEM
+    List<ItemSummaryDTO> findItemPage(ItemFilterDTO filter, ItemSort sort, ItemCursor after, int limit);
+}
@@ -0,0 +1,80 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.common.ItemCursor;
+import com.procurement.system.construction.industry.dto.ItemFilterDTO;
+import com.procurement.system.construction.industry.dto.ItemSummaryDTO;
+import com.procurement.system.construction.industry.enums.ItemSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ItemReadRepositoryImpl implements ItemReadRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ItemSummaryDTO> findItemPage(ItemFilterDTO filter, ItemSort sort, ItemCursor after, int limit) {
+        String column = sort.byPrice() ? "i.price" : "i.name";
+        String direction = sort.descending() ? "DESC" : "ASC";
+        String beyond = sort.descending() ? "<" : ">";
+
+        // SCALAR COLUMNS ONLY: NO Item ENTITIES, NO items COLLECTION, NOTHING IN THE PERSISTENCE CONTEXT
+        StringBuilder jpql = new StringBuilder(
+                "SELECT i.itemId AS itemId, i.name AS name, i.manufacturer AS manufacturer, " +
+                "i.price AS price, i.volumeType AS volumeType FROM Item i WHERE 1 = 1 ");
+        if(filter.getManufacturer() != null){
+            jpql.append("AND i.manufacturer = :manufacturer ");
+        }
+        if(filter.getVolumeType() != null){
+            jpql.append("AND i.volumeType = :volumeType ");
+        }
+        if(filter.getMinPrice() != null){
+            jpql.append("AND i.price >= :minPrice ");
+        }
+        if(filter.getMaxPrice() != null){
+            jpql.append("AND i.price <= :maxPrice ");
+        }
+        // SEEK PAST THE LAST ROW OF THE PREVIOUS PAGE; itemId BREAKS TIES BETWEEN EQUAL NAMES OR PRICES
+        if(after != null){
+            jpql.append("AND (").append(column).append(' ').append(beyond).append(" :afterKey OR (")
+                    .append(column).append(" = :afterKey AND i.itemId ").append(beyond).append(" :afterId)) ");
+        }
+        jpql.append("ORDER BY ").append(column).append(' ').append(direction).append(", i.itemId ").append(direction);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setMaxResults(limit);
+        if(filter.getManufacturer() != null){
+            query.setParameter("manufacturer", filter.getManufacturer());
+        }
+        if(filter.getVolumeType() != null){
+            query.setParameter("volumeType", filter.getVolumeType());
+        }
+        if(filter.getMinPrice() != null){
+            query.setParameter("minPrice", filter.getMinPrice());
+        }
+        if(filter.getMaxPrice() != null){
+            query.setParameter("maxPrice", filter.getMaxPrice());
+        }
+        if(after != null){
+            query.setParameter("afterKey", after.sortKey());
+            query.setParameter("afterId", after.itemId());
+        }
+
+        List<Tuple> rows = query.getResultList();
+        List<ItemSummaryDTO> items = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            items.add(ItemSummaryDTO.builder()
+                    .itemId(row.get("itemId", Long.class))
+                    .name(row.get("name", String.class))
+                    .manufacturer(row.get("manufacturer", String.class))
+                    .price(row.get("price", Double.class))
+                    .volumeType(row.get("volumeType", String.class)).build());
+        }
+        return items;
+    }
+}
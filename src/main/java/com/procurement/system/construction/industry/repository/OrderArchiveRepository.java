@@ -0,0 +1,152 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.common.LedgerAmount;
+import com.procurement.system.construction.industry.common.OrderCursor;
+import com.procurement.system.construction.industry.common.OrderKey;
+import com.procurement.system.construction.industry.dto.OrderDetailsDTO;
+import com.procurement.system.construction.industry.dto.OrderItemDTO;
+import com.procurement.system.construction.industry.enums.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.*;
+
+// MOVES CLOSED ORDERS FROM THE HOT TABLES (order_details / order_item) TO THE COLD ONES (archived_order /
+// archived_order_item) WITH SET-BASED SQL, AND READS THE COLD SIDE. THE MOVE METHODS MUST RUN IN ONE TRANSACTION.
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+
+    private static final String ARCHIVED_ORDER_SELECT =
+            "SELECT order_id, status, required_date, site_id, supplier_id, total_amount FROM archived_order ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // LOCKS UP TO limit CLOSED ORDERS DUE BEFORE cutoff, SO NO TRANSITION CAN TOUCH THEM WHILE THEY MOVE
+    public List<OrderKey> lockArchivable(Set<Status> closed, LocalDate cutoff, int limit) {
+        return jdbcTemplate.query(
+                "SELECT order_id, site_id_ref, supplier_id, required_date, status, version FROM order_details " +
+                "WHERE status IN (:closed) AND required_date < :cutoff " +
+                "LIMIT :limit FOR UPDATE",
+                new MapSqlParameterSource()
+                        .addValue("closed", closed.stream().map(Status::name).toList())
+                        .addValue("cutoff", cutoff)
+                        .addValue("limit", limit),
+                (row, rowNumber) -> new OrderKey(
+                        row.getLong("order_id"),
+                        row.getObject("site_id_ref", Long.class),
+                        row.getObject("supplier_id", Long.class),
+                        row.getObject("required_date", LocalDate.class),
+                        Status.valueOf(row.getString("status")),
+                        row.getLong("version")));
+    }
+
+    // ITEMS CAN STILL CHANGE AFTER THEIR ORDER CLOSED (E.G. A RETURN), SO THEY ARE LOCKED TOO
+    public void lockItems(Collection<Long> orderIds) {
+        jdbcTemplate.queryForList("SELECT order_item_id FROM order_item WHERE order_id_ref IN (:orderIds) FOR UPDATE",
+                Map.of("orderIds", orderIds), Long.class);
+    }
+
+    public int moveOrders(Collection<Long> orderIds, LocalDate archivedOn) {
+        Map<String, Object> parameters = Map.of("orderIds", orderIds, "archivedOn", archivedOn);
+        int copied = jdbcTemplate.update(
+                "INSERT INTO archived_order (order_id, status, required_date, site_id, supplier_id, total_amount, archived_on) " +
+                "SELECT order_id, status, required_date, site_id_ref, supplier_id, total_amount, :archivedOn " +
+                "FROM order_details WHERE order_id IN (:orderIds)", parameters);
+        jdbcTemplate.update(
+                "INSERT INTO archived_order_item (order_item_id, order_id, item_id, quantity, status, unit_price, line_amount) " +
+                "SELECT order_item_id, order_id_ref, item_id_ref, quantity, status, unit_price, COALESCE(line_total, 0) " +
+                "FROM order_item WHERE order_id_ref IN (:orderIds)", parameters);
+
+        jdbcTemplate.update("DELETE FROM order_item WHERE order_id_ref IN (:orderIds)", parameters);
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id IN (:orderIds)", parameters);
+        return copied;
+    }
+
+    // ARCHIVED ORDERS NEVER CHANGE AGAIN, SO NO VERSION IS KEPT FOR THEM AND THE KEY CARRIES 0
+    public Optional<OrderKey> findOrderKey(Long orderId) {
+        return jdbcTemplate.query(
+                "SELECT order_id, site_id, supplier_id, required_date, status FROM archived_order WHERE order_id = :orderId",
+                Map.of("orderId", orderId),
+                (row, rowNum) -> new OrderKey(
+                        row.getLong("order_id"),
+                        row.getObject("site_id", Long.class),
+                        row.getObject("supplier_id", Long.class),
+                        row.getObject("required_date", LocalDate.class),
+                        Status.valueOf(row.getString("status")),
+                        0L)).stream().findFirst();
+    }
+
+    public List<OrderDetailsDTO> findSiteOrderPage(Long siteId, OrderCursor after, int limit) {
+        return findPage("site_id = :ownerId ", siteId, after, limit);
+    }
+
+    public List<OrderDetailsDTO> findSupplierOrderPage(Long supplierId, OrderCursor after, int limit) {
+        return findPage("supplier_id = :ownerId ", supplierId, after, limit);
+    }
+
+    // ARCHIVED SPEND PER SITE AND LINE STATUS; siteId NULL MEANS EVERY SITE
+    public List<LedgerAmount> sumLineAmounts(Long siteId, Set<Status> statuses) {
+        String sql = "SELECT o.site_id, i.status, SUM(i.line_amount) AS amount " +
+                "FROM archived_order_item i JOIN archived_order o ON o.order_id = i.order_id " +
+                "WHERE i.status IN (:statuses) AND o.site_id IS NOT NULL " +
+                (siteId == null ? "" : "AND o.site_id = :siteId ") +
+                "GROUP BY o.site_id, i.status";
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("statuses", statuses.stream().map(Status::name).toList())
+                .addValue("siteId", siteId);
+
+        return jdbcTemplate.query(sql, parameters, (row, rowNumber) -> new LedgerAmount(
+                row.getLong("site_id"),
+                Status.valueOf(row.getString("status")),
+                row.getDouble("amount")));
+    }
+
+    private List<OrderDetailsDTO> findPage(String ownerCondition, Long ownerId, OrderCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(ARCHIVED_ORDER_SELECT).append("WHERE ").append(ownerCondition);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ownerId", ownerId)
+                .addValue("limit", limit);
+        if(after != null){
+            sql.append("AND (required_date > :afterDate OR (required_date = :afterDate AND order_id > :afterId)) ");
+            parameters.addValue("afterDate", after.requiredDate()).addValue("afterId", after.orderId());
+        }
+        sql.append("ORDER BY required_date, order_id LIMIT :limit");
+
+        List<OrderDetailsDTO> orders = jdbcTemplate.query(sql.toString(), parameters, (row, rowNumber) -> OrderDetailsDTO.builder()
+                .orderId(row.getLong("order_id"))
+                .status(Status.valueOf(row.getString("status")))
+                .requiredDate(row.getObject("required_date", LocalDate.class))
+                .siteId(row.getObject("site_id", Long.class))
+                .supplierId(row.getObject("supplier_id", Long.class))
+                .totalAmount(row.getObject("total_amount", Double.class))
+                .items(new ArrayList<>()).build());
+        if(orders.isEmpty()){
+            return orders;
+        }
+
+        // ONE QUERY FOR THE LINE ITEMS OF THE WHOLE PAGE
+        Map<Long, OrderDetailsDTO> byId = new HashMap<>();
+        orders.forEach(order -> byId.put(order.getOrderId(), order));
+        jdbcTemplate.query(
+                "SELECT order_item_id, order_id, item_id, quantity, status, unit_price, line_amount FROM archived_order_item " +
+                "WHERE order_id IN (:orderIds) ORDER BY order_id, order_item_id",
+                Map.of("orderIds", byId.keySet()),
+                row -> {
+                    Long orderId = row.getLong("order_id");
+                    byId.get(orderId).getItems().add(OrderItemDTO.builder()
+                            .orderItemId(row.getLong("order_item_id"))
+                            .orderId(orderId)
+                            .itemId(row.getObject("item_id", Long.class))
+                            .quantity(row.getInt("quantity"))
+                            .status(Status.valueOf(row.getString("status")))
+                            .unitPrice(row.getObject("unit_price", Double.class))
+                            .lineTotal(row.getDouble("line_amount")).build());
+                });
+
+        return orders;
+    }
+}
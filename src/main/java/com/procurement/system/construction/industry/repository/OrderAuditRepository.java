@@ -0,0 +1,58 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.entity.OrderAudit;
+import com.procurement.system.construction.industry.enums.AuditAction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+// PLAIN JDBC SO A WHOLE QUEUE DRAIN GOES OUT AS ONE BATCHED INSERT WITH NO PERSISTENCE CONTEXT; TIMESTAMPS ARE
+// WRITTEN AND READ IN UTC BY THIS CLASS ALONE, SO THE JVM'S TIME ZONE NEVER SHIFTS THEM
+@Repository
+@RequiredArgsConstructor
+public class OrderAuditRepository {
+
+    private static final String INSERT =
+            "INSERT INTO order_audit (order_id, order_item_id, action, from_value, to_value, actor_id, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String TIMELINE =
+            "SELECT id, order_id, order_item_id, action, from_value, to_value, actor_id, occurred_at " +
+            "FROM order_audit WHERE order_id = ? ORDER BY occurred_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OrderAudit> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (statement, entry) -> {
+            statement.setLong(1, entry.getOrderId());
+            statement.setObject(2, entry.getOrderItemId(), Types.BIGINT);
+            statement.setString(3, entry.getAction().name());
+            statement.setString(4, entry.getFromValue());
+            statement.setString(5, entry.getToValue());
+            statement.setObject(6, entry.getActorId(), Types.BIGINT);
+            statement.setTimestamp(7, Timestamp.from(entry.getOccurredAt()), utc());
+        });
+    }
+
+    public List<OrderAudit> findTimeline(Long orderId) {
+        return jdbcTemplate.query(TIMELINE, (row, rowNumber) -> OrderAudit.builder()
+                .id(row.getLong("id"))
+                .orderId(row.getLong("order_id"))
+                .orderItemId(row.getObject("order_item_id", Long.class))
+                .action(AuditAction.valueOf(row.getString("action")))
+                .fromValue(row.getString("from_value"))
+                .toValue(row.getString("to_value"))
+                .actorId(row.getObject("actor_id", Long.class))
+                .occurredAt(row.getTimestamp("occurred_at", utc()).toInstant()).build(), orderId);
+    }
+
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
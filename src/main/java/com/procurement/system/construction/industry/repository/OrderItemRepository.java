@@ -1,12 +1,70 @@
 package com.procurement.system.construction.industry.repository;
 
+import com.procurement.system.construction.industry.common.LedgerAmount;
+import com.procurement.system.construction.industry.common.OrderKey;
+import com.procurement.system.construction.industry.common.StatusSnapshot;
 import com.procurement.system.construction.industry.entity.OrderItem;
+import com.procurement.system.construction.industry.enums.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     Optional<OrderItem> findFirstByOrderItemId(Long orderItemId);
+
+    @Query("SELECT new com.procurement.system.construction.industry.common.StatusSnapshot(oi.orderItemId, oi.status, oi.version, o.site.siteId, s.userId) " +
+            "FROM OrderItem oi JOIN oi.order o LEFT JOIN o.supplier s WHERE oi.orderItemId = :orderItemId")
+    Optional<StatusSnapshot> findStatusSnapshot(@Param("orderItemId") Long orderItemId);
+
+    // THE ORDER AN ITEM BELONGS TO
+    @Query("SELECT new com.procurement.system.construction.industry.common.OrderKey(o.orderId, o.site.siteId, s.userId, o.requiredDate, o.status, o.version) " +
+            "FROM OrderItem oi JOIN oi.order o LEFT JOIN o.supplier s WHERE oi.orderItemId = :orderItemId")
+    Optional<OrderKey> findOrderKey(@Param("orderItemId") Long orderItemId);
+
+    @Query("SELECT new com.procurement.system.construction.industry.common.LedgerAmount(o.site.siteId, oi.status, SUM(oi.lineTotal)) " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE o.orderId IN :orderIds AND oi.status IN :statuses " +
+            "GROUP BY o.site.siteId, oi.status")
+    List<LedgerAmount> sumLineAmounts(@Param("orderIds") Collection<Long> orderIds, @Param("statuses") Collection<Status> statuses);
+
+    @Query("SELECT new com.procurement.system.construction.industry.common.LedgerAmount(o.site.siteId, oi.status, oi.lineTotal) " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE oi.orderItemId = :orderItemId")
+    Optional<LedgerAmount> findLineAmount(@Param("orderItemId") Long orderItemId);
+
+    // SOURCE OF TRUTH FOR THE SPEND LEDGER; siteId NULL MEANS EVERY SITE
+    @Query("SELECT new com.procurement.system.construction.industry.common.LedgerAmount(o.site.siteId, oi.status, SUM(oi.lineTotal)) " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE oi.status IN :statuses AND (:siteId IS NULL OR o.site.siteId = :siteId) " +
+            "GROUP BY o.site.siteId, oi.status")
+    List<LedgerAmount> sumSiteLineAmounts(@Param("siteId") Long siteId, @Param("statuses") Collection<Status> statuses);
+
+    // COMPARE-AND-SET: ONLY APPLIES IF NOBODY CHANGED THE ITEM SINCE IT WAS READ
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderItem oi SET oi.status = :target, oi.version = oi.version + 1 " +
+            "WHERE oi.orderItemId = :orderItemId AND oi.version = :version")
+    int compareAndSetStatus(@Param("orderItemId") Long orderItemId, @Param("version") long version, @Param("target") Status target);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderItem oi SET oi.status = :target, oi.version = oi.version + 1 " +
+            "WHERE oi.order.orderId IN :orderIds AND oi.status IN :sources")
+    int updateStatusByOrderIds(@Param("orderIds") Collection<Long> orderIds, @Param("sources") Collection<Status> sources, @Param("target") Status target);
+
+    // ONE-OFF BACKFILL FOR LINES CREATED BEFORE PRICES WERE CAPTURED: THE CATALOG PRICE AT UPGRADE TIME IS THE BEST
+    // AVAILABLE; LINES WHOSE ITEM IS GONE ARE PRICED AT ZERO
+    @Modifying
+    @Query("UPDATE OrderItem oi SET oi.unitPrice = COALESCE((SELECT i.price FROM Item i WHERE i = oi.item), 0) " +
+            "WHERE oi.unitPrice IS NULL")
+    int backfillUnitPrices();
+
+    @Modifying
+    @Query("UPDATE OrderItem oi SET oi.lineTotal = oi.quantity * oi.unitPrice WHERE oi.lineTotal IS NULL")
+    int backfillLineTotals();
 }
@@ -0,0 +1,27 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.common.OrderCursor;
+import com.procurement.system.construction.industry.dto.OrderDetailsDTO;
+import com.procurement.system.construction.industry.dto.OrderExportRowDTO;
+import com.procurement.system.construction.industry.dto.OrderFilterDTO;
+import com.procurement.system.construction.industry.enums.Status;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface OrderReadRepository {
+
+    // ONE QUERY FOR THE SITE'S ORDERS, ONE FOR ALL THEIR LINE ITEMS; ITEMS ARE ONLY ATTACHED TO ORDERS IN itemStatuses
+    List<OrderDetailsDTO> findSiteOrderDetails(Long siteId, Set<Status> itemStatuses);
+
+    // UP TO limit ORDERS AFTER THE CURSOR IN (requiredDate, orderId) ORDER; A NULL CURSOR STARTS FROM THE FIRST ORDER
+    List<OrderDetailsDTO> findSiteOrderPage(Long siteId, OrderFilterDTO filter, OrderCursor after, int limit, Set<Status> itemStatuses);
+
+    // A SUPPLIER'S OWN ORDERS IN statuses ACROSS EVERY SITE, IN THE SAME (requiredDate, orderId) KEYSET ORDER; ONE QUERY
+    // FOR THE PAGE AND ONE FOR ALL ITS LINE ITEMS
+    List<OrderDetailsDTO> findSupplierOrderPage(Long supplierId, Set<Status> statuses, OrderCursor after, int limit);
+
+    // FORWARD-ONLY CURSOR OVER EVERY ORDER ITEM OF THE SITE; MUST BE CLOSED INSIDE THE CALLER'S TRANSACTION
+    Stream<OrderExportRowDTO> streamSiteOrderRows(Long siteId);
+}
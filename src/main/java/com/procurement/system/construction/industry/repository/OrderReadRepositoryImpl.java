@@ -0,0 +1,216 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.common.OrderCursor;
+import com.procurement.system.construction.industry.dto.OrderDetailsDTO;
+import com.procurement.system.construction.industry.dto.OrderExportRowDTO;
+import com.procurement.system.construction.industry.dto.OrderFilterDTO;
+import com.procurement.system.construction.industry.dto.OrderItemDTO;
+import com.procurement.system.construction.industry.enums.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class OrderReadRepositoryImpl implements OrderReadRepository {
+
+    private static final String ORDER_SELECT =
+            "SELECT o.orderId AS orderId, o.status AS status, o.requiredDate AS requiredDate, " +
+            "o.site.siteId AS siteId, s.userId AS supplierId, o.totalAmount AS totalAmount " +
+            "FROM OrderDetails o LEFT JOIN o.supplier s ";
+
+    private static final String ITEM_SELECT =
+            "SELECT oi.orderItemId AS orderItemId, oi.quantity AS quantity, oi.status AS status, " +
+            "oi.item.itemId AS itemId, o.orderId AS orderId, oi.unitPrice AS unitPrice, oi.lineTotal AS lineTotal " +
+            "FROM OrderItem oi JOIN oi.order o ";
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<OrderDetailsDTO> findSiteOrderDetails(Long siteId, Set<Status> itemStatuses) {
+        List<Tuple> orderRows = entityManager.createQuery(
+                        ORDER_SELECT +
+                        "WHERE o.site.siteId = :siteId " +
+                        "ORDER BY o.orderId", Tuple.class)
+                .setParameter("siteId", siteId)
+                .getResultList();
+
+        if(orderRows.isEmpty() || itemStatuses.isEmpty()){
+            return toOrderDetails(orderRows, Map.of(), itemStatuses);
+        }
+
+        List<Tuple> itemRows = entityManager.createQuery(
+                        ITEM_SELECT +
+                        "WHERE o.site.siteId = :siteId AND o.status IN :statuses " +
+                        "ORDER BY o.orderId, oi.orderItemId", Tuple.class)
+                .setParameter("siteId", siteId)
+                .setParameter("statuses", itemStatuses)
+                .getResultList();
+
+        return toOrderDetails(orderRows, groupByOrder(itemRows), itemStatuses);
+    }
+
+    @Override
+    public List<OrderDetailsDTO> findSiteOrderPage(Long siteId, OrderFilterDTO filter, OrderCursor after, int limit, Set<Status> itemStatuses) {
+        StringBuilder jpql = new StringBuilder(ORDER_SELECT).append("WHERE o.site.siteId = :siteId ");
+        if(filter.getStatus() != null){
+            jpql.append("AND o.status = :status ");
+        }
+        if(filter.getFromDate() != null){
+            jpql.append("AND o.requiredDate >= :fromDate ");
+        }
+        if(filter.getToDate() != null){
+            jpql.append("AND o.requiredDate <= :toDate ");
+        }
+        if(filter.getSupplierId() != null){
+            jpql.append("AND s.userId = :supplierId ");
+        }
+        // SEEK PAST THE LAST ROW OF THE PREVIOUS PAGE INSTEAD OF SKIPPING OFFSET ROWS
+        if(after != null){
+            jpql.append("AND (o.requiredDate > :afterDate OR (o.requiredDate = :afterDate AND o.orderId > :afterId)) ");
+        }
+        jpql.append("ORDER BY o.requiredDate, o.orderId");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("siteId", siteId)
+                .setMaxResults(limit);
+        if(filter.getStatus() != null){
+            query.setParameter("status", filter.getStatus());
+        }
+        if(filter.getFromDate() != null){
+            query.setParameter("fromDate", filter.getFromDate());
+        }
+        if(filter.getToDate() != null){
+            query.setParameter("toDate", filter.getToDate());
+        }
+        if(filter.getSupplierId() != null){
+            query.setParameter("supplierId", filter.getSupplierId());
+        }
+        if(after != null){
+            query.setParameter("afterDate", after.requiredDate());
+            query.setParameter("afterId", after.orderId());
+        }
+
+        return withPageItems(query.getResultList(), itemStatuses);
+    }
+
+    @Override
+    public List<OrderDetailsDTO> findSupplierOrderPage(Long supplierId, Set<Status> statuses, OrderCursor after, int limit) {
+        if(statuses.isEmpty()){
+            return new ArrayList<>();
+        }
+
+        // idx_order_supplier_status_required_date COVERS THE FILTER; THE SITE'S OTHER ORDERS ARE NEVER READ
+        StringBuilder jpql = new StringBuilder(ORDER_SELECT).append("WHERE s.userId = :supplierId AND o.status IN :statuses ");
+        if(after != null){
+            jpql.append("AND (o.requiredDate > :afterDate OR (o.requiredDate = :afterDate AND o.orderId > :afterId)) ");
+        }
+        jpql.append("ORDER BY o.requiredDate, o.orderId");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("supplierId", supplierId)
+                .setParameter("statuses", statuses)
+                .setMaxResults(limit);
+        if(after != null){
+            query.setParameter("afterDate", after.requiredDate());
+            query.setParameter("afterId", after.orderId());
+        }
+
+        return withPageItems(query.getResultList(), statuses);
+    }
+
+    @Override
+    public Stream<OrderExportRowDTO> streamSiteOrderRows(Long siteId) {
+        // SCALAR ROWS NEVER ENTER THE PERSISTENCE CONTEXT, SO THE SESSION STAYS EMPTY HOWEVER MANY ROWS ARE READ
+        return entityManager.createQuery(
+                        "SELECT o.orderId AS orderId, o.status AS orderStatus, o.requiredDate AS requiredDate, " +
+                        "s.userId AS supplierId, oi.orderItemId AS orderItemId, oi.item.itemId AS itemId, " +
+                        "oi.quantity AS quantity, oi.status AS itemStatus, oi.unitPrice AS unitPrice, oi.lineTotal AS lineTotal " +
+                        "FROM OrderDetails o LEFT JOIN o.supplier s LEFT JOIN o.items oi " +
+                        "WHERE o.site.siteId = :siteId " +
+                        "ORDER BY o.orderId, oi.orderItemId", Tuple.class)
+                .setParameter("siteId", siteId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(row -> OrderExportRowDTO.builder()
+                        .orderId(row.get("orderId", Long.class))
+                        .orderStatus(row.get("orderStatus", Status.class))
+                        .requiredDate(row.get("requiredDate", LocalDate.class))
+                        .supplierId(row.get("supplierId", Long.class))
+                        .orderItemId(row.get("orderItemId", Long.class))
+                        .itemId(row.get("itemId", Long.class))
+                        .quantity(row.get("quantity", Integer.class))
+                        .itemStatus(row.get("itemStatus", Status.class))
+                        .unitPrice(row.get("unitPrice", Double.class))
+                        .lineTotal(row.get("lineTotal", Double.class)).build());
+    }
+
+    // ONE IN-LIST QUERY FOR THE LINE ITEMS OF EVERY ORDER ON THE PAGE WHOSE STATUS IS IN itemStatuses
+    private List<OrderDetailsDTO> withPageItems(List<Tuple> orderRows, Set<Status> itemStatuses) {
+        List<Long> orderIds = orderRows.stream()
+                .filter(row -> itemStatuses.contains(row.get("status", Status.class)))
+                .map(row -> row.get("orderId", Long.class))
+                .toList();
+        if(orderIds.isEmpty()){
+            return toOrderDetails(orderRows, Map.of(), itemStatuses);
+        }
+
+        List<Tuple> itemRows = entityManager.createQuery(
+                        ITEM_SELECT +
+                        "WHERE o.orderId IN :orderIds " +
+                        "ORDER BY o.orderId, oi.orderItemId", Tuple.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+
+        return toOrderDetails(orderRows, groupByOrder(itemRows), itemStatuses);
+    }
+
+    private List<OrderDetailsDTO> toOrderDetails(List<Tuple> orderRows, Map<Long, List<OrderItemDTO>> itemsByOrder, Set<Status> itemStatuses) {
+        List<OrderDetailsDTO> orders = new ArrayList<>(orderRows.size());
+        for (Tuple row : orderRows) {
+            Long orderId = row.get("orderId", Long.class);
+            Status status = row.get("status", Status.class);
+
+            OrderDetailsDTO order = OrderDetailsDTO.builder()
+                    .orderId(orderId)
+                    .status(status)
+                    .requiredDate(row.get("requiredDate", LocalDate.class))
+                    .siteId(row.get("siteId", Long.class))
+                    .supplierId(row.get("supplierId", Long.class))
+                    .totalAmount(row.get("totalAmount", Double.class)).build();
+
+            if(itemStatuses.contains(status)){
+                order.setItems(itemsByOrder.getOrDefault(orderId, new ArrayList<>()));
+            }
+            orders.add(order);
+        }
+
+        return orders;
+    }
+
+    private Map<Long, List<OrderItemDTO>> groupByOrder(List<Tuple> itemRows) {
+        Map<Long, List<OrderItemDTO>> itemsByOrder = new HashMap<>();
+        for (Tuple row : itemRows) {
+            Long orderId = row.get("orderId", Long.class);
+            itemsByOrder.computeIfAbsent(orderId, id -> new ArrayList<>())
+                    .add(OrderItemDTO.builder()
+                            .orderItemId(row.get("orderItemId", Long.class))
+                            .quantity(row.get("quantity", Integer.class))
+                            .status(row.get("status", Status.class))
+                            .itemId(row.get("itemId", Long.class))
+                            .orderId(orderId)
+                            .unitPrice(row.get("unitPrice", Double.class))
+                            .lineTotal(row.get("lineTotal", Double.class)).build());
+        }
+
+        return itemsByOrder;
+    }
+}
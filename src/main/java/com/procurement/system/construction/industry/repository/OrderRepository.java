@@ -1,12 +1,73 @@
 package com.procurement.system.construction.industry.repository;
 
+import com.procurement.system.construction.industry.common.OrderCount;
+import com.procurement.system.construction.industry.common.OrderKey;
+import com.procurement.system.construction.industry.common.StatusSnapshot;
 import com.procurement.system.construction.industry.entity.OrderDetails;
+import com.procurement.system.construction.industry.enums.Status;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<OrderDetails, Long> {
+public interface OrderRepository extends JpaRepository<OrderDetails, Long>, OrderReadRepository {
     List<OrderDetails> findBySiteSiteId(Long siteId);
+
+    @Query("SELECT o.orderId FROM OrderDetails o WHERE o.orderId IN :orderIds")
+    List<Long> findExistingIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT o.orderId FROM OrderDetails o WHERE o.orderId IN :orderIds AND o.site.siteId = :siteId")
+    List<Long> findIdsBySite(@Param("orderIds") Collection<Long> orderIds, @Param("siteId") Long siteId);
+
+    @Query("SELECT o.orderId FROM OrderDetails o WHERE o.orderId IN :orderIds AND o.supplier.userId = :supplierId")
+    List<Long> findIdsBySupplier(@Param("orderIds") Collection<Long> orderIds, @Param("supplierId") Long supplierId);
+
+    // HOLDS THE ROW UNTIL COMMIT, SO A STATUS CHANGE CANNOT SLIP IN BETWEEN A CHECK ON THE ORDER AND THE WRITE THAT FOLLOWS
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OrderDetails o WHERE o.orderId = :orderId")
+    Optional<OrderDetails> findForUpdate(@Param("orderId") Long orderId);
+
+    @Query("SELECT new com.procurement.system.construction.industry.common.StatusSnapshot(o.orderId, o.status, o.version, o.site.siteId, s.userId) " +
+            "FROM OrderDetails o LEFT JOIN o.supplier s WHERE o.orderId = :orderId")
+    Optional<StatusSnapshot> findStatusSnapshot(@Param("orderId") Long orderId);
+
+    @Query("SELECT new com.procurement.system.construction.industry.common.OrderKey(o.orderId, o.site.siteId, s.userId, o.requiredDate, o.status, o.version) " +
+            "FROM OrderDetails o LEFT JOIN o.supplier s WHERE o.orderId IN :orderIds")
+    List<OrderKey> findOrderKeys(@Param("orderIds") Collection<Long> orderIds);
+
+    // SEEDS THE IN-MEMORY ORDER SUMMARY COUNTERS
+    @Query("SELECT new com.procurement.system.construction.industry.common.OrderCount(o.site.siteId, o.status, s.userId, o.requiredDate, COUNT(o)) " +
+            "FROM OrderDetails o LEFT JOIN o.supplier s " +
+            "GROUP BY o.site.siteId, o.status, s.userId, o.requiredDate")
+    List<OrderCount> countOrders();
+
+    // COMPARE-AND-SET: ONLY APPLIES IF NOBODY CHANGED THE ORDER SINCE IT WAS READ
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderDetails o SET o.status = :target, o.version = o.version + 1 " +
+            "WHERE o.orderId = :orderId AND o.version = :version")
+    int compareAndSetStatus(@Param("orderId") Long orderId, @Param("version") long version, @Param("target") Status target);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderDetails o SET o.status = :target, o.version = o.version + 1 " +
+            "WHERE o.orderId IN :orderIds AND o.status IN :sources")
+    int updateStatusFrom(@Param("orderIds") Collection<Long> orderIds, @Param("sources") Collection<Status> sources, @Param("target") Status target);
+
+    // IN-PLACE INCREMENT, SO CONCURRENT LINE CHANGES NEVER LOSE AN UPDATE AND version IS LEFT TO STATUS CHANGES
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OrderDetails o SET o.totalAmount = COALESCE(o.totalAmount, 0) + :delta WHERE o.orderId = :orderId")
+    int addToTotalAmount(@Param("orderId") Long orderId, @Param("delta") double delta);
+
+    // ONE-OFF BACKFILL FOR ORDERS CREATED BEFORE TOTALS WERE STORED; RUN AFTER THE LINE BACKFILL
+    @Modifying
+    @Query("UPDATE OrderDetails o SET o.totalAmount = COALESCE((SELECT SUM(oi.lineTotal) FROM OrderItem oi WHERE oi.order = o), 0) " +
+            "WHERE o.totalAmount IS NULL")
+    int backfillTotalAmounts();
 }
@@ -0,0 +1,50 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.entity.OutboxEvent;
+import com.procurement.system.construction.industry.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // FOR UPDATE SKIP LOCKED (LOCK TIMEOUT -2): CONCURRENT DISPATCHERS CLAIM DISJOINT BATCHES INSTEAD OF WAITING
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findDue(@Param("status") OutboxStatus status, @Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :leaseUntil WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") Instant leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.procurement.system.construction.industry.enums.OutboxStatus.DELIVERED, e.deliveredAt = :now, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, e.lastError = :error " +
+            "WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("status") OutboxStatus status, @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = com.procurement.system.construction.industry.enums.OutboxStatus.PENDING")
+    Optional<Instant> findOldestPending();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.procurement.system.construction.industry.enums.OutboxStatus.DELIVERED AND e.deliveredAt < :before")
+    int deleteDelivered(@Param("before") Instant before);
+}
@@ -2,11 +2,14 @@ package com.procurement.system.construction.industry.repository;
 
 import com.procurement.system.construction.industry.entity.Site;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -16,4 +19,10 @@ public interface SiteRepository extends JpaRepository<Site, Long> {
     Optional<Site> findBySiteManagerUserId(Long siteManagerId);
 
     Optional<Site> findByProcurementManagerUserId(Long procurementManagerId);
+
+    @Query("SELECT s.siteId FROM Site s")
+    List<Long> findAllSiteIds();
+
+    @Query("SELECT s.allocatedBudget FROM Site s WHERE s.siteId = :siteId")
+    Optional<Double> findAllocatedBudget(@Param("siteId") Long siteId);
 }
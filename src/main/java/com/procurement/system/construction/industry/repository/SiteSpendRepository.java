@@ -0,0 +1,25 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.entity.SiteSpend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SiteSpendRepository extends JpaRepository<SiteSpend, Long> {
+
+    // ATOMIC CHECK-AND-ADD: ONLY APPLIES IF THE NEW TOTAL STAYS WITHIN THE SITE'S ALLOCATED BUDGET (0 MEANS NO BUDGET SET)
+    @Modifying
+    @Query("UPDATE SiteSpend s SET s.committedAmount = s.committedAmount + :committed, s.deliveredAmount = s.deliveredAmount + :delivered " +
+            "WHERE s.siteId = :siteId " +
+            "AND ((SELECT st.allocatedBudget FROM Site st WHERE st.siteId = :siteId) <= 0 " +
+            "OR s.committedAmount + s.deliveredAmount + :committed + :delivered <= (SELECT st.allocatedBudget FROM Site st WHERE st.siteId = :siteId))")
+    int reserve(@Param("siteId") Long siteId, @Param("committed") double committed, @Param("delivered") double delivered);
+
+    @Modifying
+    @Query("UPDATE SiteSpend s SET s.committedAmount = s.committedAmount + :committed, s.deliveredAmount = s.deliveredAmount + :delivered " +
+            "WHERE s.siteId = :siteId")
+    int adjust(@Param("siteId") Long siteId, @Param("committed") double committed, @Param("delivered") double delivered);
+}
@@ -1,10 +1,15 @@
 package com.procurement.system.construction.industry.repository;
 
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
 import com.procurement.system.construction.industry.entity.User;
 import com.procurement.system.construction.industry.enums.UserRole;
 import jdk.jfr.Registered;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +18,19 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT new com.procurement.system.construction.industry.config.principal.AuthPrincipal(u.userId, u.email, u.role, u.isActive, s.siteId) " +
+            "FROM User u LEFT JOIN u.site s WHERE u.email = :email")
+    Optional<AuthPrincipal> findPrincipalByEmail(@Param("email") String email);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.userId = :userId")
+    Optional<Long> findTokenVersionByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    // NATIVE, BECAUSE THE MAPPED COLUMN IS NOT UPDATABLE THROUGH THE ENTITY
+    @Query(value = "UPDATE user SET token_version = token_version + 1 WHERE user_id = :userId", nativeQuery = true)
+    int incrementTokenVersion(@Param("userId") Long userId);
+
     List<User> findBySiteSiteId(Long siteId, Pageable pageable);
 
     Optional<User> findFirstByRole(UserRole admin);
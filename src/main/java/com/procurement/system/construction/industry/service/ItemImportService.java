@@ -0,0 +1,11 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.dto.ItemImportReportDTO;
+import com.procurement.system.construction.industry.enums.ImportFormat;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+
+import java.io.InputStream;
+
+public interface ItemImportService {
+    ItemImportReportDTO importItems(ImportFormat format, InputStream body) throws BadRequestException;
+}
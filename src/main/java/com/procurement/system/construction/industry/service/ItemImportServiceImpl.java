@@ -0,0 +1,326 @@
+package com.procurement.system.construction.industry.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procurement.system.construction.industry.common.CsvRecordReader;
+import com.procurement.system.construction.industry.config.catalog.ItemCatalog;
+import com.procurement.system.construction.industry.config.catalog.ItemSearchIndex;
+import com.procurement.system.construction.industry.dto.ItemDTO;
+import com.procurement.system.construction.industry.dto.ItemImportErrorDTO;
+import com.procurement.system.construction.industry.dto.ItemImportReportDTO;
+import com.procurement.system.construction.industry.enums.ImportFormat;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.repository.ItemImportRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// PRICE LISTS ARE READ AS A STREAM AND UPSERTED BY ITEM NAME: EVERY EXISTING NAME IS LOADED ONCE INTO A HASH MAP,
+// ROWS ARE BUFFERED UP TO batch-size AND WRITTEN AS ONE BATCHED INSERT PLUS ONE BATCHED UPDATE IN THEIR OWN SHORT
+// TRANSACTION. MEMORY IS THE NAME MAP, ONE CHUNK AND A CAPPED ERROR LIST, HOWEVER LONG THE FILE IS.
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "manufacturer", "price", "volumetype");
+
+    private final ItemImportRepository itemImportRepository;
+    private final ItemCatalog itemCatalog;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter insertedRows;
+    private final Counter updatedRows;
+    private final Counter failedRows;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ItemImportServiceImpl(ItemImportRepository itemImportRepository,
+                                 ItemCatalog itemCatalog,
+                                 ItemSearchIndex itemSearchIndex,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${application.item-import.batch-size}") int batchSize,
+                                 @Value("${application.item-import.max-errors}") int maxErrors) {
+        this.itemImportRepository = itemImportRepository;
+        this.itemCatalog = itemCatalog;
+        this.itemSearchIndex = itemSearchIndex;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.insertedRows = Counter.builder("item.import.rows")
+                .tag("result", "inserted")
+                .description("Imported rows that created an item")
+                .register(meterRegistry);
+        this.updatedRows = Counter.builder("item.import.rows")
+                .tag("result", "updated")
+                .description("Imported rows that updated an item with the same name")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("item.import.rows")
+                .tag("result", "failed")
+                .description("Imported rows rejected by validation or the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ItemImportReportDTO importItems(ImportFormat format, InputStream body) throws BadRequestException {
+        Map<String, Long> names = new HashMap<>();
+        itemImportRepository.forEachName((name, itemId) -> names.put(nameKey(name), itemId));
+
+        ImportRun run = new ImportRun(names);
+        try {
+            if(format == ImportFormat.CSV){
+                readCsv(body, run);
+            } else {
+                readJson(body, run);
+            }
+        } catch (IOException exception) {
+            // EVERYTHING UP TO THE BAD SPOT IS KEPT; THE REPORT SAYS WHERE READING STOPPED
+            run.abortedReason = "the file could not be read after row " + run.rows + ": " + exception.getMessage();
+        } finally {
+            flush(run);
+            itemCatalog.invalidate();
+        }
+
+        return ItemImportReportDTO.builder()
+                .rows(run.rows)
+                .inserted(run.inserted)
+                .updated(run.updated)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .abortedReason(run.abortedReason).build();
+    }
+
+    private void readCsv(InputStream body, ImportRun run) throws IOException, BadRequestException {
+        CsvRecordReader records = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), READ_BUFFER_SIZE));
+
+        List<String> header = records.next();
+        if(header == null){
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(columnKey(header.get(i)), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if(!missing.isEmpty()){
+            throw new BadRequestException("the CSV header is missing the columns " + String.join(", ", missing) + ".");
+        }
+
+        List<String> record;
+        while ((record = records.next()) != null) {
+            ItemDTO item;
+            try {
+                item = ItemDTO.builder()
+                        .name(text(record, columns, "name"))
+                        .description(text(record, columns, "description"))
+                        .manufacturer(text(record, columns, "manufacturer"))
+                        .price(number(record, columns, "price"))
+                        .volumeType(text(record, columns, "volumetype"))
+                        .weight(number(record, columns, "weight"))
+                        .color(text(record, columns, "color")).build();
+            } catch (NumberFormatException exception) {
+                run.fail(++run.rows, text(record, columns, "name"), "price and weight must be numbers");
+                continue;
+            }
+            accept(run, item);
+        }
+    }
+
+    private void readJson(InputStream body, ImportRun run) throws IOException {
+        // A ROOT ARRAY IS UNWRAPPED, SO THIS READS BOTH [{...}, {...}] AND ONE OBJECT PER LINE
+        try (MappingIterator<ItemDTO> items = objectMapper.readerFor(ItemDTO.class).readValues(body)) {
+            while (true) {
+                ItemDTO item;
+                try {
+                    if(!items.hasNextValue()){
+                        break;
+                    }
+                    item = items.nextValue();
+                } catch (JsonParseException exception) {
+                    // MALFORMED JSON: THERE IS NO SAFE PLACE TO RESUME
+                    throw exception;
+                } catch (JsonMappingException exception) {
+                    // A WELL-FORMED OBJECT WITH A BAD VALUE; THE ITERATOR SKIPS TO THE NEXT ONE
+                    run.fail(++run.rows, null, "invalid item: " + exception.getOriginalMessage());
+                    continue;
+                }
+                accept(run, item);
+            }
+        }
+    }
+
+    private void accept(ImportRun run, ItemDTO item) {
+        long row = ++run.rows;
+        String problem = validate(item);
+        if(problem != null){
+            run.fail(row, item.getName(), problem);
+            return;
+        }
+
+        item.setName(item.getName().trim());
+        String key = nameKey(item.getName());
+
+        // A NAME REPEATED WITHIN ONE CHUNK: WRITE THE CHUNK FIRST, SO THE LATER ROW UPDATES WHAT THE EARLIER ONE INSERTED
+        if(run.pending.containsKey(key)){
+            flush(run);
+        }
+
+        item.setItemId(run.names.get(key));
+        run.pending.put(key, new PendingRow(row, item));
+        if(run.pending.size() >= batchSize){
+            flush(run);
+        }
+    }
+
+    private String validate(ItemDTO item) {
+        Set<ConstraintViolation<ItemDTO>> violations = validator.validate(item);
+        if(!violations.isEmpty()){
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if(item.getName().isBlank()){
+            return "name must not be blank";
+        }
+        if(item.getPrice() < 0 || (item.getWeight() != null && item.getWeight() < 0)){
+            return "price and weight must not be negative";
+        }
+        if(tooLong(item.getName()) || tooLong(item.getDescription()) || tooLong(item.getManufacturer())
+                || tooLong(item.getVolumeType()) || tooLong(item.getColor())){
+            return "text fields must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private void flush(ImportRun run) {
+        if(run.pending.isEmpty()){
+            return;
+        }
+
+        List<PendingRow> rows = new ArrayList<>(run.pending.values());
+        run.pending.clear();
+        try {
+            write(run, rows);
+        } catch (DataAccessException exception) {
+            // ONE BAD ROW ROLLS BACK THE WHOLE CHUNK; REPLAY IT ROW BY ROW SO ONLY THE BAD ROWS ARE REPORTED
+            for (PendingRow row : rows) {
+                try {
+                    write(run, List.of(row));
+                } catch (DataAccessException rowException) {
+                    run.fail(row.row(), row.item().getName(), "the row was rejected by the database");
+                }
+            }
+        }
+    }
+
+    private void write(ImportRun run, List<PendingRow> rows) {
+        List<ItemDTO> inserts = new ArrayList<>();
+        List<ItemDTO> updates = new ArrayList<>();
+        for (PendingRow row : rows) {
+            (row.item().getItemId() == null ? inserts : updates).add(row.item());
+        }
+
+        // AN UPDATE MAY KEEP STORED OPTIONAL COLUMNS, SO THE INDEX IS FED THE ROWS AS WRITTEN RATHER THAN THE FILE'S
+        List<ItemDTO> updated = new ArrayList<>(updates.size());
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> generated = itemImportRepository.insertAll(inserts);
+            itemImportRepository.updateAll(updates);
+            updated.addAll(itemImportRepository.findAll(updates.stream().map(ItemDTO::getItemId).toList()));
+            return generated;
+        });
+
+        // COMMITTED: LATER ROWS WITH THE SAME NAME NOW UPDATE THESE ITEMS, AND SEARCH SEES THEM AT ONCE
+        for (int i = 0; i < inserts.size(); i++) {
+            ItemDTO item = inserts.get(i);
+            item.setItemId(ids.get(i));
+            run.names.put(nameKey(item.getName()), item.getItemId());
+        }
+        inserts.forEach(itemSearchIndex::index);
+        updated.forEach(itemSearchIndex::index);
+
+        run.inserted += inserts.size();
+        run.updated += updates.size();
+        insertedRows.increment(inserts.size());
+        updatedRows.increment(updates.size());
+    }
+
+    // MIRRORS THE CASE-INSENSITIVE COLLATION findByName RUNS UNDER
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String columnKey(String header) {
+        return header.replace("\uFEFF", "").replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String text(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if(index == null || index >= record.size() || record.get(index).isBlank()){
+            return null;
+        }
+        return record.get(index).trim();
+    }
+
+    private static Double number(List<String> record, Map<String, Integer> columns, String column) {
+        String value = text(record, columns, column);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    private record PendingRow(long row, ItemDTO item) {
+    }
+
+    private class ImportRun {
+
+        private final Map<String, Long> names;
+        private final Map<String, PendingRow> pending = new LinkedHashMap<>();
+        private final List<ItemImportErrorDTO> errors = new ArrayList<>();
+        private long rows;
+        private long inserted;
+        private long updated;
+        private long failed;
+        private String abortedReason;
+
+        private ImportRun(Map<String, Long> names) {
+            this.names = names;
+        }
+
+        private void fail(long row, String name, String message) {
+            failed++;
+            failedRows.increment();
+            if(errors.size() < maxErrors){
+                errors.add(ItemImportErrorDTO.builder()
+                        .row(row)
+                        .name(name)
+                        .message(message).build());
+            }
+        }
+    }
+}
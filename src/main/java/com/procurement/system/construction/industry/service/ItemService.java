@@ -2,6 +2,10 @@ package com.procurement.system.construction.industry.service;
 
 import com.procurement.system.construction.industry.common.ResponseMessage;
 import com.procurement.system.construction.industry.dto.ItemDTO;
+import com.procurement.system.construction.industry.dto.ItemFilterDTO;
+import com.procurement.system.construction.industry.dto.ItemPageDTO;
+import com.procurement.system.construction.industry.enums.ItemSort;
+import com.procurement.system.construction.industry.exception.BadRequestException;
 import com.procurement.system.construction.industry.exception.ConflictException;
 import com.procurement.system.construction.industry.exception.NotFoundException;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +19,12 @@ public interface ItemService {
 
     ItemDTO getItem(Long itemId) throws NotFoundException;
 
+    ItemPageDTO getItemPage(ItemFilterDTO filter, ItemSort sort, String cursor, int size) throws BadRequestException;
+
+    List<ItemDTO> searchItems(String query, int size) throws BadRequestException;
+
+    List<ItemDTO> autocompleteItems(String prefix, int size) throws BadRequestException;
+
     ResponseEntity<ResponseMessage> updateItem(ItemDTO itemDTO) throws NotFoundException;
 
     ResponseEntity<ResponseMessage> deleteItem(Long itemId) throws NotFoundException, ConflictException;
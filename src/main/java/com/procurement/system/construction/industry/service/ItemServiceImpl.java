@@ -1,10 +1,18 @@
 package com.procurement.system.construction.industry.service;
 
 import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.ItemCursor;
 import com.procurement.system.construction.industry.common.ResponseMessage;
+import com.procurement.system.construction.industry.config.catalog.ItemCatalog;
+import com.procurement.system.construction.industry.config.catalog.ItemSearchIndex;
 import com.procurement.system.construction.industry.dto.ItemDTO;
+import com.procurement.system.construction.industry.dto.ItemFilterDTO;
+import com.procurement.system.construction.industry.dto.ItemPageDTO;
+import com.procurement.system.construction.industry.dto.ItemSummaryDTO;
 import com.procurement.system.construction.industry.entity.Item;
 import com.procurement.system.construction.industry.entity.OrderItem;
+import com.procurement.system.construction.industry.enums.ItemSort;
+import com.procurement.system.construction.industry.exception.BadRequestException;
 import com.procurement.system.construction.industry.exception.ConflictException;
 import com.procurement.system.construction.industry.exception.NotFoundException;
 import com.procurement.system.construction.industry.repository.ItemRepository;
@@ -13,21 +21,28 @@ import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService{
 
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ItemRepository itemRepository;
     private final OrderItemRepository orderItemRepository;
     private final CommonFunctions commonFunctions;
     private final ModelMapper modelMapper;
+    private final ItemCatalog itemCatalog;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
+    @Transactional
     public ResponseEntity<ResponseMessage> addItem(ItemDTO itemDTO) throws ConflictException {
         Optional<Item> optionalItem = itemRepository.findByName(itemDTO.getName());
         if(optionalItem.isPresent()){
@@ -38,37 +53,88 @@ public class ItemServiceImpl implements ItemService{
         Item item = new Item();
         modelMapper.map(itemDTO, item);
 
-        itemRepository.save(item);
+        Item savedItem = itemRepository.save(item);
+        // BOTH REGISTER AFTER-COMMIT CALLBACKS ON THIS TRANSACTION; A ROLLED-BACK SAVE LEAVES THEM UNTOUCHED
+        itemCatalog.invalidate();
+        itemSearchIndex.index(ItemCatalog.toItemDTO(savedItem));
         return commonFunctions.successResponse("The item has been listed successfully");
     }
 
     @Override
     public List<ItemDTO> getAllItems() throws NotFoundException {
-        List<Item> itemList = itemRepository.findAll();
-        if(itemList.isEmpty()){
+        // SERVED FROM THE CATALOG SNAPSHOT, THE LIST AND ITS DTOs ARE SHARED AND READ-ONLY
+        List<ItemDTO> itemDTOS = itemCatalog.all();
+        if(itemDTOS.isEmpty()){
             throw new NotFoundException("Couldn't find any items in system");
         }
 
-        List<ItemDTO> itemDTOS = itemList.stream()
-                .map(item -> modelMapper.map(item, ItemDTO.class))
-                .collect(Collectors.toList());
-
         return itemDTOS;
     }
 
     @Override
     public ItemDTO getItem(Long itemId) throws NotFoundException {
-        Optional<Item> optionalItem = itemRepository.findById(itemId);
+        Optional<ItemDTO> optionalItem = itemCatalog.get(itemId);
         if(optionalItem.isEmpty()){
             throw new NotFoundException("Couldn't find any item with the provided ID");
         }
 
-        ItemDTO itemDTO = new ItemDTO();
-        modelMapper.map(optionalItem.get(), itemDTO);
-        return itemDTO;
+        return optionalItem.get();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemPageDTO getItemPage(ItemFilterDTO filter, ItemSort sort, String cursor, int size) throws BadRequestException {
+        if(size < 1 || size > MAX_PAGE_SIZE){
+            throw new BadRequestException("page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if(filter.getMinPrice() != null && filter.getMaxPrice() != null && filter.getMinPrice() > filter.getMaxPrice()){
+            throw new BadRequestException("minPrice must not be greater than maxPrice.");
+        }
+
+        ItemCursor after = cursor == null || cursor.isBlank() ? null : ItemCursor.decode(cursor);
+        if(after != null && after.sort() != sort){
+            throw new BadRequestException("the page cursor belongs to a different sort order.");
+        }
+
+        // ONE EXTRA ROW TELLS US WHETHER ANOTHER PAGE EXISTS WITHOUT A COUNT QUERY
+        List<ItemSummaryDTO> items = itemRepository.findItemPage(filter, sort, after, size + 1);
+
+        String nextCursor = null;
+        if(items.size() > size){
+            items = new ArrayList<>(items.subList(0, size));
+            ItemSummaryDTO last = items.get(size - 1);
+            String key = sort.byPrice() ? String.valueOf(last.getPrice()) : last.getName();
+            nextCursor = new ItemCursor(sort, key, last.getItemId()).encode();
+        }
+
+        return ItemPageDTO.builder()
+                .items(items)
+                .nextCursor(nextCursor).build();
+    }
+
+    @Override
+    public List<ItemDTO> searchItems(String query, int size) throws BadRequestException {
+        validateSearch(query, size);
+        return itemSearchIndex.search(query, size);
+    }
+
+    @Override
+    public List<ItemDTO> autocompleteItems(String prefix, int size) throws BadRequestException {
+        validateSearch(prefix, size);
+        return itemSearchIndex.autocomplete(prefix, size);
+    }
+
+    private void validateSearch(String query, int size) throws BadRequestException {
+        if(query == null || query.isBlank()){
+            throw new BadRequestException("search text is required.");
+        }
+        if(size < 1 || size > MAX_SEARCH_RESULTS){
+            throw new BadRequestException("result size must be between 1 and " + MAX_SEARCH_RESULTS + ".");
+        }
     }
 
     @Override
+    @Transactional
     public ResponseEntity<ResponseMessage> updateItem(ItemDTO itemDTO) throws NotFoundException {
         Optional<Item> optionalItem = itemRepository.findById(itemDTO.getItemId());
         if(optionalItem.isEmpty()){
@@ -77,12 +143,16 @@ public class ItemServiceImpl implements ItemService{
 
         Item item = optionalItem.get();
         modelMapper.map(itemDTO, item);
-        itemRepository.save(item);
+        Item savedItem = itemRepository.save(item);
+        // APPLIED ONLY ONCE THE UPDATE COMMITS
+        itemCatalog.invalidate();
+        itemSearchIndex.index(ItemCatalog.toItemDTO(savedItem));
 
         return commonFunctions.successResponse("The item has been updated successfully");
     }
 
     @Override
+    @Transactional
     public ResponseEntity<ResponseMessage> deleteItem(Long itemId) throws NotFoundException, ConflictException {
         Optional<Item> optionalItem = itemRepository.findById(itemId);
         if(optionalItem.isEmpty()){
@@ -95,6 +165,9 @@ public class ItemServiceImpl implements ItemService{
         }
 
         itemRepository.deleteById(itemId);
+        // APPLIED ONLY ONCE THE DELETE COMMITS
+        itemCatalog.invalidate();
+        itemSearchIndex.remove(itemId);
         return commonFunctions.successResponse("The item has been deleted successfully");
     }
 }
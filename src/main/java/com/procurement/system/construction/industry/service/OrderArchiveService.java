@@ -0,0 +1,13 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.dto.OrderPageDTO;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+
+public interface OrderArchiveService {
+
+    // ALL USERS ACCESS
+    OrderPageDTO getOrderHistory(String cursor, int size) throws NotFoundException, BadRequestException;
+
+    int archiveClosedOrders();
+}
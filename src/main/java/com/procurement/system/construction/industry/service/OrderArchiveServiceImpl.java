@@ -0,0 +1,133 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.OrderCursor;
+import com.procurement.system.construction.industry.common.OrderKey;
+import com.procurement.system.construction.industry.common.OrdersArchivedEvent;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.dto.OrderDetailsDTO;
+import com.procurement.system.construction.industry.dto.OrderPageDTO;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.enums.UserRole;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.repository.OrderArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// CLOSED ORDERS PAST THE CUT-OFF MOVE TO THE ARCHIVE TABLES IN CHUNKS, EACH IN ITS OWN SHORT TRANSACTION, SO THE JOB
+// NEVER HOLDS MORE THAN ONE CHUNK OF ROW LOCKS AND CAN STOP AT ANY POINT WITHOUT LEAVING HALF-MOVED ORDERS.
+@Service
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    // ORDER STATUSES NOTHING CAN TRANSITION OUT OF
+    private static final Set<Status> CLOSED = EnumSet.of(Status.Completed, Status.Cancelled);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final CommonFunctions commonFunctions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private final int minAgeDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    public OrderArchiveServiceImpl(OrderArchiveRepository orderArchiveRepository,
+                                   CommonFunctions commonFunctions,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${application.archive.min-age-days}") int minAgeDays,
+                                   @Value("${application.archive.chunk-size}") int chunkSize,
+                                   @Value("${application.archive.max-chunks-per-run}") int maxChunksPerRun) {
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.commonFunctions = commonFunctions;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAgeDays = minAgeDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.archived = Counter.builder("order.archive.orders")
+                .description("Closed orders moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrderHistory(String cursor, int size) throws NotFoundException, BadRequestException {
+        AuthPrincipal user = commonFunctions.getPrincipal();
+        if(size < 1 || size > MAX_PAGE_SIZE){
+            throw new BadRequestException("page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if(user.getRole() != UserRole.SUPPLIER && user.getSiteId() == null){
+            throw new NotFoundException("you are not currently assigned to any site.");
+        }
+
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        // SUPPLIERS SEE THEIR OWN ARCHIVED ORDERS ACROSS SITES, EVERYONE ELSE THEIR SITE'S
+        List<OrderDetailsDTO> orders = user.getRole() == UserRole.SUPPLIER
+                ? orderArchiveRepository.findSupplierOrderPage(user.getUserId(), after, size + 1)
+                : orderArchiveRepository.findSiteOrderPage(user.getSiteId(), after, size + 1);
+
+        String nextCursor = null;
+        if(orders.size() > size){
+            orders = new ArrayList<>(orders.subList(0, size));
+            OrderDetailsDTO last = orders.get(size - 1);
+            nextCursor = new OrderCursor(last.getRequiredDate(), last.getOrderId()).encode();
+        }
+
+        return OrderPageDTO.builder()
+                .orders(orders)
+                .nextCursor(nextCursor).build();
+    }
+
+    @Override
+    @Scheduled(cron = "${application.archive.cron}")
+    public int archiveClosedOrders() {
+        LocalDate today = LocalDate.now();
+        LocalDate cutoff = today.minusDays(minAgeDays);
+
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<OrderKey> orders = orderArchiveRepository.lockArchivable(CLOSED, cutoff, chunkSize);
+                if(orders.isEmpty()){
+                    return 0;
+                }
+
+                List<Long> orderIds = orders.stream().map(OrderKey::orderId).toList();
+                orderArchiveRepository.lockItems(orderIds);
+                int count = orderArchiveRepository.moveOrders(orderIds, today);
+                eventPublisher.publishEvent(new OrdersArchivedEvent(orders));
+                return count;
+            });
+            if(moved == null || moved == 0){
+                break;
+            }
+
+            total += moved;
+            archived.increment(moved);
+            if(moved < chunkSize){
+                break;
+            }
+        }
+
+        return total;
+    }
+}
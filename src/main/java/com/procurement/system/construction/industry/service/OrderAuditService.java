@@ -0,0 +1,12 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.dto.OrderAuditDTO;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+
+import java.util.List;
+
+public interface OrderAuditService {
+
+    // ALL USERS ACCESS
+    List<OrderAuditDTO> getOrderTimeline(Long orderId) throws NotFoundException;
+}
@@ -0,0 +1,54 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.OrderKey;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.dto.OrderAuditDTO;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.repository.OrderArchiveRepository;
+import com.procurement.system.construction.industry.repository.OrderAuditRepository;
+import com.procurement.system.construction.industry.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class OrderAuditServiceImpl implements OrderAuditService {
+
+    private final OrderAuditRepository orderAuditRepository;
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final CommonFunctions commonFunctions;
+
+    @Override
+    public List<OrderAuditDTO> getOrderTimeline(Long orderId) throws NotFoundException {
+        AuthPrincipal user = commonFunctions.getPrincipal();
+        // THE TRAIL OUTLIVES THE HOT ROW, SO AN ARCHIVED ORDER IS CHECKED AGAINST ITS COLD COPY
+        OrderKey order = orderRepository.findOrderKeys(List.of(orderId)).stream().findFirst()
+                .or(() -> orderArchiveRepository.findOrderKey(orderId))
+                .orElseThrow(() -> new NotFoundException("Order not found with the provided ID"));
+
+        // SUPPLIERS SEE THEIR OWN ORDERS, SITE STAFF THEIR SITE'S, ADMINS EVERY ORDER
+        boolean visible = switch (user.getRole()) {
+            case ADMIN -> true;
+            case SUPPLIER -> Objects.equals(user.getUserId(), order.supplierId());
+            default -> Objects.equals(user.getSiteId(), order.siteId());
+        };
+        if(!visible){
+            throw new NotFoundException("Order not found with the provided ID");
+        }
+
+        return orderAuditRepository.findTimeline(orderId).stream()
+                .map(entry -> OrderAuditDTO.builder()
+                        .action(entry.getAction())
+                        .orderItemId(entry.getOrderItemId())
+                        .fromValue(entry.getFromValue())
+                        .toValue(entry.getToValue())
+                        .actorId(entry.getActorId())
+                        .occurredAt(entry.getOccurredAt()).build())
+                .toList();
+    }
+}
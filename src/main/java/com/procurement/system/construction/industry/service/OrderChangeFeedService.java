@@ -0,0 +1,11 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.exception.ServiceUnavailableException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OrderChangeFeedService {
+
+    // SITE MANAGER / PROCUREMENT MANAGER / SUPPLIER ACCESS
+    SseEmitter subscribe(String lastEventId) throws NotFoundException, ServiceUnavailableException;
+}
@@ -0,0 +1,292 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.OrderItemStatusChangedEvent;
+import com.procurement.system.construction.industry.common.OrderStatusChangedEvent;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.dto.OrderChangeDTO;
+import com.procurement.system.construction.industry.enums.UserRole;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// COMMITTED ORDER CHANGES ARE NUMBERED, KEPT IN A SHORT REPLAY RING AND OFFERED TO EVERY MATCHING SUBSCRIBER'S
+// BOUNDED QUEUE. THE COMMITTING THREAD NEVER WAITS ON A CLIENT: A FULL QUEUE DROPS THAT SUBSCRIBER, WHO RECONNECTS
+// WITH Last-Event-ID AND RESUMES FROM THE RING. WRITES TO THE SOCKETS HAPPEN ON A SMALL SENDER POOL.
+@Service
+public class OrderChangeFeedServiceImpl implements OrderChangeFeedService {
+
+    private static final String CHANGE_EVENT = "order-change";
+
+    // TELLS THE CLIENT ITS Last-Event-ID HAS LEFT THE RING AND IT MUST RELOAD THE ORDER LIST
+    private static final String RESET_EVENT = "reset";
+
+    private static final FeedEntry HEARTBEAT = new FeedEntry(0, null, null, null);
+    private static final FeedEntry RESET = new FeedEntry(0, null, null, null);
+
+    private final CommonFunctions commonFunctions;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeout;
+    private final ExecutorService senders;
+    private final Counter dropped;
+
+    private final Object publishLock = new Object();
+    private final FeedEntry[] ring;
+    private long sequence;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public OrderChangeFeedServiceImpl(CommonFunctions commonFunctions,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${application.order-feed.buffer-size}") int bufferSize,
+                                      @Value("${application.order-feed.replay-size}") int replaySize,
+                                      @Value("${application.order-feed.max-subscribers}") int maxSubscribers,
+                                      @Value("${application.order-feed.sender-threads}") int senderThreads,
+                                      @Value("${application.order-feed.timeout}") long timeout) {
+        this.commonFunctions = commonFunctions;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.ring = new FeedEntry[replaySize];
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("order.feed.subscribers", subscribers, Set::size)
+                .description("Open order change feed connections")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("order.feed.dropped")
+                .description("Subscribers disconnected because they fell a full buffer behind")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) throws NotFoundException, ServiceUnavailableException {
+        AuthPrincipal user = commonFunctions.getPrincipal();
+        if(user.getRole() != UserRole.ADMIN && user.getRole() != UserRole.SUPPLIER && user.getSiteId() == null){
+            throw new NotFoundException("you are not currently assigned to any site");
+        }
+        if(subscribers.size() >= maxSubscribers){
+            throw new ServiceUnavailableException("too many open order feeds, please try again shortly");
+        }
+
+        Subscriber subscriber = new Subscriber(newEmitter(), user);
+        subscriber.emitter.onCompletion(() -> close(subscriber));
+        subscriber.emitter.onTimeout(() -> close(subscriber));
+        subscriber.emitter.onError(error -> close(subscriber));
+
+        // REPLAY AND REGISTRATION HAPPEN UNDER THE PUBLISH LOCK, SO NOTHING IS MISSED OR SENT TWICE IN BETWEEN
+        synchronized (publishLock) {
+            Long after = parseEventId(lastEventId);
+            if(after != null){
+                replay(subscriber, after);
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        // A NEWLY CREATED ORDER IS NOT A STATUS CHANGE
+        if(event.from() == null){
+            return;
+        }
+        publish(event.siteId(), event.supplierId(), OrderChangeDTO.builder()
+                .orderId(event.orderId())
+                .oldStatus(event.from())
+                .newStatus(event.to())
+                .version(event.version()).build());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderItemStatusChanged(OrderItemStatusChangedEvent event) {
+        publish(event.siteId(), event.supplierId(), OrderChangeDTO.builder()
+                .orderId(event.orderId())
+                .orderItemId(event.orderItemId())
+                .oldStatus(event.from())
+                .newStatus(event.to())
+                .version(event.version()).build());
+    }
+
+    // KEEPS IDLE CONNECTIONS OPEN THROUGH PROXIES AND FINDS CLIENTS THAT LEFT WITHOUT CLOSING
+    @Scheduled(fixedDelayString = "${application.order-feed.heartbeat-interval}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    // PACKAGE-PRIVATE SO TESTS CAN SEE WHAT REACHES THE SOCKET
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout);
+    }
+
+    private void publish(Long siteId, Long supplierId, OrderChangeDTO change) {
+        synchronized (publishLock) {
+            FeedEntry entry = new FeedEntry(++sequence, siteId, supplierId, change);
+            ring[(int) (entry.sequence % ring.length)] = entry;
+            for (Subscriber subscriber : subscribers) {
+                if(subscriber.accepts(entry)){
+                    offer(subscriber, entry);
+                }
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber, long after) {
+        long oldest = Math.max(1, sequence - ring.length + 1);
+        if(after < oldest - 1 || after > sequence){
+            subscriber.queue.offer(RESET);
+            return;
+        }
+
+        List<FeedEntry> missed = new ArrayList<>();
+        for (long next = after + 1; next <= sequence; next++) {
+            FeedEntry entry = ring[(int) (next % ring.length)];
+            if(subscriber.accepts(entry)){
+                missed.add(entry);
+            }
+        }
+        if(missed.size() > bufferSize){
+            subscriber.queue.offer(RESET);
+            return;
+        }
+        subscriber.queue.addAll(missed);
+    }
+
+    private void offer(Subscriber subscriber, FeedEntry entry) {
+        if(subscriber.closed.get()){
+            return;
+        }
+        if(!subscriber.queue.offer(entry)){
+            dropped.increment();
+            close(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if(subscriber.draining.compareAndSet(false, true)){
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException exception) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            FeedEntry entry;
+            while (!subscriber.closed.get() && (entry = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(toSseEvent(entry));
+            }
+        } catch (IOException | IllegalStateException exception) {
+            // THE CLIENT WENT AWAY; THE EMITTER'S OWN CALLBACKS FINISH THE CLEAN-UP
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // AN ENTRY OFFERED WHILE WE WERE LEAVING WOULD OTHERWISE WAIT FOR THE NEXT ONE
+        if(!subscriber.queue.isEmpty()){
+            schedule(subscriber);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(FeedEntry entry) {
+        if(entry == HEARTBEAT){
+            return SseEmitter.event().comment("heartbeat");
+        }
+        if(entry == RESET){
+            return SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON);
+        }
+        return SseEmitter.event()
+                .id(String.valueOf(entry.sequence))
+                .name(CHANGE_EVENT)
+                .data(entry.change, MediaType.APPLICATION_JSON);
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed.set(true);
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+    }
+
+    // IDS FROM ANOTHER PROCESS LIFETIME OR GARBAGE ARE TREATED AS "TOO OLD", WHICH RESETS THE CLIENT
+    private static Long parseEventId(String lastEventId) {
+        if(lastEventId == null || lastEventId.isBlank()){
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException exception) {
+            return -1L;
+        }
+    }
+
+    private record FeedEntry(long sequence, Long siteId, Long supplierId, OrderChangeDTO change) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final UserRole role;
+        private final Long siteId;
+        private final Long userId;
+        private final BlockingQueue<FeedEntry> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, AuthPrincipal user) {
+            this.emitter = emitter;
+            this.role = user.getRole();
+            this.siteId = user.getSiteId();
+            this.userId = user.getUserId();
+        }
+
+        // SUPPLIERS SEE THEIR OWN ORDERS ON ANY SITE, SITE STAFF SEE THEIR SITE, ADMINS SEE EVERYTHING
+        private boolean accepts(FeedEntry entry) {
+            return switch (role) {
+                case ADMIN -> true;
+                case SUPPLIER -> Objects.equals(userId, entry.supplierId);
+                default -> Objects.equals(siteId, entry.siteId);
+            };
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.enums.ExportFormat;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface OrderExportService {
+
+    // PROCUREMENT MANAGER ACCESS
+    StreamingResponseBody exportOrders(ExportFormat format) throws NotFoundException;
+}
@@ -0,0 +1,91 @@
+package com.procurement.system.construction.industry.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.dto.OrderExportRowDTO;
+import com.procurement.system.construction.industry.enums.ExportFormat;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "orderId,orderStatus,requiredDate,supplierId,orderItemId,itemId,quantity,itemStatus,unitPrice,lineTotal";
+
+    private final OrderRepository orderRepository;
+    private final CommonFunctions commonFunctions;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public StreamingResponseBody exportOrders(ExportFormat format) throws NotFoundException {
+        // RESOLVE THE SITE ON THE REQUEST THREAD; THE BODY IS WRITTEN LATER ON AN ASYNC THREAD WITHOUT THE USER CONTEXT
+        Long siteId = commonFunctions.getPrincipal().getSiteId();
+        if(siteId == null){
+            throw new NotFoundException("you are not currently assigned to any site.");
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<OrderExportRowDTO> rows = orderRepository.streamSiteOrderRows(siteId)) {
+                    writeRows(rows.iterator(), format, writer);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+            writer.flush();
+        };
+    }
+
+    private void writeRows(Iterator<OrderExportRowDTO> rows, ExportFormat format, Writer writer) throws IOException {
+        if(format == ExportFormat.CSV){
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        while (rows.hasNext()) {
+            OrderExportRowDTO row = rows.next();
+            if(format == ExportFormat.CSV){
+                writer.write(toCsvLine(row));
+            }else{
+                writer.write(objectMapper.writeValueAsString(row));
+            }
+            writer.write('\n');
+        }
+    }
+
+    // EVERY COLUMN IS A NUMBER, DATE OR ENUM NAME, SO NO QUOTING IS NEEDED
+    private String toCsvLine(OrderExportRowDTO row) {
+        return String.join(",",
+                csvValue(row.getOrderId()),
+                csvValue(row.getOrderStatus()),
+                csvValue(row.getRequiredDate()),
+                csvValue(row.getSupplierId()),
+                csvValue(row.getOrderItemId()),
+                csvValue(row.getItemId()),
+                csvValue(row.getQuantity()),
+                csvValue(row.getItemStatus()),
+                csvValue(row.getUnitPrice()),
+                csvValue(row.getLineTotal()));
+    }
+
+    private String csvValue(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -1,11 +1,16 @@
 package com.procurement.system.construction.industry.service;
 
 import com.procurement.system.construction.industry.common.ResponseMessage;
+import com.procurement.system.construction.industry.dto.BulkStatusUpdateDTO;
 import com.procurement.system.construction.industry.dto.GetUserDTO;
 import com.procurement.system.construction.industry.dto.OrderDetailsDTO;
+import com.procurement.system.construction.industry.dto.OrderFilterDTO;
 import com.procurement.system.construction.industry.dto.OrderItemDTO;
+import com.procurement.system.construction.industry.dto.OrderPageDTO;
 import com.procurement.system.construction.industry.dto.SiteDTO;
 import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.exception.ConflictException;
+import com.procurement.system.construction.industry.exception.ForbiddenException;
 import com.procurement.system.construction.industry.exception.NotFoundException;
 import org.springframework.http.ResponseEntity;
 
@@ -16,34 +21,40 @@ public interface OrderService {
     // ALL USER ACCESS
     List<OrderDetailsDTO> getAllOrderDetails() throws NotFoundException;
 
+    OrderPageDTO getOrderPage(OrderFilterDTO filter, String cursor, int size) throws NotFoundException, BadRequestException;
+
+    OrderPageDTO getSupplierInbox(String cursor, int size) throws NotFoundException, BadRequestException;
+
     // SITE MANAGER ACCESS
-    ResponseEntity<ResponseMessage> addOrder(OrderDetailsDTO orderDTO) throws NotFoundException;
+    ResponseEntity<ResponseMessage> addOrder(OrderDetailsDTO orderDTO) throws NotFoundException, BadRequestException;
 
-    ResponseEntity<ResponseMessage> addOrderItem(OrderItemDTO orderItemDTO) throws NotFoundException;
+    ResponseEntity<ResponseMessage> addOrderItem(OrderItemDTO orderItemDTO) throws NotFoundException, ConflictException;
 
     ResponseEntity<ResponseMessage> removeOrderItem(Long orderItemId) throws NotFoundException, BadRequestException;
 
-    ResponseEntity<ResponseMessage> setAsComplete(Long orderId) throws NotFoundException;
+    ResponseEntity<ResponseMessage> setAsComplete(Long orderId) throws NotFoundException, ForbiddenException, ConflictException;
 
-    ResponseEntity<ResponseMessage> setAsCompleteItem(Long orderItemId) throws NotFoundException;
+    ResponseEntity<ResponseMessage> setAsCompleteItem(Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException;
 
-    ResponseEntity<ResponseMessage> setAsReturnItem(Long orderItemId) throws NotFoundException;
+    ResponseEntity<ResponseMessage> setAsReturnItem(Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException;
 
     // PROCUREMENT MANAGER ACCESS
     List<GetUserDTO> getSuppliers() throws NotFoundException;
 
     ResponseEntity<ResponseMessage> assignSupplier(Long orderId, Long supplierId) throws NotFoundException, BadRequestException;
 
-    ResponseEntity<ResponseMessage> setAsApproved(Long orderId) throws NotFoundException;
+    ResponseEntity<ResponseMessage> setAsApproved(Long orderId) throws NotFoundException, ForbiddenException, ConflictException;
+
+    ResponseEntity<ResponseMessage> setAsCanceled(Long orderId) throws NotFoundException, ForbiddenException, ConflictException;
 
-    ResponseEntity<ResponseMessage> setAsCanceled(Long orderId) throws NotFoundException;
+    ResponseEntity<ResponseMessage> bulkUpdateStatus(BulkStatusUpdateDTO request) throws NotFoundException, ForbiddenException, BadRequestException, ConflictException;
 
     // SUPPLIER ACCESS
-    ResponseEntity<ResponseMessage> setAsDelivered(Long orderId) throws NotFoundException;
+    ResponseEntity<ResponseMessage> setAsDelivered(Long orderId) throws NotFoundException, ForbiddenException, ConflictException;
 
-    ResponseEntity<ResponseMessage> setAsDeliveredItem(Long orderItemId) throws NotFoundException;
+    ResponseEntity<ResponseMessage> setAsDeliveredItem(Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException;
 
-    ResponseEntity<ResponseMessage> setAsCancelledItem(Long orderItemId) throws NotFoundException;
+    ResponseEntity<ResponseMessage> setAsCancelledItem(Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException;
 
     SiteDTO getSiteInfo(Long siteId) throws NotFoundException;
 }
@@ -1,27 +1,30 @@
 package com.procurement.system.construction.industry.service;
 
 import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.OrderCursor;
+import com.procurement.system.construction.industry.common.OrderLineChangedEvent;
+import com.procurement.system.construction.industry.common.OrderStatusChangedEvent;
+import com.procurement.system.construction.industry.common.OrderSupplierChangedEvent;
 import com.procurement.system.construction.industry.common.ResponseMessage;
-import com.procurement.system.construction.industry.dto.GetUserDTO;
-import com.procurement.system.construction.industry.dto.OrderDetailsDTO;
-import com.procurement.system.construction.industry.dto.OrderItemDTO;
-import com.procurement.system.construction.industry.dto.SiteDTO;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.dto.*;
 import com.procurement.system.construction.industry.entity.*;
 import com.procurement.system.construction.industry.enums.Status;
 import com.procurement.system.construction.industry.enums.UserRole;
 import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.exception.ConflictException;
+import com.procurement.system.construction.industry.exception.ForbiddenException;
 import com.procurement.system.construction.industry.exception.NotFoundException;
 import com.procurement.system.construction.industry.repository.*;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,112 +39,168 @@ public class OrderServiceImpl implements OrderService{
     private final CommonFunctions commonFunctions;
     private final ModelMapper modelMapper;
     private final EntityManager entityManager;
+    private final OrderTransitionService orderTransitionService;
+    private final SiteBudgetService siteBudgetService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ORDER STATUSES WHOSE LINE ITEMS EACH ROLE MAY SEE
+    private static final Map<UserRole, Set<Status>> VISIBLE_ITEM_STATUSES = new EnumMap<>(Map.of(
+            UserRole.PROCUREMENT_MANAGER, EnumSet.of(Status.Pending, Status.Approved, Status.Cancelled),
+            UserRole.SUPPLIER, EnumSet.of(Status.Approved, Status.Returned),
+            UserRole.SITE_MANAGER, EnumSet.allOf(Status.class),
+            UserRole.ADMIN, EnumSet.allOf(Status.class)
+    ));
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<OrderDetailsDTO> getAllOrderDetails() throws NotFoundException {
-        User user = commonFunctions.getUser();
-        if (user.getSite() == null) {
+        AuthPrincipal user = commonFunctions.getPrincipal();
+        if (user.getSiteId() == null) {
             throw new NotFoundException("you are not currently assigned to any site.");
         }
 
-        Long siteId = user.getSite().getSiteId();
-        List<OrderDetails> orders = orderRepository.findBySiteSiteId(siteId);
+        Long siteId = user.getSiteId();
+        List<OrderDetailsDTO> orders = orderRepository.findSiteOrderDetails(siteId, VISIBLE_ITEM_STATUSES.get(user.getRole()));
         if (orders.isEmpty()) {
             throw new NotFoundException("haven't found any orders for this site yet.");
         }
 
-        return orders.stream()
-                .map(order -> mapOrderToDTO(order, user.getRole()))
-                .collect(Collectors.toList());
+        return orders;
     }
 
-    private OrderDetailsDTO mapOrderToDTO(OrderDetails order, UserRole userRole) {
-        OrderDetailsDTO detailsDTO = OrderDetailsDTO.builder()
-                .orderId(order.getOrderId())
-                .status(order.getStatus())
-                .requiredDate(order.getRequiredDate())
-                .siteId(order.getSite().getSiteId()).build();
-
-        if(order.getSupplier() != null){
-            detailsDTO.setSupplierId(order.getSupplier().getUserId());
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrderPage(OrderFilterDTO filter, String cursor, int size) throws NotFoundException, BadRequestException {
+        AuthPrincipal user = commonFunctions.getPrincipal();
+        if (user.getSiteId() == null) {
+            throw new NotFoundException("you are not currently assigned to any site.");
         }
 
-        if (userRole == UserRole.PROCUREMENT_MANAGER) {
-            if (isOrderStatusValidForProcurementManager(order.getStatus())) {
-                detailsDTO.setItems(GetOrderItemsData(order));
-            }
-        } else if (userRole == UserRole.SUPPLIER) {
-            if (isOrderStatusValidForSupplier(order.getStatus())) {
-                detailsDTO.setItems(GetOrderItemsData(order));
-            }
-        } else {
-            detailsDTO.setItems(GetOrderItemsData(order));
+        if(size < 1 || size > MAX_PAGE_SIZE){
+            throw new BadRequestException("page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if(filter.getFromDate() != null && filter.getToDate() != null && filter.getFromDate().isAfter(filter.getToDate())){
+            throw new BadRequestException("fromDate must not be after toDate.");
         }
 
-        return detailsDTO;
-    }
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        // ONE EXTRA ROW TELLS US WHETHER ANOTHER PAGE EXISTS WITHOUT A COUNT QUERY
+        List<OrderDetailsDTO> orders = orderRepository.findSiteOrderPage(
+                user.getSiteId(), filter, after, size + 1, VISIBLE_ITEM_STATUSES.get(user.getRole()));
 
-    private boolean isOrderStatusValidForProcurementManager(Status status) {
-        return status == Status.Pending || status == Status.Approved || status == Status.Cancelled;
+        return toPage(orders, size);
     }
 
-    private boolean isOrderStatusValidForSupplier(Status status) {
-        return status == Status.Approved || status == Status.Returned;
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDTO getSupplierInbox(String cursor, int size) throws NotFoundException, BadRequestException {
+        Long supplierId = commonFunctions.getUserId();
+        if(size < 1 || size > MAX_PAGE_SIZE){
+            throw new BadRequestException("page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        // THE SUPPLIER'S OWN ORDERS ON EVERY SITE IT SERVES, IN THE STATUSES A SUPPLIER ACTS ON
+        List<OrderDetailsDTO> orders = orderRepository.findSupplierOrderPage(
+                supplierId, VISIBLE_ITEM_STATUSES.get(UserRole.SUPPLIER), after, size + 1);
+
+        return toPage(orders, size);
     }
 
-    private List<OrderItemDTO> GetOrderItemsData(OrderDetails order) {
-        return order.getItems().stream()
-                .map(item -> OrderItemDTO.builder()
-                            .orderItemId(item.getOrderItemId())
-                            .quantity(item.getQuantity())
-                            .status(item.getStatus())
-                            .itemId(item.getItem().getItemId())
-                            .orderId(order.getOrderId()).build()
-                )
-                .collect(Collectors.toList());
+    private OrderPageDTO toPage(List<OrderDetailsDTO> orders, int size) {
+        String nextCursor = null;
+        if(orders.size() > size){
+            orders = new ArrayList<>(orders.subList(0, size));
+            OrderDetailsDTO last = orders.get(size - 1);
+            nextCursor = new OrderCursor(last.getRequiredDate(), last.getOrderId()).encode();
+        }
+
+        return OrderPageDTO.builder()
+                .orders(orders)
+                .nextCursor(nextCursor).build();
     }
 
     @Override
     @Transactional
-    public ResponseEntity<ResponseMessage> addOrder(OrderDetailsDTO orderDTO) throws NotFoundException {
+    public ResponseEntity<ResponseMessage> addOrder(OrderDetailsDTO orderDTO) throws NotFoundException, BadRequestException {
+        List<OrderItemDTO> orderItemDTOS = orderDTO.getItems();
+        if(orderItemDTOS == null || orderItemDTOS.isEmpty()){
+            throw new BadRequestException("An order must contain at least one item");
+        }
+        if(orderItemDTOS.stream().anyMatch(orderItemDTO -> orderItemDTO.getItemId() == null)){
+            throw new BadRequestException("every order item must have an item id");
+        }
+
+        // RESOLVE EVERY ITEM IN ONE QUERY AND REJECT THE ORDER IF ANY ID IS UNKNOWN
+        Set<Long> itemIds = orderItemDTOS.stream()
+                .map(OrderItemDTO::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getItemId, item -> item));
+        if(items.size() != itemIds.size()){
+            List<Long> unknown = itemIds.stream().filter(id -> !items.containsKey(id)).sorted().toList();
+            throw new BadRequestException("items not found with the provided IDs: " + unknown);
+        }
+
+        // PRICE EVERY LINE FROM THE CATALOG NOW; THE ORDER KEEPS THESE PRICES WHATEVER THE CATALOG DOES LATER
+        List<OrderItem> orderItems = new ArrayList<>(orderItemDTOS.size());
+        double totalAmount = 0;
+        for (OrderItemDTO orderItemDTO : orderItemDTOS) {
+            OrderItem orderItem = modelMapper.map(orderItemDTO, OrderItem.class);
+            orderItem.setOrderItemId(null);
+            orderItem.setStatus(Status.Pending);
+            capturePrice(orderItem, items.get(orderItemDTO.getItemId()));
+            orderItems.add(orderItem);
+            totalAmount += orderItem.getLineTotal();
+        }
+
         OrderDetails order = modelMapper.map(orderDTO, OrderDetails.class);
         order.setOrderId(null);
         order.setStatus(Status.Pending);
         order.setSupplier(null);
         order.setItems(null);
+        order.setTotalAmount(totalAmount);
 
-        Site site = commonFunctions.getUser().getSite();
-        if(site == null){
+        Long siteId = commonFunctions.getPrincipal().getSiteId();
+        if(siteId == null){
             throw new NotFoundException("you are not currently assigned to any site.");
         }
-        order.setSite(site);
+        order.setSite(siteRepository.getReferenceById(siteId));
         OrderDetails executedOrder = orderRepository.save(order);
 
-        // SET ORDER ITEMS
-        List<OrderItemDTO> orderItemDTOS = orderDTO.getItems();
-        for (OrderItemDTO orderItemDTO : orderItemDTOS) {
-            OrderItem orderItem = modelMapper.map(orderItemDTO, OrderItem.class);
-            orderItem.setOrderItemId(null);
-            orderItem.setStatus(Status.Pending);
-
-            Optional<Item> itemOptional = itemRepository.findById(orderItemDTO.getItemId());
-            if (itemOptional.isPresent()) {
-                orderItem.setItem(itemOptional.get());
-                orderItem.setOrder(executedOrder);
-                orderItemRepository.save(orderItem);
-            }
-        }
+        // SET ORDER ITEMS; THE INSERTS ARE FLUSHED TOGETHER AT COMMIT IN JDBC BATCHES
+        orderItems.forEach(orderItem -> orderItem.setOrder(executedOrder));
+        orderItemRepository.saveAll(orderItems);
 
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(executedOrder.getOrderId(), siteId, null,
+                executedOrder.getRequiredDate(), null, Status.Pending, executedOrder.getVersion()));
         return commonFunctions.successResponse("order has been added successfully");
     }
 
     @Override
     @Transactional
-    public ResponseEntity<ResponseMessage> addOrderItem(OrderItemDTO orderItemDTO) throws NotFoundException {
-        OrderDetails order = orderRepository.findById(orderItemDTO.getOrderId())
+    public ResponseEntity<ResponseMessage> addOrderItem(OrderItemDTO orderItemDTO) throws NotFoundException, ConflictException {
+        Long siteId = commonFunctions.getPrincipal().getSiteId();
+        if (siteId == null) {
+            throw new NotFoundException("you are not currently assigned to any site.");
+        }
+
+        // LOCKED, SO AN APPROVAL CANNOT COMMIT BETWEEN THE STATUS CHECK AND THE NEW LINE; ONE THAT IS WAITING MOVES IT TOO
+        OrderDetails order = orderRepository.findForUpdate(orderItemDTO.getOrderId())
                 .orElseThrow(() -> new NotFoundException("Order not found with the provided ID"));
 
+        // ANOTHER SITE'S ORDER IS REPORTED AS MISSING, THE SAME AS ON THE STATUS CHANGES
+        if(!Objects.equals(siteId, order.getSite().getSiteId())){
+            throw new NotFoundException("Order not found with the provided ID");
+        }
+        if(order.getStatus() != Status.Pending){
+            throw new ConflictException("items can only be added to a pending order");
+        }
+
         Item item = itemRepository.findById(orderItemDTO.getItemId())
                 .orElseThrow(() -> new NotFoundException("Item not found with the provided ID"));
 
@@ -150,10 +209,14 @@ public class OrderServiceImpl implements OrderService{
         OrderItem orderItem = modelMapper.map(orderItemDTO, OrderItem.class);
         orderItem.setOrderItemId(null);
         orderItem.setStatus(Status.Pending);
-        orderItem.setItem(item);
+        capturePrice(orderItem, item);
         orderItem.setOrder(order);
 
-        orderItemRepository.save(orderItem);
+        OrderItem executedOrderItem = orderItemRepository.save(orderItem);
+        orderRepository.addToTotalAmount(order.getOrderId(), executedOrderItem.getLineTotal());
+
+        eventPublisher.publishEvent(new OrderLineChangedEvent(order.getOrderId(), executedOrderItem.getOrderItemId(),
+                order.getSite().getSiteId(), item.getItemId(), executedOrderItem.getQuantity(), false));
         return commonFunctions.successResponse("Order Item has been added successfully");
     }
 
@@ -170,63 +233,49 @@ public class OrderServiceImpl implements OrderService{
             throw new BadRequestException("An order must contain at least one item");
         }
 
+        OrderLineChangedEvent removed = new OrderLineChangedEvent(order.getOrderId(), orderItemId,
+                order.getSite().getSiteId(), orderItem.getItem().getItemId(), orderItem.getQuantity(), true);
+
+        double lineTotal = orderItem.getLineTotal() == null ? 0 : orderItem.getLineTotal();
+        Status lineStatus = orderItem.getStatus();
+
         orderItem.setOrder(null);
         orderItem.setItem(null);
         orderItemRepository.save(orderItem);
         orderItemRepository.deleteById(orderItemId);
+        orderRepository.addToTotalAmount(order.getOrderId(), -lineTotal);
+        siteBudgetService.releaseLine(order.getSite().getSiteId(), lineStatus, lineTotal);
+
+        eventPublisher.publishEvent(removed);
         return commonFunctions.successResponse("Order Item has been removed successfully");
     }
 
     @Override
-    @Transactional
-    public ResponseEntity<ResponseMessage> setAsComplete(Long orderId) throws NotFoundException {
-        OrderDetails order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException("Order not found with the provided ID"));
-
-        // CREATE A COPY OF THE ORDER ITEMS LIST TO ITERATE OVER
-        List<OrderItem> orderItemsCopy = new ArrayList<>(order.getItems());
-
-        // SET THE STATUS OF EACH ORDER ITEM
-        for (OrderItem item : orderItemsCopy) {
-            item.setStatus(Status.Completed);
-            orderItemRepository.save(item);
-        }
-
-        // UPDATE THE ORDER STATUS
-        order.setStatus(Status.Completed);
-        orderRepository.save(order);
-
-        return  commonFunctions.successResponse("Order Status has been updated successfully");
+    public ResponseEntity<ResponseMessage> setAsComplete(Long orderId) throws NotFoundException, ForbiddenException, ConflictException {
+        orderTransitionService.transitionOrder(orderId, Status.Completed);
+        return commonFunctions.successResponse("Order Status has been updated successfully");
     }
 
     @Override
-    public ResponseEntity<ResponseMessage> setAsCompleteItem(Long orderItemId) throws NotFoundException {
-        OrderItem orderItem = orderItemRepository.findById(orderItemId)
-                .orElseThrow(() -> new NotFoundException("Order Item not found with the provided ID"));
-
-        orderItem.setStatus(Status.Completed);
-        orderItemRepository.save(orderItem);
-        return  commonFunctions.successResponse("Order Item Status has been updated successfully");
+    public ResponseEntity<ResponseMessage> setAsCompleteItem(Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException {
+        orderTransitionService.transitionItem(orderItemId, Status.Completed);
+        return commonFunctions.successResponse("Order Item Status has been updated successfully");
     }
 
     @Override
-    public ResponseEntity<ResponseMessage> setAsReturnItem(Long orderItemId) throws NotFoundException {
-        OrderItem orderItem = orderItemRepository.findById(orderItemId)
-                .orElseThrow(() -> new NotFoundException("Order Item not found with the provided ID"));
-
-        orderItem.setStatus(Status.Returned);
-        orderItemRepository.save(orderItem);
+    public ResponseEntity<ResponseMessage> setAsReturnItem(Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException {
+        orderTransitionService.transitionItem(orderItemId, Status.Returned);
         return commonFunctions.successResponse("Order Item Status has been updated successfully");
     }
 
     @Override
     public List<GetUserDTO> getSuppliers() throws NotFoundException {
-        User user = commonFunctions.getUser();
-        if (user.getSite() == null) {
+        AuthPrincipal user = commonFunctions.getPrincipal();
+        if (user.getSiteId() == null) {
             throw new NotFoundException("you are not currently assigned to any site");
         }
 
-        Long siteId = user.getSite().getSiteId();
+        Long siteId = user.getSiteId();
         List<User> users = userRepository.findByRoleAndSiteSiteIdAndIsActive(UserRole.SUPPLIER, siteId, true);
         if (users.isEmpty()) {
             throw new NotFoundException("no suppliers have been assigned to this site yet");
@@ -242,8 +291,8 @@ public class OrderServiceImpl implements OrderService{
     @Override
     @Transactional
     public ResponseEntity<ResponseMessage> assignSupplier(Long orderId, Long supplierId) throws NotFoundException, BadRequestException {
-        User user = commonFunctions.getUser();
-        if (user.getSite() == null) {
+        AuthPrincipal user = commonFunctions.getPrincipal();
+        if (user.getSiteId() == null) {
             throw new NotFoundException("you are not currently assigned to any site");
         }
         
@@ -253,16 +302,17 @@ public class OrderServiceImpl implements OrderService{
         User supplier = userRepository.findById(supplierId)
                 .orElseThrow(() -> new NotFoundException("supplier looking for does not exist"));
 
-        if(!order.getSite().getSiteId().equals(user.getSite().getSiteId())){
+        if(!order.getSite().getSiteId().equals(user.getSiteId())){
             throw new BadRequestException("invalid order id");
         }
         if(!supplier.getRole().name().equals("SUPPLIER")){
             throw new BadRequestException("invalid supplier role");
         }
-        if(!order.getSite().getSiteId().equals(user.getSite().getSiteId())){
+        if(!order.getSite().getSiteId().equals(user.getSiteId())){
             throw new BadRequestException("invalid supplier assignment for this order");
         }
 
+        Long previousSupplierId = order.getSupplier() == null ? null : order.getSupplier().getUserId();
         order.setSupplier(supplier);
 
         List<OrderDetails> supplierOrders = supplier.getOrders();
@@ -270,93 +320,45 @@ public class OrderServiceImpl implements OrderService{
 
         orderRepository.save(order);
         userRepository.save(supplier);
+
+        eventPublisher.publishEvent(new OrderSupplierChangedEvent(orderId, user.getSiteId(), previousSupplierId, supplierId));
         return commonFunctions.successResponse("supplier has been assigned successfully");
     }
 
     @Override
-    @Transactional
-    public ResponseEntity<ResponseMessage> setAsApproved(Long orderId) throws NotFoundException {
-        OrderDetails order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException("Order not found with the provided ID"));
-
-        // CREATE A COPY OF THE ORDER ITEMS LIST TO ITERATE OVER
-        List<OrderItem> orderItemsCopy = new ArrayList<>(order.getItems());
-
-        // SET THE STATUS OF EACH ORDER ITEM
-        for (OrderItem item : orderItemsCopy) {
-            item.setStatus(Status.Approved);
-            orderItemRepository.save(item);
-        }
-
-        // UPDATE THE ORDER STATUS
-        order.setStatus(Status.Approved);
-        orderRepository.save(order);
-
-        return  commonFunctions.successResponse("Order Status has been updated successfully");
+    public ResponseEntity<ResponseMessage> setAsApproved(Long orderId) throws NotFoundException, ForbiddenException, ConflictException {
+        orderTransitionService.transitionOrder(orderId, Status.Approved);
+        return commonFunctions.successResponse("Order Status has been updated successfully");
     }
 
     @Override
-    @Transactional
-    public ResponseEntity<ResponseMessage> setAsCanceled(Long orderId) throws NotFoundException {
-        OrderDetails order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException("Order not found with the provided ID"));
-
-        // CREATE A COPY OF THE ORDER ITEMS LIST TO ITERATE OVER
-        List<OrderItem> orderItemsCopy = new ArrayList<>(order.getItems());
-
-        // SET THE STATUS OF EACH ORDER ITEM
-        for (OrderItem item : orderItemsCopy) {
-            item.setStatus(Status.Cancelled);
-            orderItemRepository.save(item);
-        }
-
-        // UPDATE THE ORDER STATUS
-        order.setStatus(Status.Cancelled);
-        orderRepository.save(order);
-
-        return  commonFunctions.successResponse("Order Status has been updated successfully");
+    public ResponseEntity<ResponseMessage> setAsCanceled(Long orderId) throws NotFoundException, ForbiddenException, ConflictException {
+        orderTransitionService.transitionOrder(orderId, Status.Cancelled);
+        return commonFunctions.successResponse("Order Status has been updated successfully");
     }
 
     @Override
-    @Transactional
-    public ResponseEntity<ResponseMessage> setAsDelivered(Long orderId) throws NotFoundException {
-        OrderDetails order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException("Order not found with the provided ID"));
-
-        // CREATE A COPY OF THE ORDER ITEMS LIST TO ITERATE OVER
-        List<OrderItem> orderItemsCopy = new ArrayList<>(order.getItems());
-
-        // SET THE STATUS OF EACH ORDER ITEM
-        for (OrderItem item : orderItemsCopy) {
-            item.setStatus(Status.Delivered);
-            orderItemRepository.save(item);
-        }
-
-        // UPDATE THE ORDER STATUS
-        order.setStatus(Status.Delivered);
-        orderRepository.save(order);
-
-        return  commonFunctions.successResponse("Order Status has been updated successfully");
+    public ResponseEntity<ResponseMessage> setAsDelivered(Long orderId) throws NotFoundException, ForbiddenException, ConflictException {
+        orderTransitionService.transitionOrder(orderId, Status.Delivered);
+        return commonFunctions.successResponse("Order Status has been updated successfully");
     }
 
     @Override
-    public ResponseEntity<ResponseMessage> setAsDeliveredItem(Long orderItemId) throws NotFoundException {
-        OrderItem orderItem = orderItemRepository.findById(orderItemId)
-                .orElseThrow(() -> new NotFoundException("Order Item not found with the provided ID"));
-
-        orderItem.setStatus(Status.Delivered);
-        orderItemRepository.save(orderItem);
-        return  commonFunctions.successResponse("Order Item Status has been updated successfully");
+    public ResponseEntity<ResponseMessage> setAsDeliveredItem(Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException {
+        orderTransitionService.transitionItem(orderItemId, Status.Delivered);
+        return commonFunctions.successResponse("Order Item Status has been updated successfully");
     }
 
     @Override
-    public ResponseEntity<ResponseMessage> setAsCancelledItem(Long orderItemId) throws NotFoundException {
-        OrderItem orderItem = orderItemRepository.findById(orderItemId)
-                .orElseThrow(() -> new NotFoundException("Order Item not found with the provided ID"));
+    public ResponseEntity<ResponseMessage> setAsCancelledItem(Long orderItemId) throws NotFoundException, ForbiddenException, ConflictException {
+        orderTransitionService.transitionItem(orderItemId, Status.Cancelled);
+        return commonFunctions.successResponse("Order Item Status has been updated successfully");
+    }
 
-        orderItem.setStatus(Status.Cancelled);
-        orderItemRepository.save(orderItem);
-        return  commonFunctions.successResponse("Order Item Status has been updated successfully");
+    @Override
+    public ResponseEntity<ResponseMessage> bulkUpdateStatus(BulkStatusUpdateDTO request) throws NotFoundException, ForbiddenException, BadRequestException, ConflictException {
+        int updated = orderTransitionService.transitionOrders(request.getOrderIds(), request.getStatus());
+        return commonFunctions.successResponse(updated + " orders have been updated successfully");
     }
 
     @Override
@@ -371,4 +373,10 @@ public class OrderServiceImpl implements OrderService{
 
         return siteDTO;
     }
+
+    private void capturePrice(OrderItem orderItem, Item item) {
+        orderItem.setItem(item);
+        orderItem.setUnitPrice(item.getPrice());
+        orderItem.setLineTotal(orderItem.getQuantity() * item.getPrice());
+    }
 }
@@ -0,0 +1,15 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.dto.OrderSummaryDTO;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+
+public interface OrderSummaryService {
+
+    // SITE MANAGER / PROCUREMENT MANAGER ACCESS
+    OrderSummaryDTO getOrderSummary() throws NotFoundException;
+
+    // SUPER ADMIN ACCESS
+    OrderSummaryDTO getOrderSummary(Long siteId) throws NotFoundException;
+
+    void removeSite(Long siteId);
+}
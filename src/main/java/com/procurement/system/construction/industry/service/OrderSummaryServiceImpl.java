@@ -0,0 +1,155 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.OrderCount;
+import com.procurement.system.construction.industry.common.OrderStatusChangedEvent;
+import com.procurement.system.construction.industry.common.OrderSupplierChangedEvent;
+import com.procurement.system.construction.industry.common.OrdersArchivedEvent;
+import com.procurement.system.construction.industry.dto.OrderSummaryDTO;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.repository.OrderRepository;
+import com.procurement.system.construction.industry.repository.SiteRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// SUMMARIES ARE SERVED FROM IN-MEMORY COUNTERS: SEEDED BY ONE GROUPED QUERY BEFORE THE SERVER TAKES TRAFFIC,
+// THEN MOVED BY THE ORDER EVENTS OF EVERY COMMITTED TRANSACTION. LongAdder KEEPS CONTENDED SITES CHEAP TO UPDATE.
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryServiceImpl implements OrderSummaryService {
+
+    // AN ORDER IN ONE OF THESE STATUSES IS OVERDUE ONCE ITS REQUIRED DATE HAS PASSED
+    private static final Set<Status> OPEN = EnumSet.of(Status.Pending, Status.Approved, Status.Delivered);
+
+    private final OrderRepository orderRepository;
+    private final SiteRepository siteRepository;
+    private final CommonFunctions commonFunctions;
+
+    private final Map<Long, SiteCounters> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void seed() {
+        for (OrderCount count : orderRepository.countOrders()) {
+            if(count.siteId() != null){
+                siteCounters(count.siteId()).add(count.status(), count.supplierId(), count.requiredDate(), count.count());
+            }
+        }
+    }
+
+    @Override
+    public OrderSummaryDTO getOrderSummary() throws NotFoundException {
+        Long siteId = commonFunctions.getPrincipal().getSiteId();
+        if(siteId == null){
+            throw new NotFoundException("you are not currently assigned to any site");
+        }
+        return summarise(siteId);
+    }
+
+    @Override
+    public OrderSummaryDTO getOrderSummary(Long siteId) throws NotFoundException {
+        if(!counters.containsKey(siteId) && !siteRepository.existsById(siteId)){
+            throw new NotFoundException("couldn't find any site with the provided ID");
+        }
+        return summarise(siteId);
+    }
+
+    @Override
+    public void removeSite(Long siteId) {
+        counters.remove(siteId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        SiteCounters site = siteCounters(event.siteId());
+        if(event.from() != null){
+            site.add(event.from(), null, event.requiredDate(), -1);
+            site.add(event.to(), null, event.requiredDate(), 1);
+        } else {
+            site.add(event.to(), event.supplierId(), event.requiredDate(), 1);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSupplierChanged(OrderSupplierChangedEvent event) {
+        SiteCounters site = siteCounters(event.siteId());
+        site.addSupplier(event.fromSupplierId(), -1);
+        site.addSupplier(event.toSupplierId(), 1);
+    }
+
+    // SUMMARIES COUNT HOT ORDERS ONLY, THE SAME ROWS THE STARTUP SEED READS
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrdersArchived(OrdersArchivedEvent event) {
+        event.orders().stream()
+                .filter(order -> order.siteId() != null)
+                .forEach(order -> siteCounters(order.siteId()).add(order.status(), order.supplierId(), order.requiredDate(), -1));
+    }
+
+    private SiteCounters siteCounters(Long siteId) {
+        return counters.computeIfAbsent(siteId, id -> new SiteCounters());
+    }
+
+    private OrderSummaryDTO summarise(Long siteId) {
+        SiteCounters site = counters.getOrDefault(siteId, new SiteCounters());
+
+        Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+        site.byStatus.forEach((status, count) -> statusCounts.put(status, count.sum()));
+
+        Map<Long, Long> supplierCounts = new TreeMap<>();
+        site.bySupplier.forEach((supplierId, count) -> {
+            long sum = count.sum();
+            if(sum > 0){
+                supplierCounts.put(supplierId, sum);
+            }
+        });
+
+        long overdueCount = 0;
+        for (LongAdder count : site.openByRequiredDate.headMap(LocalDate.now()).values()) {
+            overdueCount += count.sum();
+        }
+
+        return OrderSummaryDTO.builder()
+                .siteId(siteId)
+                .statusCounts(statusCounts)
+                .overdueCount(overdueCount)
+                .supplierCounts(supplierCounts).build();
+    }
+
+    // THE STATUS MAP IS FULLY POPULATED UP FRONT AND NEVER RESIZED, SO CONCURRENT READS NEED NO LOCK
+    private static final class SiteCounters {
+
+        private final Map<Status, LongAdder> byStatus = new EnumMap<>(Status.class);
+        private final Map<Long, LongAdder> bySupplier = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<LocalDate, LongAdder> openByRequiredDate = new ConcurrentSkipListMap<>();
+
+        private SiteCounters() {
+            for (Status status : Status.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+
+        private void add(Status status, Long supplierId, LocalDate requiredDate, long delta) {
+            byStatus.get(status).add(delta);
+            addSupplier(supplierId, delta);
+            if(OPEN.contains(status) && requiredDate != null){
+                openByRequiredDate.computeIfAbsent(requiredDate, date -> new LongAdder()).add(delta);
+            }
+        }
+
+        private void addSupplier(Long supplierId, long delta) {
+            if(supplierId != null){
+                bySupplier.computeIfAbsent(supplierId, id -> new LongAdder()).add(delta);
+            }
+        }
+    }
+}
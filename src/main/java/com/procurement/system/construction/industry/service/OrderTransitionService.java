@@ -0,0 +1,22 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.exception.ConflictException;
+import com.procurement.system.construction.industry.exception.ForbiddenException;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+
+import java.util.List;
+
+public interface OrderTransitionService {
+
+    // MOVES THE ORDER AND ITS FOLLOWING ITEMS TO target AND RETURNS THE STATUS IT LEFT
+    Status transitionOrder(Long orderId, Status target) throws NotFoundException, ForbiddenException, ConflictException;
+
+    // MOVES ONE ORDER ITEM TO target AND RETURNS THE STATUS IT LEFT
+    Status transitionItem(Long orderItemId, Status target) throws NotFoundException, ForbiddenException, ConflictException;
+
+    // ALL OR NOTHING: EVERY ORDER MUST BE ABLE TO REACH target AND BELONG TO THE CALLER'S SITE (SUPPLIERS: BE ASSIGNED TO
+    // THEM; ADMINS: ANY SITE)
+    int transitionOrders(List<Long> orderIds, Status target) throws NotFoundException, ForbiddenException, BadRequestException, ConflictException;
+}
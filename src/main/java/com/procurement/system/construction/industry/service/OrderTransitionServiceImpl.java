@@ -0,0 +1,278 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.LedgerAmount;
+import com.procurement.system.construction.industry.common.OrderItemStatusChangedEvent;
+import com.procurement.system.construction.industry.common.OrderKey;
+import com.procurement.system.construction.industry.common.OrderStateMachine;
+import com.procurement.system.construction.industry.common.OrderStatusChangedEvent;
+import com.procurement.system.construction.industry.common.StatusSnapshot;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.enums.UserRole;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.exception.ConflictException;
+import com.procurement.system.construction.industry.exception.ForbiddenException;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.repository.OrderItemRepository;
+import com.procurement.system.construction.industry.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+// NO ROW LOCKS ARE TAKEN UP FRONT: EACH ATTEMPT READS (status, version), CHECKS THE STATE MACHINE AND WRITES WITH A
+// COMPARE-AND-SET UPDATE IN ITS OWN SHORT TRANSACTION. A LOST RACE RE-READS AND EITHER RETRIES OR IS REJECTED WITH 409.
+@Service
+@RequiredArgsConstructor
+public class OrderTransitionServiceImpl implements OrderTransitionService {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int MAX_BULK_ORDERS = 10_000;
+    private static final int BULK_CHUNK_SIZE = 1_000;
+
+    private enum Outcome { APPLIED, LOST_RACE, OVER_BUDGET }
+
+    private record BulkOutcome(Outcome outcome, int moved) {
+    }
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final CommonFunctions commonFunctions;
+    private final PlatformTransactionManager transactionManager;
+    private final SiteBudgetService siteBudgetService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Status transitionOrder(Long orderId, Status target) throws NotFoundException, ForbiddenException, ConflictException {
+        AuthPrincipal actor = commonFunctions.getPrincipal();
+        OrderStateMachine.checkOrderRole(actor.getRole(), target);
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            StatusSnapshot order = orderRepository.findStatusSnapshot(orderId)
+                    .orElseThrow(() -> new NotFoundException("Order not found with the provided ID"));
+            checkAccess(actor, order, "Order not found with the provided ID");
+            OrderStateMachine.checkOrderTransition(order.status(), target);
+
+            Outcome outcome = attempt(status -> {
+                if(orderRepository.compareAndSetStatus(orderId, order.version(), target) == 0){
+                    return Outcome.LOST_RACE;
+                }
+
+                // THE LEDGER IS PRICED FROM THE ITEMS' CURRENT STATUSES, SO IT MUST SEE THEM BEFORE THEY MOVE
+                Set<Status> itemSources = OrderStateMachine.itemSourcesOf(target);
+                List<LedgerAmount> moving = orderItemRepository.sumLineAmounts(List.of(orderId), itemSources);
+                if(!siteBudgetService.recordItemMoves(order.siteId(), moving, target)){
+                    status.setRollbackOnly();
+                    return Outcome.OVER_BUDGET;
+                }
+
+                orderItemRepository.updateStatusByOrderIds(List.of(orderId), itemSources, target);
+                orderRepository.findOrderKeys(List.of(orderId))
+                        .forEach(key -> publishStatusChange(key, order.status(), target));
+                return Outcome.APPLIED;
+            });
+            if(outcome == Outcome.APPLIED){
+                return order.status();
+            }
+            if(outcome == Outcome.OVER_BUDGET){
+                throw new ConflictException("approving this order would exceed the site's allocated budget");
+            }
+        }
+
+        throw new ConflictException("the order is being changed by someone else, please try again");
+    }
+
+    @Override
+    public Status transitionItem(Long orderItemId, Status target) throws NotFoundException, ForbiddenException, ConflictException {
+        AuthPrincipal actor = commonFunctions.getPrincipal();
+        OrderStateMachine.checkItemRole(actor.getRole(), target);
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            StatusSnapshot item = orderItemRepository.findStatusSnapshot(orderItemId)
+                    .orElseThrow(() -> new NotFoundException("Order Item not found with the provided ID"));
+            checkAccess(actor, item, "Order Item not found with the provided ID");
+            OrderStateMachine.checkItemTransition(item.status(), target);
+
+            Outcome outcome = attempt(status -> {
+                Double amount = orderItemRepository.findLineAmount(orderItemId).map(LedgerAmount::amount).orElse(null);
+                LedgerAmount moving = new LedgerAmount(item.siteId(), item.status(), amount);
+                if(!siteBudgetService.recordItemMoves(item.siteId(), List.of(moving), target)){
+                    status.setRollbackOnly();
+                    return Outcome.OVER_BUDGET;
+                }
+
+                // THE LEDGER WAS PRICED FROM THE SNAPSHOT STATUS; IF THE ITEM MOVED SINCE, UNDO IT ALONG WITH THE RACE
+                if(orderItemRepository.compareAndSetStatus(orderItemId, item.version(), target) == 0){
+                    status.setRollbackOnly();
+                    return Outcome.LOST_RACE;
+                }
+
+                orderItemRepository.findOrderKey(orderItemId).ifPresent(key -> eventPublisher.publishEvent(
+                        new OrderItemStatusChangedEvent(orderItemId, key.orderId(), key.siteId(), key.supplierId(),
+                                item.status(), target, item.version() + 1)));
+                return Outcome.APPLIED;
+            });
+            if(outcome == Outcome.APPLIED){
+                return item.status();
+            }
+            if(outcome == Outcome.OVER_BUDGET){
+                throw new ConflictException("approving this item would exceed the site's allocated budget");
+            }
+        }
+
+        throw new ConflictException("the order item is being changed by someone else, please try again");
+    }
+
+    @Override
+    public int transitionOrders(List<Long> orderIds, Status target) throws NotFoundException, ForbiddenException, BadRequestException, ConflictException {
+        AuthPrincipal actor = commonFunctions.getPrincipal();
+        // AN ADMIN HAS NO SITE OF THEIR OWN; THEIR BATCH MAY SPAN SITES AND EACH ORDER IS BOOKED TO ITS OWN SITE'S LEDGER
+        boolean bySupplier = actor.getRole() == UserRole.SUPPLIER;
+        boolean byAdmin = actor.getRole() == UserRole.ADMIN;
+        if (!bySupplier && !byAdmin && actor.getSiteId() == null) {
+            throw new NotFoundException("you are not currently assigned to any site");
+        }
+        OrderStateMachine.checkOrderRole(actor.getRole(), target);
+
+        List<Long> uniqueIds = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        if(uniqueIds.size() > MAX_BULK_ORDERS){
+            throw new BadRequestException("a bulk update can contain at most " + MAX_BULK_ORDERS + " orders");
+        }
+
+        // EVERY ID MUST BE WITHIN THE CALLER'S REACH, AS IN checkAccess, BEFORE ANYTHING IS WRITTEN
+        Set<Long> found = new HashSet<>();
+        for (List<Long> chunk : chunks(uniqueIds)) {
+            found.addAll(findAccessibleIds(actor, chunk));
+        }
+        if(found.size() != uniqueIds.size()){
+            List<Long> missing = uniqueIds.stream().filter(id -> !found.contains(id)).toList();
+            String reason = bySupplier ? "orders not assigned to you: " : byAdmin ? "orders not found: " : "orders not found on this site: ";
+            throw new BadRequestException(reason + missing);
+        }
+
+        // THE STATUS CONDITION IS THE COMPARE-AND-SET HERE; IF ANY ORDER CANNOT MOVE, THE WHOLE BATCH ROLLS BACK
+        Set<Status> orderSources = OrderStateMachine.orderSourcesOf(target);
+        Set<Status> itemSources = OrderStateMachine.itemSourcesOf(target);
+        BulkOutcome result = newTransaction().execute(status -> {
+            int count = 0;
+            Map<Long, Status> fromStatus = new HashMap<>();
+            for (List<Long> chunk : chunks(uniqueIds)) {
+                List<OrderKey> keys = orderRepository.findOrderKeys(chunk);
+
+                // EACH ORDER IS MOVED ONLY FROM THE STATUS JUST READ, SO THE EVENTS NAME THE RIGHT SOURCE STATUS;
+                // ANY ORDER CHANGED IN BETWEEN SHOWS UP AS A SHORT COUNT AND ROLLS THE BATCH BACK
+                Map<Status, List<Long>> idsByStatus = keys.stream()
+                        .filter(key -> orderSources.contains(key.status()))
+                        .collect(Collectors.groupingBy(OrderKey::status, () -> new EnumMap<>(Status.class),
+                                Collectors.mapping(OrderKey::orderId, Collectors.toList())));
+                for (Map.Entry<Status, List<Long>> source : idsByStatus.entrySet()) {
+                    count += orderRepository.updateStatusFrom(source.getValue(), EnumSet.of(source.getKey()), target);
+                }
+                keys.forEach(key -> fromStatus.put(key.orderId(), key.status()));
+            }
+            if(count != uniqueIds.size()){
+                status.setRollbackOnly();
+                return new BulkOutcome(Outcome.LOST_RACE, count);
+            }
+
+            // EVERY ORDER MOVED, SO ONLY NOW ARE THEIR LINES PRICED INTO THE LEDGER AND MOVED WITH THEM
+            for (List<Long> chunk : chunks(uniqueIds)) {
+                List<LedgerAmount> moving = orderItemRepository.sumLineAmounts(chunk, itemSources);
+                if(!recordItemMoves(moving, target)){
+                    status.setRollbackOnly();
+                    return new BulkOutcome(Outcome.OVER_BUDGET, 0);
+                }
+                orderItemRepository.updateStatusByOrderIds(chunk, itemSources, target);
+            }
+
+            // RE-READ UNDER OUR ROW LOCKS FOR THE VERSIONS THE UPDATES PRODUCED
+            for (List<Long> chunk : chunks(uniqueIds)) {
+                orderRepository.findOrderKeys(chunk)
+                        .forEach(key -> publishStatusChange(key, fromStatus.get(key.orderId()), target));
+            }
+            return new BulkOutcome(Outcome.APPLIED, count);
+        });
+
+        if(result != null && result.outcome() == Outcome.OVER_BUDGET){
+            throw new ConflictException("approving these orders would exceed the site's allocated budget, nothing was changed");
+        }
+        if(result == null || result.outcome() != Outcome.APPLIED){
+            int stuck = uniqueIds.size() - (result == null ? 0 : result.moved());
+            throw new ConflictException(stuck + " of the orders cannot be marked as " + target + " from their current status, nothing was changed");
+        }
+
+        return result.moved();
+    }
+
+    // LISTENERS RUN AFTER COMMIT, SO A ROLLED BACK ATTEMPT NEVER REACHES THEM
+    private void publishStatusChange(OrderKey key, Status from, Status to) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(key.orderId(), key.siteId(), key.supplierId(), key.requiredDate(),
+                from, to, key.version()));
+    }
+
+    private Outcome attempt(TransactionCallback<Outcome> write) {
+        try {
+            Outcome outcome = newTransaction().execute(write);
+            return outcome == null ? Outcome.LOST_RACE : outcome;
+        } catch (ConcurrencyFailureException exception) {
+            // A LOCK TIMEOUT OR DEADLOCK AGAINST A CONCURRENT WRITER IS JUST ANOTHER LOST RACE
+            return Outcome.LOST_RACE;
+        }
+    }
+
+    // A SUPPLIER'S ORDERS CAN SPAN SITES, SO EACH SITE'S LEDGER IS MOVED BY ITS OWN LINES
+    private boolean recordItemMoves(List<LedgerAmount> moving, Status target) {
+        Map<Long, List<LedgerAmount>> bySite = moving.stream().collect(Collectors.groupingBy(LedgerAmount::siteId));
+        for (Map.Entry<Long, List<LedgerAmount>> site : bySite.entrySet()) {
+            if(!siteBudgetService.recordItemMoves(site.getKey(), site.getValue(), target)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // REQUIRES_NEW SO EACH ATTEMPT COMMITS OR ROLLS BACK ON ITS OWN, EVEN UNDER A CALLER'S TRANSACTION. THE SNAPSHOT AN
+    // ATTEMPT WRITES AGAINST IS READ BEFORE IT STARTS AND MAY ALREADY BE STALE; THE VERSION COMPARE-AND-SET IS WHAT
+    // CATCHES THAT, AND THE NEXT ATTEMPT READS A NEW SNAPSHOT
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    // SUPPLIERS ONLY SEE THE ORDERS ASSIGNED TO THEM, SITE STAFF ONLY THEIR OWN SITE'S
+    private void checkAccess(AuthPrincipal actor, StatusSnapshot snapshot, String message) throws NotFoundException {
+        boolean allowed = switch (actor.getRole()) {
+            case ADMIN -> true;
+            case SUPPLIER -> Objects.equals(actor.getUserId(), snapshot.supplierId());
+            default -> Objects.equals(actor.getSiteId(), snapshot.siteId());
+        };
+        if(!allowed){
+            throw new NotFoundException(message);
+        }
+    }
+
+    private List<Long> findAccessibleIds(AuthPrincipal actor, List<Long> orderIds) {
+        return switch (actor.getRole()) {
+            case ADMIN -> orderRepository.findExistingIds(orderIds);
+            case SUPPLIER -> orderRepository.findIdsBySupplier(orderIds, actor.getUserId());
+            default -> orderRepository.findIdsBySite(orderIds, actor.getSiteId());
+        };
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + BULK_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
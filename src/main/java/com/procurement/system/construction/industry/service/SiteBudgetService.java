@@ -0,0 +1,28 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.common.LedgerAmount;
+import com.procurement.system.construction.industry.dto.SiteBudgetDTO;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+
+import java.util.List;
+
+public interface SiteBudgetService {
+
+    // SITE MANAGER / PROCUREMENT MANAGER ACCESS
+    SiteBudgetDTO getSiteBudget() throws NotFoundException;
+
+    // SUPER ADMIN ACCESS
+    SiteBudgetDTO getSiteBudget(Long siteId) throws NotFoundException;
+
+    // APPLIES ORDER LINES MOVING FROM THEIR CURRENT STATUS TO target. MUST RUN IN THE TRANSITION'S TRANSACTION,
+    // BEFORE THE ITEM ROWS ARE UPDATED. RETURNS FALSE IF AN APPROVAL WOULD EXCEED THE SITE'S ALLOCATED BUDGET.
+    boolean recordItemMoves(Long siteId, List<LedgerAmount> moved, Status target);
+
+    // TAKES A DELETED ORDER LINE OFF THE SITE'S LEDGER. MUST RUN IN THE DELETING TRANSACTION.
+    void releaseLine(Long siteId, Status status, Double amount);
+
+    void openLedger(Long siteId);
+
+    void reconcile();
+}
@@ -0,0 +1,188 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.LedgerAmount;
+import com.procurement.system.construction.industry.dto.SiteBudgetDTO;
+import com.procurement.system.construction.industry.entity.SiteSpend;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.repository.OrderArchiveRepository;
+import com.procurement.system.construction.industry.repository.OrderItemRepository;
+import com.procurement.system.construction.industry.repository.SiteRepository;
+import com.procurement.system.construction.industry.repository.SiteSpendRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SiteBudgetServiceImpl implements SiteBudgetService {
+
+    // WHICH ITEM STATUSES COUNT TOWARDS EACH BUCKET; EVERY OTHER STATUS COSTS NOTHING
+    private static final Set<Status> COMMITTED = EnumSet.of(Status.Approved);
+    private static final Set<Status> DELIVERED = EnumSet.of(Status.Delivered, Status.Completed);
+    private static final Set<Status> SPENDING = EnumSet.of(Status.Approved, Status.Delivered, Status.Completed);
+
+    // DRIFT BELOW HALF A CENT IS FLOATING-POINT NOISE, NOT A MISSED UPDATE
+    private static final double TOLERANCE = 0.005;
+
+    private final SiteSpendRepository siteSpendRepository;
+    private final SiteRepository siteRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final CommonFunctions commonFunctions;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SiteBudgetDTO getSiteBudget() throws NotFoundException {
+        Long siteId = commonFunctions.getPrincipal().getSiteId();
+        if(siteId == null){
+            throw new NotFoundException("you are not currently assigned to any site");
+        }
+        return getSiteBudget(siteId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SiteBudgetDTO getSiteBudget(Long siteId) throws NotFoundException {
+        double allocatedBudget = siteRepository.findAllocatedBudget(siteId)
+                .orElseThrow(() -> new NotFoundException("couldn't find any site with the provided ID"));
+        SiteSpend spend = siteSpendRepository.findById(siteId)
+                .orElseGet(() -> computeSpend(siteId));
+
+        return SiteBudgetDTO.builder()
+                .siteId(siteId)
+                .allocatedBudget(allocatedBudget)
+                .committedAmount(spend.getCommittedAmount())
+                .deliveredAmount(spend.getDeliveredAmount())
+                .remainingBudget(allocatedBudget - spend.getCommittedAmount() - spend.getDeliveredAmount()).build();
+    }
+
+    @Override
+    public boolean recordItemMoves(Long siteId, List<LedgerAmount> moved, Status target) {
+        double committed = 0;
+        double delivered = 0;
+        for (LedgerAmount line : moved) {
+            double amount = line.amount() == null ? 0 : line.amount();
+            committed += share(COMMITTED, target, amount) - share(COMMITTED, line.status(), amount);
+            delivered += share(DELIVERED, target, amount) - share(DELIVERED, line.status(), amount);
+        }
+        if(committed == 0 && delivered == 0){
+            return true;
+        }
+
+        // ONLY APPROVALS ARE HELD TO THE BUDGET; EVERY OTHER MOVE RELEASES OR RE-CLASSIFIES SPEND THAT WAS ALREADY ALLOWED
+        boolean checked = target == Status.Approved;
+        int updated = checked
+                ? siteSpendRepository.reserve(siteId, committed, delivered)
+                : siteSpendRepository.adjust(siteId, committed, delivered);
+        if(updated == 1){
+            return true;
+        }
+        if(siteSpendRepository.existsById(siteId)){
+            return false;
+        }
+
+        // NO LEDGER ROW YET (NOT RECONCILED SINCE DEPLOY). THE RECONCILER WILL BUILD IT FROM THE SOURCE TABLES, WHICH
+        // WILL INCLUDE THIS MOVE; UNTIL THEN AN APPROVAL IS CHECKED AGAINST THE SOURCE TABLES DIRECTLY
+        if(!checked){
+            return true;
+        }
+        SiteSpend spend = computeSpend(siteId);
+        double allocatedBudget = siteRepository.findAllocatedBudget(siteId).orElse(0.0);
+        return allocatedBudget <= 0
+                || spend.getCommittedAmount() + spend.getDeliveredAmount() + committed + delivered <= allocatedBudget;
+    }
+
+    @Override
+    public void releaseLine(Long siteId, Status status, Double amount) {
+        double line = amount == null ? 0 : amount;
+        double committed = share(COMMITTED, status, line);
+        double delivered = share(DELIVERED, status, line);
+        if(committed == 0 && delivered == 0){
+            return;
+        }
+
+        // NO LEDGER ROW YET MEANS NOTHING TO RELEASE; THE RECONCILER BUILDS IT FROM THE REMAINING LINES
+        siteSpendRepository.adjust(siteId, -committed, -delivered);
+    }
+
+    @Override
+    @Transactional
+    public void openLedger(Long siteId) {
+        if(!siteSpendRepository.existsById(siteId)){
+            siteSpendRepository.save(computeSpend(siteId));
+        }
+    }
+
+    // THE SOURCE SUMS AND LEDGER ROWS ARE READ FROM ONE SNAPSHOT, AND CORRECTIONS ARE APPLIED AS DELTAS,
+    // SO TRANSITIONS COMMITTING WHILE THIS RUNS ARE NOT OVERWRITTEN
+    @Override
+    @Scheduled(initialDelayString = "${application.site-spend.reconcile-initial-delay}",
+            fixedDelayString = "${application.site-spend.reconcile-interval}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        Map<Long, SiteSpend> expected = new HashMap<>();
+        for (LedgerAmount line : orderItemRepository.sumSiteLineAmounts(null, SPENDING)) {
+            accumulate(expected.computeIfAbsent(line.siteId(), this::emptySpend), line);
+        }
+        // ARCHIVED LINES STILL COUNT AGAINST THE SITE'S BUDGET
+        for (LedgerAmount line : orderArchiveRepository.sumLineAmounts(null, SPENDING)) {
+            accumulate(expected.computeIfAbsent(line.siteId(), this::emptySpend), line);
+        }
+
+        Map<Long, SiteSpend> ledgers = siteSpendRepository.findAll().stream()
+                .collect(Collectors.toMap(SiteSpend::getSiteId, Function.identity()));
+
+        int corrections = 0;
+        for (Long siteId : siteRepository.findAllSiteIds()) {
+            SiteSpend target = expected.getOrDefault(siteId, emptySpend(siteId));
+            SiteSpend ledger = ledgers.remove(siteId);
+            if(ledger == null){
+                siteSpendRepository.save(target);
+                corrections++;
+                continue;
+            }
+
+            double committedDrift = target.getCommittedAmount() - ledger.getCommittedAmount();
+            double deliveredDrift = target.getDeliveredAmount() - ledger.getDeliveredAmount();
+            if(Math.abs(committedDrift) > TOLERANCE || Math.abs(deliveredDrift) > TOLERANCE){
+                siteSpendRepository.adjust(siteId, committedDrift, deliveredDrift);
+                corrections++;
+            }
+        }
+
+        // WHATEVER IS LEFT BELONGS TO DELETED SITES
+        siteSpendRepository.deleteAllById(ledgers.keySet());
+        meterRegistry.counter("site.spend.reconcile.corrections").increment(corrections);
+    }
+
+    private SiteSpend computeSpend(Long siteId) {
+        SiteSpend spend = emptySpend(siteId);
+        orderItemRepository.sumSiteLineAmounts(siteId, SPENDING).forEach(line -> accumulate(spend, line));
+        orderArchiveRepository.sumLineAmounts(siteId, SPENDING).forEach(line -> accumulate(spend, line));
+        return spend;
+    }
+
+    private void accumulate(SiteSpend spend, LedgerAmount line) {
+        double amount = line.amount() == null ? 0 : line.amount();
+        spend.setCommittedAmount(spend.getCommittedAmount() + share(COMMITTED, line.status(), amount));
+        spend.setDeliveredAmount(spend.getDeliveredAmount() + share(DELIVERED, line.status(), amount));
+    }
+
+    private SiteSpend emptySpend(Long siteId) {
+        return SiteSpend.builder().siteId(siteId).build();
+    }
+
+    private static double share(Set<Status> bucket, Status status, double amount) {
+        return bucket.contains(status) ? amount : 0;
+    }
+}
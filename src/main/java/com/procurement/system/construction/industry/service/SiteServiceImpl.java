@@ -2,6 +2,7 @@ package com.procurement.system.construction.industry.service;
 
 import com.procurement.system.construction.industry.common.CommonFunctions;
 import com.procurement.system.construction.industry.common.ResponseMessage;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipalCache;
 import com.procurement.system.construction.industry.dto.SiteDTO;
 import com.procurement.system.construction.industry.dto.UserDTO;
 import com.procurement.system.construction.industry.entity.Site;
@@ -33,6 +34,9 @@ public class SiteServiceImpl implements SiteService{
     private final UserRepository userRepository;
     private final CommonFunctions commonFunctions;
     private final ModelMapper modelMapper;
+    private final AuthPrincipalCache authPrincipalCache;
+    private final SiteBudgetService siteBudgetService;
+    private final OrderSummaryService orderSummaryService;
 
     @Override
     @Transactional
@@ -100,9 +104,11 @@ public class SiteServiceImpl implements SiteService{
 
     private void updateUserRef(Site site, User siteManager) throws InternalServerException {
         Site executedSite = siteRepository.save(site);
+        siteBudgetService.openLedger(executedSite.getSiteId());
 
         siteManager.setSite(executedSite);
         userRepository.save(siteManager);
+        authPrincipalCache.invalidate(siteManager.getEmail());
 
         if(executedSite.getProcurementManager() != null) {
             User procurementManager = userRepository.findById(executedSite.getProcurementManager().getUserId())
@@ -110,6 +116,7 @@ public class SiteServiceImpl implements SiteService{
 
             procurementManager.setSite(executedSite);
             userRepository.save(procurementManager);
+            authPrincipalCache.invalidate(procurementManager.getEmail());
         }
     }
 
@@ -177,6 +184,7 @@ public class SiteServiceImpl implements SiteService{
                     .orElseThrow(() -> new InternalServerException("internal server error occurred"));
             user.setSite(null);
             userRepository.save(user);
+            authPrincipalCache.invalidate(user.getEmail());
             site.setSiteManager(null);
             siteRepository.save(site);
         }
@@ -187,6 +195,7 @@ public class SiteServiceImpl implements SiteService{
                     .orElseThrow(() -> new InternalServerException("internal server error occurred"));
             user.setSite(null);
             userRepository.save(user);
+            authPrincipalCache.invalidate(user.getEmail());
             site.setProcurementManager(null);
             siteRepository.save(site);
         }
@@ -235,6 +244,8 @@ public class SiteServiceImpl implements SiteService{
         site.setProcurementManager(null);
         siteRepository.save(site);
         siteRepository.deleteById(siteId);
+        authPrincipalCache.invalidateAll();
+        orderSummaryService.removeSite(siteId);
 
         return commonFunctions.successResponse("site has been deleted successfully");
     }
@@ -254,6 +265,7 @@ public class SiteServiceImpl implements SiteService{
 
         user.setSite(site);
         userRepository.save(user);
+        authPrincipalCache.invalidate(user.getEmail());
 
         List<User> users = site.getUsers();
         users.add(user);
@@ -281,6 +293,7 @@ public class SiteServiceImpl implements SiteService{
 
         user.setSite(null);
         userRepository.save(user);
+        authPrincipalCache.invalidate(user.getEmail());
 
         return commonFunctions.successResponse("user has been deallocate successfully");
     }
@@ -23,7 +23,7 @@ public interface UserService {
 
     ResponseEntity<ResponseMessage> resetPassword(String email, String password) throws NotFoundException;
 
-    ResponseEntity<AuthenticationResponse> authenticate(AuthenticationRequest request) throws NotFoundException, ForbiddenException;
+    ResponseEntity<AuthenticationResponse> authenticate(AuthenticationRequest request) throws NotFoundException, ForbiddenException, ServiceUnavailableException;
 
     ResponseEntity<AuthenticationResponse> refreshToken(String refreshToken) throws BadRequestException, NotFoundException, InternalServerException;
 
@@ -4,22 +4,22 @@ import com.procurement.system.construction.industry.common.AuthenticationRequest
 import com.procurement.system.construction.industry.common.AuthenticationResponse;
 import com.procurement.system.construction.industry.common.CommonFunctions;
 import com.procurement.system.construction.industry.common.ResponseMessage;
+import com.procurement.system.construction.industry.config.PasswordHashExecutor;
 import com.procurement.system.construction.industry.config.jwt.JwtService;
+import com.procurement.system.construction.industry.config.jwt.TokenVersionRegistry;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipalCache;
 import com.procurement.system.construction.industry.dto.GetUserDTO;
 import com.procurement.system.construction.industry.dto.UserDTO;
-import com.procurement.system.construction.industry.entity.AuthToken;
 import com.procurement.system.construction.industry.entity.User;
 import com.procurement.system.construction.industry.exception.*;
-import com.procurement.system.construction.industry.repository.AuthTokenRepository;
 import com.procurement.system.construction.industry.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -30,9 +30,10 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService{
     private final UserRepository userRepository;
-    private final AuthTokenRepository authTokenRepository;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final AuthPrincipalCache authPrincipalCache;
+    private final PasswordHashExecutor passwordHashExecutor;
     private final CommonFunctions commonFunctions;
     private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     private final ModelMapper modelMapper;
@@ -85,6 +86,7 @@ public class UserServiceImpl implements UserService{
 
         user.setIsActive(true);
         userRepository.save(user);
+        authPrincipalCache.invalidate(user.getEmail());
 
         return commonFunctions.successResponse("user activated successfully");
     }
@@ -101,6 +103,8 @@ public class UserServiceImpl implements UserService{
 
         user.setIsActive(false);
         userRepository.save(user);
+        authPrincipalCache.invalidate(user.getEmail());
+        tokenVersionRegistry.revokeAll(user.getUserId());
 
         return commonFunctions.successResponse("user deactivated successfully");
     }
@@ -119,12 +123,14 @@ public class UserServiceImpl implements UserService{
         String encodedPassword = encodePassword(password);
         user.setPassword(encodedPassword);
         userRepository.save(user);
+        authPrincipalCache.invalidate(user.getEmail());
+        tokenVersionRegistry.revokeAll(user.getUserId());
 
         return commonFunctions.successResponse("password reset successfully");
     }
 
     @Override
-    public ResponseEntity<AuthenticationResponse> authenticate(AuthenticationRequest request) throws NotFoundException, ForbiddenException {
+    public ResponseEntity<AuthenticationResponse> authenticate(AuthenticationRequest request) throws NotFoundException, ForbiddenException, ServiceUnavailableException {
         Optional<User> userCondition = userRepository.findByEmail(request.getEmail());
 
         // NOT FOUND EXCEPTION
@@ -137,18 +143,14 @@ public class UserServiceImpl implements UserService{
             throw new ForbiddenException("your account is not activated yet.");
         }
 
+        // SINGLE BCRYPT CHECK ON THE BOUNDED HASHING POOL
         User user  = userCondition.get();
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashExecutor.matches(request.getPassword(), user.getPassword())) {
             throw new NotFoundException("invalid user password");
         }
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
-
         // GENERATE ACCESS-TOKEN
         var jwtToken = jwtService.generateToken(user);
-        saveToken(user, jwtToken);
 
         // GENERATE REFRESH-TOKEN
         var refreshToken = jwtService.generateRefreshToken(user);
@@ -164,11 +166,11 @@ public class UserServiceImpl implements UserService{
 
     @Override
     public ResponseEntity<AuthenticationResponse> refreshToken(String refreshToken) throws BadRequestException, NotFoundException, InternalServerException {
-        final String userEmail;
-        userEmail = jwtService.extractUsername(refreshToken);
+        final Claims claims = jwtService.extactAllClaims(refreshToken);
+        final String userEmail = claims.getSubject();
 
-        // INVALID TOKEN EXCEPTION
-        if(userEmail.isEmpty()){
+        // INVALID TOKEN EXCEPTION, AN ACCESS TOKEN MUST NOT BE TRADED FOR A NEW ONE
+        if(userEmail == null || userEmail.isEmpty() || !JwtService.isTokenType(claims, JwtService.REFRESH_TOKEN)){
             throw new BadRequestException("Sorry, the token you provided is invalid");
         }
 
@@ -184,9 +186,8 @@ public class UserServiceImpl implements UserService{
 
         // GENERATE TOKEN
         AuthenticationResponse authResponse = null;
-        if (jwtService.isTokenValid(refreshToken, user)) {
+        if (jwtService.isTokenValid(claims, user) && tokenVersionRegistry.isCurrent(claims)) {
             var accessToken = jwtService.generateToken(user);
-            saveToken(user, accessToken);
 
             authResponse = AuthenticationResponse.builder().
                     statusCode(200).
@@ -206,41 +207,12 @@ public class UserServiceImpl implements UserService{
 
     @Override
     public ResponseEntity<ResponseMessage> logout() throws NotFoundException, BadRequestException {
-        var token = commonFunctions.getToken();
-        Optional<AuthToken> optionalToken = authTokenRepository.findByToken(token);
-
-        if(optionalToken.isPresent()){
-            var existToken = optionalToken.get();
-            existToken.setExpired(true);
-            existToken.setRevoked(true);
-            authTokenRepository.save(existToken);
-        }else{
-            throw new BadRequestException("invalid logout");
-        }
+        // BUMPING THE VERSION INVALIDATES EVERY ACCESS AND REFRESH TOKEN OF THIS USER
+        tokenVersionRegistry.revokeAll(commonFunctions.getUserId());
 
         return commonFunctions.successResponse("user logout successfully");
     }
 
-    private void saveToken(User user, String jwtToken) {
-        Optional<AuthToken> OptionalToken = authTokenRepository.findByUserUserId(user.getUserId());
-
-        AuthToken token;
-        // IF ALREADY HAVE TOKEN ELSE NO ANY TOKEN
-        if(OptionalToken.isPresent()){
-            token = OptionalToken.get();
-            token.setToken(jwtToken);
-            token.setExpired(false);
-            token.setRevoked(false);
-
-            authTokenRepository.save(token);
-        }else{
-            token = AuthToken.builder().user(user).token(jwtToken).expired(false).revoked(false).build();
-            user.setAuthToken(token);
-
-            userRepository.save(user);
-        }
-    }
-
     public String encodePassword(String rawPassword) {
         return passwordEncoder.encode(rawPassword);
     }
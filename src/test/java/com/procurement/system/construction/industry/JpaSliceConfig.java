@@ -0,0 +1,18 @@
+package com.procurement.system.construction.industry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.context.annotation.Bean;
+
+// THE APPLICATION CLASS IS ALSO A CONTROLLER WITH SERVICE DEPENDENCIES, SO JPA SLICE TESTS BOOT FROM HERE INSTEAD.
+// NAMED IN @ContextConfiguration AND LEFT UNANNOTATED ON PURPOSE: AN @Import OR A @TestConfiguration STILL LETS THE
+// SLICE SEARCH UP TO THE APPLICATION CLASS, WHILE @Configuration WOULD BE COMPONENT-SCANNED INTO THE FULL CONTEXT TESTS
+@AutoConfigurationPackage(basePackageClasses = ConstructionIndustryApplication.class)
+public class JpaSliceConfig {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
@@ -0,0 +1,54 @@
+package com.procurement.system.construction.industry;
+
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.entity.Site;
+import com.procurement.system.construction.industry.entity.User;
+import com.procurement.system.construction.industry.enums.UserRole;
+
+// THE SITE, CATALOG ITEMS AND SUPPLIER THE DATABASE TESTS BUILD ON. BUILDERS, SO A TEST CAN ADJUST A FIELD BEFORE SAVING
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static Site.SiteBuilder northYard() {
+        return Site.builder()
+                .siteName("North Yard")
+                .location("Colombo")
+                .contactNumber("0112345678");
+    }
+
+    public static Site.SiteBuilder southYard() {
+        return Site.builder()
+                .siteName("South Yard")
+                .location("Galle")
+                .contactNumber("0912345678");
+    }
+
+    public static Item.ItemBuilder cement() {
+        return Item.builder()
+                .name("Cement")
+                .manufacturer("Tokyo")
+                .price(2500.0)
+                .volumeType("Bag");
+    }
+
+    public static Item.ItemBuilder brick() {
+        return Item.builder()
+                .name("Brick")
+                .manufacturer("Lanka")
+                .price(20.0)
+                .volumeType("Unit");
+    }
+
+    public static User.UserBuilder supplier(String email) {
+        return User.builder()
+                .firstName("Kasun")
+                .lastName("Perera")
+                .email(email)
+                .mobileNumber("0771234567")
+                .password("secret")
+                .role(UserRole.SUPPLIER)
+                .isActive(true);
+    }
+}
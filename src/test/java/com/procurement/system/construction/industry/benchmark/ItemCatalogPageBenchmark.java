@@ -0,0 +1,144 @@
+package com.procurement.system.construction.industry.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// CATALOG PAGE LATENCY AS THE ITEM TABLE GROWS: THE KEYSET QUERIES OF findItemPage (FIRST PAGE, A PAGE HALF-WAY
+// THROUGH THE CATALOG, A FILTERED PRICE PAGE) AGAINST OFFSET PAGING TO THE SAME DEPTH AND THE OLD findAll.
+// IN-MEMORY H2 WITH THE SAME INDEXES AS Item.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemCatalogPageBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String[] MANUFACTURERS = {"holcim", "tokyo", "lanwa", "insee", "siam", "atlas", "sierra", "alumex"};
+    private static final String[] VOLUME_TYPES = {"kg", "bag", "m3", "m2", "unit", "length", "roll"};
+
+    @Param({"10000", "100000", "1000000"})
+    private int items;
+
+    private Connection connection;
+    private PreparedStatement firstPage;
+    private PreparedStatement seekPage;
+    private PreparedStatement offsetPage;
+    private PreparedStatement filteredPage;
+    private PreparedStatement allItems;
+
+    private String middleName;
+    private long middleId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:item_page_bench;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (item_id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, description VARCHAR(255), " +
+                    "manufacturer VARCHAR(255) NOT NULL, price DOUBLE NOT NULL, volume_type VARCHAR(255) NOT NULL, " +
+                    "weight DOUBLE, color VARCHAR(255))");
+            statement.execute("CREATE INDEX idx_item_name ON item (name, item_id)");
+            statement.execute("CREATE INDEX idx_item_price ON item (price, item_id)");
+            statement.execute("CREATE INDEX idx_item_manufacturer_name ON item (manufacturer, name, item_id)");
+            statement.execute("CREATE INDEX idx_item_manufacturer_price ON item (manufacturer, price, item_id)");
+            statement.execute("CREATE INDEX idx_item_volume_type_price ON item (volume_type, price, item_id)");
+        }
+
+        Random random = new Random(42);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO item VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= items; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "item " + Long.toString(random.nextLong() & Long.MAX_VALUE, 36));
+                insert.setString(3, "a catalog item used on construction sites");
+                insert.setString(4, MANUFACTURERS[random.nextInt(MANUFACTURERS.length)]);
+                insert.setDouble(5, random.nextInt(1_000_000) / 100.0);
+                insert.setString(6, VOLUME_TYPES[random.nextInt(VOLUME_TYPES.length)]);
+                insert.setDouble(7, random.nextInt(5_000) / 100.0);
+                insert.setString(8, "grey");
+                insert.addBatch();
+                if(id % 10_000 == 0){
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        // THE CURSOR A CLIENT WOULD HOLD HALF-WAY THROUGH THE NAME ORDER
+        try (Statement statement = connection.createStatement();
+             ResultSet middle = statement.executeQuery("SELECT name, item_id FROM item ORDER BY name, item_id LIMIT 1 OFFSET " + items / 2)) {
+            middle.next();
+            middleName = middle.getString(1);
+            middleId = middle.getLong(2);
+        }
+
+        String select = "SELECT item_id, name, manufacturer, price, volume_type FROM item ";
+        firstPage = connection.prepareStatement(select + "ORDER BY name, item_id LIMIT " + (PAGE_SIZE + 1));
+        seekPage = connection.prepareStatement(select + "WHERE (name > ? OR (name = ? AND item_id > ?)) " +
+                "ORDER BY name, item_id LIMIT " + (PAGE_SIZE + 1));
+        offsetPage = connection.prepareStatement(select + "ORDER BY name, item_id LIMIT " + (PAGE_SIZE + 1) + " OFFSET " + items / 2);
+        filteredPage = connection.prepareStatement(select + "WHERE manufacturer = ? AND price >= ? AND price <= ? " +
+                "ORDER BY price, item_id LIMIT " + (PAGE_SIZE + 1));
+        allItems = connection.prepareStatement("SELECT * FROM item");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void keysetFirstPage(Blackhole blackhole) throws SQLException {
+        consume(firstPage, blackhole);
+    }
+
+    @Benchmark
+    public void keysetMiddlePage(Blackhole blackhole) throws SQLException {
+        seekPage.setString(1, middleName);
+        seekPage.setString(2, middleName);
+        seekPage.setLong(3, middleId);
+        consume(seekPage, blackhole);
+    }
+
+    @Benchmark
+    public void offsetMiddlePage(Blackhole blackhole) throws SQLException {
+        consume(offsetPage, blackhole);
+    }
+
+    @Benchmark
+    public void keysetFilteredPricePage(Blackhole blackhole) throws SQLException {
+        filteredPage.setString(1, "holcim");
+        filteredPage.setDouble(2, 1_000);
+        filteredPage.setDouble(3, 5_000);
+        consume(filteredPage, blackhole);
+    }
+
+    @Benchmark
+    public void legacyFindAll(Blackhole blackhole) throws SQLException {
+        consume(allItems, blackhole);
+    }
+
+    private static void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getLong(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemCatalogPageBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.procurement.system.construction.industry.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procurement.system.construction.industry.config.catalog.ItemCatalog;
+import com.procurement.system.construction.industry.config.catalog.ItemSearchIndex;
+import com.procurement.system.construction.industry.dto.ItemImportReportDTO;
+import com.procurement.system.construction.industry.enums.ImportFormat;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.repository.ItemImportRepository;
+import com.procurement.system.construction.industry.repository.ItemRepository;
+import com.procurement.system.construction.industry.service.ItemImportServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// WALL-CLOCK TIME TO IMPORT A 100K-ROW PRICE LIST THROUGH ItemImportServiceImpl INTO IN-MEMORY H2: ONCE INTO AN EMPTY
+// CATALOG (ALL INSERTS) AND ONCE OVER A CATALOG THAT ALREADY HOLDS EVERY NAME (ALL UPDATES). THE CATALOG SNAPSHOT IS
+// NOT PART OF THE MEASUREMENT; THE SEARCH INDEX IS.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ItemImportBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"insert", "update"})
+    private String mode;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ItemImportServiceImpl importService;
+    private byte[] priceList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:item_import_bench;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE item (item_id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL, " +
+                "description VARCHAR(255), manufacturer VARCHAR(255) NOT NULL, price DOUBLE NOT NULL, " +
+                "volume_type VARCHAR(255) NOT NULL, weight DOUBLE, color VARCHAR(255))");
+
+
+        StringBuilder csv = new StringBuilder("name,description,manufacturer,price,volumeType,weight,color\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("item ").append(i).append(",\"grade ").append(i % 7).append(", bagged\",holcim,")
+                    .append(i % 10_000 / 100.0).append(",bag,").append(i % 50).append(",grey\n");
+        }
+        priceList = csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // A FRESH TABLE AND A FRESH SEARCH INDEX FOR EVERY IMPORT
+    @Setup(Level.Iteration)
+    public void resetCatalog() throws BadRequestException {
+        jdbcTemplate.execute("TRUNCATE TABLE item");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ItemCatalog catalog = new ItemCatalog(Mockito.mock(ItemRepository.class), meterRegistry);
+        importService = new ItemImportServiceImpl(new ItemImportRepository(jdbcTemplate), catalog,
+                new ItemSearchIndex(catalog, meterRegistry), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new DataSourceTransactionManager(dataSource),
+                meterRegistry, 1000, 1000);
+
+        if(mode.equals("update")){
+            importService.importItems(ImportFormat.CSV, new ByteArrayInputStream(priceList));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Benchmark
+    public ItemImportReportDTO importPriceList() throws BadRequestException {
+        return importService.importItems(ImportFormat.CSV, new ByteArrayInputStream(priceList));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
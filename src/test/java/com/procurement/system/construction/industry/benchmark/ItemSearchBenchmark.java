@@ -0,0 +1,85 @@
+package com.procurement.system.construction.industry.benchmark;
+
+import com.procurement.system.construction.industry.config.catalog.ItemCatalog;
+import com.procurement.system.construction.industry.config.catalog.ItemSearchIndex;
+import com.procurement.system.construction.industry.dto.ItemDTO;
+import com.procurement.system.construction.industry.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// AUTOCOMPLETE AND SEARCH OVER A SYNTHETIC 100K-SKU CATALOG. READ p99 FROM SampleTime; THE TARGET FOR
+// autocomplete IS UNDER 5 ms. QUERIES CYCLE FROM ONE-LETTER PREFIXES (WIDEST EXPANSION) TO MULTI-WORD AND TYPOS.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final String[] MATERIALS = {"cement", "steel", "rebar", "brick", "timber", "plywood", "gravel", "sand",
+            "tile", "pipe", "cable", "paint", "glass", "insulation", "plaster", "concrete", "mesh", "bolt", "anchor", "beam"};
+    private static final String[] QUALIFIERS = {"portland", "reinforced", "galvanized", "treated", "structural", "marine",
+            "fire", "rated", "heavy", "duty", "premium", "standard", "coarse", "fine", "hollow", "solid", "pvc", "copper"};
+    private static final String[] MANUFACTURERS = {"holcim", "tokyo", "lanwa", "insee", "siam", "atlas", "sierra", "alumex"};
+    private static final String[] COLORS = {"grey", "red", "white", "black", "blue", "green", "brown"};
+    private static final String[] VOLUME_TYPES = {"kg", "bag", "m3", "m2", "unit", "length", "roll"};
+
+    private static final String[] AUTOCOMPLETE = {"c", "ce", "cem", "port", "portland ce", "steel r", "galv pi", "holcim b", "red br"};
+    private static final String[] SEARCH = {"portland cement", "reinforced steel beam", "cemnet", "galvanised pipe", "grey tile 42"};
+
+    @Param({"100000"})
+    private int items;
+
+    private ItemSearchIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ItemCatalog catalog = new ItemCatalog(Mockito.mock(ItemRepository.class), meterRegistry);
+        index = new ItemSearchIndex(catalog, meterRegistry);
+
+        // NO TRANSACTION IS ACTIVE, SO EVERY index CALL APPLIES IMMEDIATELY
+        Random random = new Random(42);
+        for (long id = 1; id <= items; id++) {
+            index.index(ItemDTO.builder()
+                    .itemId(id)
+                    .name(pick(random, QUALIFIERS) + " " + pick(random, QUALIFIERS) + " " + pick(random, MATERIALS) + " " + random.nextInt(100))
+                    .manufacturer(pick(random, MANUFACTURERS))
+                    .description(pick(random, QUALIFIERS) + " grade " + pick(random, MATERIALS) + " for site use")
+                    .color(pick(random, COLORS))
+                    .volumeType(pick(random, VOLUME_TYPES))
+                    .price(random.nextInt(10_000) / 100.0)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ItemDTO> autocomplete() {
+        return index.autocomplete(AUTOCOMPLETE[next++ % AUTOCOMPLETE.length], 10);
+    }
+
+    @Benchmark
+    public List<ItemDTO> search() {
+        return index.search(SEARCH[next++ % SEARCH.length], 20);
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
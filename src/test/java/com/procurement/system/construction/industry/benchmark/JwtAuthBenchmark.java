@@ -0,0 +1,73 @@
+package com.procurement.system.construction.industry.benchmark;
+
+import com.procurement.system.construction.industry.config.jwt.JwtClaimsVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// PER-REQUEST JWT COST: THE OLD FILTER PATH (THREE FULL PARSES) AGAINST THE VERIFIED-CLAIMS CACHE
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET_KEY = "53923e15289b6f2642e7ba918fb397cb88623bde84df90d196a5f494bd126418";
+
+    private JwtClaimsVerifier claimsVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        claimsVerifier = new JwtClaimsVerifier(SECRET_KEY, 10_000, 600_000);
+        token = Jwts.builder()
+                .setSubject("site.manager@example.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 7_200_000))
+                .signWith(claimsVerifier.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public void legacyPerRequestAuth(Blackhole blackhole) {
+        // FILTER extractUsername, THEN isTokenValid -> extractUsername + extractExpiration
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).getExpiration());
+    }
+
+    @Benchmark
+    public void verifiedClaimsPerRequestAuth(Blackhole blackhole) {
+        Claims claims = claimsVerifier.verify(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.getExpiration());
+    }
+
+    private Claims legacyParse(String jwt) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
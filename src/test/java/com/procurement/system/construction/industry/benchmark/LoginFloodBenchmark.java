@@ -0,0 +1,99 @@
+package com.procurement.system.construction.industry.benchmark;
+
+import com.procurement.system.construction.industry.config.PasswordHashExecutor;
+import com.procurement.system.construction.industry.config.jwt.JwtClaimsVerifier;
+import com.procurement.system.construction.industry.exception.ServiceUnavailableException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// LOGIN FLOOD: SUSTAINED LOGINS/SEC AND THE LATENCY OF AN ORDINARY AUTHENTICATED REQUEST RUNNING BESIDE IT.
+// "unbounded" IS THE OLD PATH (TWO BCRYPT CHECKS ON EVERY REQUEST THREAD), "bounded" GOES THROUGH PasswordHashExecutor.
+// READ p99 OF THE *OtherRequest METHODS FROM SampleTime, LOGINS PER MS FROM Throughput.
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoginFloodBenchmark {
+
+    private static final String SECRET_KEY = "53923e15289b6f2642e7ba918fb397cb88623bde84df90d196a5f494bd126418";
+    private static final String PASSWORD = "site-manager-password";
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordHashExecutor passwordHashExecutor;
+    private JwtClaimsVerifier claimsVerifier;
+    private String encodedPassword;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder();
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+        passwordHashExecutor = new PasswordHashExecutor(passwordEncoder, new SimpleMeterRegistry(),
+                Runtime.getRuntime().availableProcessors() / 2 + 1, 64, 5_000);
+
+        claimsVerifier = new JwtClaimsVerifier(SECRET_KEY, 10_000, 600_000);
+        token = Jwts.builder()
+                .setSubject("site.manager@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 7_200_000))
+                .signWith(claimsVerifier.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashExecutor.shutdown();
+    }
+
+    @Benchmark
+    @Group("unbounded")
+    @GroupThreads(16)
+    public boolean unboundedLogin() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword)
+                && passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    @Group("unbounded")
+    @GroupThreads(4)
+    public Claims unboundedOtherRequest() {
+        return claimsVerifier.verify(token);
+    }
+
+    @Benchmark
+    @Group("bounded")
+    @GroupThreads(16)
+    public boolean boundedLogin() {
+        try {
+            return passwordHashExecutor.matches(PASSWORD, encodedPassword);
+        } catch (ServiceUnavailableException exception) {
+            // A FAST 503 IS THE INTENDED OUTCOME UNDER OVERLOAD
+            return false;
+        }
+    }
+
+    @Benchmark
+    @Group("bounded")
+    @GroupThreads(4)
+    public Claims boundedOtherRequest() {
+        return claimsVerifier.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginFloodBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
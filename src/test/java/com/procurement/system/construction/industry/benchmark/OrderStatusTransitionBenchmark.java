@@ -0,0 +1,169 @@
+package com.procurement.system.construction.industry.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.TestFixtures;
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.CurrentUser;
+import com.procurement.system.construction.industry.common.CurrentUserContext;
+import com.procurement.system.construction.industry.config.outbox.OutboxWriter;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.entity.OrderDetails;
+import com.procurement.system.construction.industry.entity.OrderItem;
+import com.procurement.system.construction.industry.entity.Site;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.enums.UserRole;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.exception.ConflictException;
+import com.procurement.system.construction.industry.exception.ForbiddenException;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.repository.*;
+import com.procurement.system.construction.industry.service.OrderTransitionService;
+import com.procurement.system.construction.industry.service.OrderTransitionServiceImpl;
+import com.procurement.system.construction.industry.service.SiteBudgetService;
+import com.procurement.system.construction.industry.service.SiteBudgetServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// APPROVING EVERY PENDING ORDER OF A SITE (3 ITEMS EACH) THROUGH OrderTransitionServiceImpl: ONE transitionOrder CALL
+// PER ORDER AGAINST ONE transitionOrders CALL. BOTH RUN THE REAL PATH ON THE ENTITY SCHEMA IN IN-MEMORY H2 (THE test
+// PROFILE): KEY READS, VERSIONED STATUS UPDATES, LINE SUMS AND THE BUDGET LEDGER, AND AN OUTBOX ROW PER ORDER EVENT.
+// NETWORK LATENCY IS NOT MEASURED, AND ON MYSQL IT ONLY WIDENS THE GAP BETWEEN THE TWO.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OrderStatusTransitionBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Param({"1000", "10000"})
+    private int orders;
+
+    // NOT A @Configuration, SO THE FULL-CONTEXT TESTS DO NOT COMPONENT-SCAN IT
+    @AutoConfigureDataJpa
+    @Import({JpaSliceConfig.class, OrderTransitionServiceImpl.class, SiteBudgetServiceImpl.class,
+            OrderArchiveRepository.class, CommonFunctions.class, OutboxWriter.class})
+    static class TransitionContext {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+
+    private ConfigurableApplicationContext context;
+    private OrderTransitionService orderTransitionService;
+    private JdbcTemplate jdbcTemplate;
+    private AuthPrincipal procurementManager;
+    private List<Long> orderIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TransitionContext.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.profiles.active=test");
+        orderTransitionService = context.getBean(OrderTransitionService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        SiteRepository siteRepository = context.getBean(SiteRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+        OrderItemRepository orderItemRepository = context.getBean(OrderItemRepository.class);
+
+        // A BUDGET LARGE ENOUGH NEVER TO REJECT, SO EVERY APPROVAL STILL PAYS FOR THE RESERVE CHECK
+        Site site = siteRepository.save(TestFixtures.northYard().allocatedBudget(1e12).build());
+        Item item = itemRepository.save(TestFixtures.cement().build());
+        procurementManager = new AuthPrincipal(1L, "procurement@example.com", UserRole.PROCUREMENT_MANAGER, true, site.getSiteId());
+
+        orderIds = new ArrayList<>(orders);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            List<OrderItem> items = new ArrayList<>(orders * ITEMS_PER_ORDER);
+            for (int i = 0; i < orders; i++) {
+                OrderDetails order = orderRepository.save(OrderDetails.builder()
+                        .status(Status.Pending)
+                        .requiredDate(LocalDate.now().plusDays(i % 90))
+                        .totalAmount(6 * item.getPrice())
+                        .site(site).build());
+                orderIds.add(order.getOrderId());
+
+                for (int j = 1; j <= ITEMS_PER_ORDER; j++) {
+                    items.add(OrderItem.builder()
+                            .quantity(j)
+                            .unitPrice(item.getPrice())
+                            .lineTotal(j * item.getPrice())
+                            .status(Status.Pending)
+                            .item(item)
+                            .order(order).build());
+                }
+            }
+            orderItemRepository.saveAll(items);
+        });
+        context.getBean(SiteBudgetService.class).openLedger(site.getSiteId());
+    }
+
+    // EVERY MEASURED CALL STARTS FROM THE SAME PENDING ORDERS, AN EMPTY LEDGER AND AN EMPTY OUTBOX
+    @Setup(Level.Iteration)
+    public void resetOrders() {
+        jdbcTemplate.update("UPDATE order_details SET status = 'Pending'");
+        jdbcTemplate.update("UPDATE order_item SET status = 'Pending'");
+        jdbcTemplate.update("UPDATE site_spend SET committed_amount = 0, delivered_amount = 0");
+        jdbcTemplate.update("DELETE FROM outbox_event");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int perOrderTransition() throws NotFoundException, ForbiddenException, ConflictException {
+        CurrentUserContext.set(new CurrentUser(procurementManager, "token"));
+        try {
+            int moved = 0;
+            for (Long orderId : orderIds) {
+                orderTransitionService.transitionOrder(orderId, Status.Approved);
+                moved++;
+            }
+            return moved;
+        } finally {
+            CurrentUserContext.clear();
+        }
+    }
+
+    @Benchmark
+    public int bulkTransition() throws NotFoundException, ForbiddenException, BadRequestException, ConflictException {
+        CurrentUserContext.set(new CurrentUser(procurementManager, "token"));
+        try {
+            return orderTransitionService.transitionOrders(orderIds, Status.Approved);
+        } finally {
+            CurrentUserContext.clear();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderStatusTransitionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
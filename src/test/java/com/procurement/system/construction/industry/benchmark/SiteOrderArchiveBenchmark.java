@@ -0,0 +1,162 @@
+package com.procurement.system.construction.industry.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// SITE LISTING LATENCY AS CLOSED VOLUME GROWS: "hot" LEAVES EVERY CLOSED ORDER IN order_details / order_item (THE OLD
+// LAYOUT), "archived" HAS MOVED THEM TO archived_order / archived_order_item. THE SITE ALWAYS HAS THE SAME 2000 LIVE
+// ORDERS, SO ANY DIFFERENCE IS THE COST OF DEAD ROWS IN THE HOT TABLES. IN-MEMORY H2 WITH THE SAME INDEXES.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SiteOrderArchiveBenchmark {
+
+    private static final long SITE_ID = 1;
+    private static final int LIVE_ORDERS = 2_000;
+    private static final int ITEMS_PER_ORDER = 2;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "50000", "200000"})
+    private int closedOrders;
+
+    @Param({"hot", "archived"})
+    private String layout;
+
+    private Connection connection;
+    private PreparedStatement listOrders;
+    private PreparedStatement listItems;
+    private PreparedStatement firstPage;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:archive_bench;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE order_details (order_id BIGINT PRIMARY KEY, status VARCHAR(16) NOT NULL, " +
+                    "required_date DATE NOT NULL, site_id_ref BIGINT, supplier_id BIGINT)");
+            statement.execute("CREATE INDEX idx_order_site_required_date ON order_details (site_id_ref, required_date, order_id)");
+            statement.execute("CREATE TABLE order_item (order_item_id BIGINT PRIMARY KEY, quantity INT, status VARCHAR(16) NOT NULL, " +
+                    "item_id_ref BIGINT, order_id_ref BIGINT)");
+            statement.execute("CREATE INDEX idx_order_item_order ON order_item (order_id_ref)");
+            statement.execute("CREATE TABLE archived_order (order_id BIGINT PRIMARY KEY, status VARCHAR(16) NOT NULL, " +
+                    "required_date DATE NOT NULL, site_id BIGINT, supplier_id BIGINT, archived_on DATE NOT NULL)");
+            statement.execute("CREATE INDEX idx_archived_order_site_required_date ON archived_order (site_id, required_date, order_id)");
+            statement.execute("CREATE TABLE archived_order_item (order_item_id BIGINT PRIMARY KEY, order_id BIGINT NOT NULL, " +
+                    "item_id BIGINT, quantity INT, status VARCHAR(16) NOT NULL, line_amount DOUBLE)");
+            statement.execute("CREATE INDEX idx_archived_order_item_order ON archived_order_item (order_id, order_item_id)");
+        }
+
+        boolean archived = layout.equals("archived");
+        LocalDate today = LocalDate.now();
+        try (PreparedStatement order = connection.prepareStatement(archived
+                ? "INSERT INTO archived_order VALUES (?, ?, ?, ?, NULL, ?)"
+                : "INSERT INTO order_details VALUES (?, ?, ?, ?, NULL)");
+             PreparedStatement item = connection.prepareStatement(archived
+                     ? "INSERT INTO archived_order_item VALUES (?, ?, 1, 1, ?, 0)"
+                     : "INSERT INTO order_item VALUES (?, 1, ?, 1, ?)");
+             PreparedStatement liveOrder = connection.prepareStatement("INSERT INTO order_details VALUES (?, 'Pending', ?, ?, NULL)");
+             PreparedStatement liveItem = connection.prepareStatement("INSERT INTO order_item VALUES (?, 1, 'Pending', 1, ?)")) {
+            long orderId = 1;
+            long itemId = 1;
+
+            // CLOSED ORDERS ARE OLDER THAN THE LIVE ONES, AS THEY WOULD BE IN PRODUCTION
+            for (int i = 0; i < closedOrders; i++, orderId++) {
+                String status = i % 4 == 0 ? "Cancelled" : "Completed";
+                order.setLong(1, orderId);
+                order.setString(2, status);
+                order.setDate(3, Date.valueOf(today.minusDays(400 + i % 1000)));
+                order.setLong(4, SITE_ID);
+                if(archived){
+                    order.setDate(5, Date.valueOf(today));
+                }
+                order.addBatch();
+                for (int j = 0; j < ITEMS_PER_ORDER; j++, itemId++) {
+                    item.setLong(1, itemId);
+                    if(archived){
+                        item.setLong(2, orderId);
+                        item.setString(3, status);
+                    } else {
+                        item.setString(2, status);
+                        item.setLong(3, orderId);
+                    }
+                    item.addBatch();
+                }
+                if(i % 10_000 == 0){
+                    order.executeBatch();
+                    item.executeBatch();
+                }
+            }
+            order.executeBatch();
+            item.executeBatch();
+
+            for (int i = 0; i < LIVE_ORDERS; i++, orderId++) {
+                liveOrder.setLong(1, orderId);
+                liveOrder.setDate(2, Date.valueOf(today.plusDays(i % 90)));
+                liveOrder.setLong(3, SITE_ID);
+                liveOrder.addBatch();
+                for (int j = 0; j < ITEMS_PER_ORDER; j++, itemId++) {
+                    liveItem.setLong(1, itemId);
+                    liveItem.setLong(2, orderId);
+                    liveItem.addBatch();
+                }
+            }
+            liveOrder.executeBatch();
+            liveItem.executeBatch();
+        }
+
+        // THE SAME SHAPES AS findSiteOrderDetails AND findSiteOrderPage
+        listOrders = connection.prepareStatement("SELECT order_id, status, required_date, supplier_id FROM order_details " +
+                "WHERE site_id_ref = ? ORDER BY order_id");
+        listItems = connection.prepareStatement("SELECT oi.order_item_id, oi.quantity, oi.status, oi.item_id_ref, o.order_id " +
+                "FROM order_item oi JOIN order_details o ON o.order_id = oi.order_id_ref " +
+                "WHERE o.site_id_ref = ? ORDER BY o.order_id, oi.order_item_id");
+        firstPage = connection.prepareStatement("SELECT order_id, status, required_date, supplier_id FROM order_details " +
+                "WHERE site_id_ref = ? AND required_date >= ? ORDER BY required_date, order_id LIMIT " + PAGE_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void fullSiteListing(Blackhole blackhole) throws SQLException {
+        listOrders.setLong(1, SITE_ID);
+        consume(listOrders, blackhole);
+        listItems.setLong(1, SITE_ID);
+        consume(listItems, blackhole);
+    }
+
+    @Benchmark
+    public void upcomingOrdersPage(Blackhole blackhole) throws SQLException {
+        firstPage.setLong(1, SITE_ID);
+        firstPage.setDate(2, Date.valueOf(LocalDate.now()));
+        consume(firstPage, blackhole);
+    }
+
+    private static void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getLong(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SiteOrderArchiveBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.procurement.system.construction.industry.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    public void next_shouldKeepCommasInsideQuotedFields() throws IOException {
+        assertThat(records("Cement,\"grade 2, bagged\",Tokyo\n"))
+                .containsExactly(List.of("Cement", "grade 2, bagged", "Tokyo"));
+    }
+
+    @Test
+    public void next_shouldUnescapeDoubledQuotes() throws IOException {
+        assertThat(records("\"12\"\" pipe\",\"\"\"quoted\"\"\",\"\"\n"))
+                .containsExactly(List.of("12\" pipe", "\"quoted\"", ""));
+    }
+
+    @Test
+    public void next_shouldKeepLineBreaksInsideQuotedFields() throws IOException {
+        assertThat(records("Cement,\"line one\nline two\r\nline three\",Tokyo\nBrick,plain,Lanka\n"))
+                .containsExactly(
+                        List.of("Cement", "line one\nline two\r\nline three", "Tokyo"),
+                        List.of("Brick", "plain", "Lanka"));
+    }
+
+    @Test
+    public void next_shouldReadCrlfAndBareCrLineEndings_andSkipBlankLines() throws IOException {
+        assertThat(records("name,price\r\nCement,100\r\n\r\nBrick,20\rTile,5"))
+                .containsExactly(
+                        List.of("name", "price"),
+                        List.of("Cement", "100"),
+                        List.of("Brick", "20"),
+                        List.of("Tile", "5"));
+    }
+
+    @Test
+    public void next_shouldKeepEmptyFields() throws IOException {
+        assertThat(records("Cement,,Tokyo,\n")).containsExactly(List.of("Cement", "", "Tokyo", ""));
+    }
+
+    @Test
+    public void next_shouldPassAByteOrderMarkThroughOnTheFirstHeaderField() throws IOException {
+        // THE IMPORT STRIPS IT WHEN MATCHING COLUMN NAMES; THE READER ITSELF DOES NOT GUESS AT ENCODINGS
+        assertThat(records("\uFEFFname,price\nCement,100\n"))
+                .containsExactly(List.of("\uFEFFname", "price"), List.of("Cement", "100"));
+    }
+
+    @Test
+    public void next_shouldFail_whenAQuotedFieldIsNeverClosed() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("Cement,100\nBrick,\"grade 2\n"));
+
+        assertThat(reader.next()).containsExactly("Cement", "100");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("unterminated");
+    }
+
+    private static List<List<String>> records(String csv) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
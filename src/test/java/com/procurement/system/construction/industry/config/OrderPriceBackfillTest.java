@@ -0,0 +1,125 @@
+package com.procurement.system.construction.industry.config;
+
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.TestFixtures;
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.entity.OrderDetails;
+import com.procurement.system.construction.industry.entity.OrderItem;
+import com.procurement.system.construction.industry.entity.Site;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.repository.OrderItemRepository;
+import com.procurement.system.construction.industry.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+class OrderPriceBackfillTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OrderPriceBackfill backfill;
+    private Site site;
+    private Item cement;
+    private Item brick;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new OrderPriceBackfill(orderItemRepository, orderRepository, transactionManager);
+
+        site = entityManager.persist(TestFixtures.northYard().build());
+        cement = entityManager.persist(TestFixtures.cement().build());
+        brick = entityManager.persist(TestFixtures.brick().build());
+    }
+
+    @Test
+    void backfill_pricesOldLinesFromTheCatalog_andTotalsTheirOrders() {
+        OrderDetails old = order(null);
+        OrderItem cementLine = line(old, cement, 2, null, null);
+        OrderItem brickLine = line(old, brick, 10, null, null);
+        OrderDetails empty = order(null);
+        entityManager.flush();
+
+        backfill.backfill();
+        entityManager.clear();
+
+        OrderItem pricedCement = entityManager.find(OrderItem.class, cementLine.getOrderItemId());
+        assertEquals(2500.0, pricedCement.getUnitPrice());
+        assertEquals(5000.0, pricedCement.getLineTotal());
+        OrderItem pricedBrick = entityManager.find(OrderItem.class, brickLine.getOrderItemId());
+        assertEquals(20.0, pricedBrick.getUnitPrice());
+        assertEquals(200.0, pricedBrick.getLineTotal());
+        assertEquals(5200.0, entityManager.find(OrderDetails.class, old.getOrderId()).getTotalAmount());
+        // AN ORDER WITHOUT LINES STILL GETS A TOTAL, SO THE NEXT START FINDS NOTHING TO DO
+        assertEquals(0.0, entityManager.find(OrderDetails.class, empty.getOrderId()).getTotalAmount());
+    }
+
+    @Test
+    void backfill_leavesCapturedPricesAlone_andIsSafeToRunAgain() {
+        OrderDetails priced = order(5000.0);
+        OrderItem capturedLine = line(priced, cement, 2, 2500.0, 5000.0);
+        OrderDetails mixed = order(null);
+        OrderItem capturedUnitPrice = line(mixed, cement, 1, 2000.0, null);
+        entityManager.flush();
+
+        // THE CATALOG HAS MOVED ON SINCE THESE LINES WERE PRICED
+        cement.setPrice(3000.0);
+        entityManager.merge(cement);
+        entityManager.flush();
+
+        backfill.backfill();
+        backfill.backfill();
+        entityManager.clear();
+
+        OrderItem unchanged = entityManager.find(OrderItem.class, capturedLine.getOrderItemId());
+        assertEquals(2500.0, unchanged.getUnitPrice());
+        assertEquals(5000.0, unchanged.getLineTotal());
+        assertEquals(5000.0, entityManager.find(OrderDetails.class, priced.getOrderId()).getTotalAmount());
+
+        OrderItem totalled = entityManager.find(OrderItem.class, capturedUnitPrice.getOrderItemId());
+        assertEquals(2000.0, totalled.getUnitPrice());
+        assertEquals(2000.0, totalled.getLineTotal());
+        assertEquals(2000.0, entityManager.find(OrderDetails.class, mixed.getOrderId()).getTotalAmount());
+    }
+
+    private OrderDetails order(Double totalAmount) {
+        return entityManager.persist(OrderDetails.builder()
+                .status(Status.Pending)
+                .requiredDate(LocalDate.now())
+                .totalAmount(totalAmount)
+                .site(site).build());
+    }
+
+    private OrderItem line(OrderDetails order, Item item, int quantity, Double unitPrice, Double lineTotal) {
+        return entityManager.persist(OrderItem.builder()
+                .quantity(quantity)
+                .unitPrice(unitPrice)
+                .lineTotal(lineTotal)
+                .status(Status.Pending)
+                .item(item)
+                .order(order).build());
+    }
+}
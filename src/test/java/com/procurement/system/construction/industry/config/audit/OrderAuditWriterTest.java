@@ -0,0 +1,130 @@
+package com.procurement.system.construction.industry.config.audit;
+
+import com.procurement.system.construction.industry.common.OrderStatusChangedEvent;
+import com.procurement.system.construction.industry.entity.OrderAudit;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.repository.OrderAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class OrderAuditWriterTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<List<Long>> batches = new ConcurrentLinkedQueue<>();
+
+    private OrderAuditRepository orderAuditRepository;
+    private OrderAuditWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        orderAuditRepository = mock(OrderAuditRepository.class);
+        // THE WRITER REUSES ITS BATCH LIST, SO KEEP A COPY OF WHAT EACH INSERT SAW
+        doAnswer(invocation -> {
+            List<OrderAudit> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(OrderAudit::getOrderId).toList());
+            return null;
+        }).when(orderAuditRepository).insertAll(anyList());
+
+        writer = new OrderAuditWriter(orderAuditRepository, meterRegistry, 10_000, BATCH_SIZE);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    public void writer_shouldInsertQueuedEntriesInBatches() throws InterruptedException {
+        for (long orderId = 1; orderId <= 25; orderId++) {
+            statusChanged(orderId);
+        }
+
+        writer.start();
+        writer.stop();
+
+        assertThat(batches).extracting(List::size).containsExactly(10, 10, 5);
+        assertThat(count("order.audit.written")).isEqualTo(25);
+    }
+
+    @Test
+    public void writer_shouldKeepRunning_whenABatchFails() throws InterruptedException {
+        AtomicBoolean timedOut = new AtomicBoolean();
+        doAnswer(invocation -> {
+            List<OrderAudit> batch = invocation.getArgument(0);
+            Long orderId = batch.get(0).getOrderId();
+            if(orderId == 1L){
+                throw new IllegalStateException("bad row");
+            }
+            if(orderId == 2L && timedOut.compareAndSet(false, true)){
+                throw new QueryTimeoutException("lock wait timeout");
+            }
+            batches.add(List.of(orderId));
+            return null;
+        }).when(orderAuditRepository).insertAll(anyList());
+        writer.start();
+
+        // A NON-DATABASE FAILURE IS NOT RETRIED; THE BATCH IS COUNTED AS LOST
+        statusChanged(1L);
+        awaitCount("order.audit.lost", 1);
+
+        // THE THREAD SURVIVED, AND A DATABASE HICCUP IS RETRIED
+        statusChanged(2L);
+        writer.stop();
+
+        assertThat(batches).containsExactly(List.of(2L));
+        assertThat(count("order.audit.lost")).isEqualTo(1);
+        assertThat(count("order.audit.written")).isEqualTo(1);
+    }
+
+    @Test
+    public void stop_shouldDrainEveryQueuedEntryBeforeReturning() throws InterruptedException {
+        writer.start();
+        for (long orderId = 1; orderId <= 1_000; orderId++) {
+            statusChanged(orderId);
+        }
+
+        writer.stop();
+
+        List<Long> written = new ArrayList<>();
+        batches.forEach(written::addAll);
+        assertThat(written).hasSize(1_000).doesNotHaveDuplicates();
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(BATCH_SIZE));
+        assertThat(count("order.audit.written")).isEqualTo(1_000);
+        assertThat(count("order.audit.dropped")).isZero();
+    }
+
+    private void statusChanged(Long orderId) {
+        writer.onOrderStatusChanged(new OrderStatusChangedEvent(orderId, 1L, null, LocalDate.now(),
+                Status.Pending, Status.Approved, 1));
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private void awaitCount(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count(name) < expected && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(count(name)).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,179 @@
+package com.procurement.system.construction.industry.config.catalog;
+
+import com.procurement.system.construction.industry.dto.ItemDTO;
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ItemCatalogTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // STANDS IN FOR THE item TABLE; EVERY LOAD COPIES WHAT IS COMMITTED AT THAT MOMENT
+    private final List<Item> rows = new CopyOnWriteArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseLoad = new CountDownLatch(1);
+    private volatile int blockedLoad = -1;
+    private volatile int failedLoad = -1;
+
+    private ItemRepository itemRepository;
+    private ItemCatalog catalog;
+
+    @BeforeEach
+    public void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAll()).thenAnswer(invocation -> {
+            List<Item> committed = List.copyOf(rows);
+            int load = loads.incrementAndGet();
+            if(load == failedLoad){
+                throw new IllegalStateException("connection reset");
+            }
+            if(load == blockedLoad){
+                loadStarted.countDown();
+                releaseLoad.await(10, TimeUnit.SECONDS);
+            }
+            return committed;
+        });
+        catalog = new ItemCatalog(itemRepository, meterRegistry);
+
+        rows.add(item(1L, "Cement"));
+        assertThat(names(catalog.all())).containsExactly("Cement");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        releaseLoad.countDown();
+        catalog.shutdown();
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void invalidate_shouldRebuildOnlyOnceTheWriteCommits() throws InterruptedException {
+        rows.add(item(2L, "Steel Bar"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        catalog.invalidate();
+
+        // STILL INSIDE THE WRITING TRANSACTION: READERS KEEP THE COMMITTED SNAPSHOT
+        assertThat(catalog.get(2L)).isEmpty();
+        assertThat(version()).isEqualTo(1);
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        awaitVersion(2);
+        assertThat(catalog.get(2L)).map(ItemDTO::getName).contains("Steel Bar");
+    }
+
+    @Test
+    public void invalidate_shouldLeaveTheSnapshotAlone_whenTheWriteRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        catalog.invalidate();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(names(catalog.all())).containsExactly("Cement");
+        assertThat(version()).isEqualTo(1);
+        verify(itemRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void reader_shouldGetThePreviousSnapshotWithoutLoading_whileARebuildIsRunning() throws InterruptedException {
+        blockedLoad = 2;
+        rows.add(item(2L, "Steel Bar"));
+        catalog.invalidate();
+        assertThat(loadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // COMMITS WHILE VERSION 2 IS STILL LOADING THE OLD ROWS
+        rows.add(item(3L, "Brick"));
+        catalog.invalidate();
+
+        // THE LOAD IS STILL BLOCKED, SO ANY READER THAT WAITED ON IT OR LOADED ITSELF WOULD HANG OR ADD A LOAD
+        assertThat(names(catalog.all())).containsExactly("Cement");
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("item.catalog.requests").tag("result", "stale").counter().count()).isEqualTo(1);
+
+        releaseLoad.countDown();
+        awaitVersion(3);
+        assertThat(names(catalog.all())).containsExactly("Cement", "Steel Bar", "Brick");
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void reader_shouldLoadTheCatalogItself_afterTheBackgroundRebuildFailed() throws InterruptedException {
+        failedLoad = 2;
+        rows.add(item(2L, "Steel Bar"));
+        catalog.invalidate();
+
+        // UNTIL THE FAILURE IS RECORDED THE OLD SNAPSHOT IS SERVED; AFTER IT, THE NEXT READER LOADS
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!names(catalog.all()).contains("Steel Bar") && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertThat(names(catalog.all())).containsExactly("Cement", "Steel Bar");
+        assertThat(version()).isEqualTo(2);
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("item.catalog.requests").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void burstOfWrites_shouldCoalesceIntoOneFurtherRebuild() throws InterruptedException {
+        blockedLoad = 2;
+        rows.add(item(2L, "Steel Bar"));
+        catalog.invalidate();
+        assertThat(loadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 50; i++) {
+            catalog.invalidate();
+        }
+        releaseLoad.countDown();
+
+        awaitVersion(52);
+        // THE FIRST LOAD, THE BLOCKED ONE, AND ONE PASS FOR ALL FIFTY WRITES THAT LANDED DURING IT
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    private void awaitVersion(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (version() < expected && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(version()).isEqualTo(expected);
+    }
+
+    private double version() {
+        return meterRegistry.get("item.catalog.version").gauge().value();
+    }
+
+    private static List<String> names(List<ItemDTO> items) {
+        return items.stream().map(ItemDTO::getName).toList();
+    }
+
+    private static Item item(Long itemId, String name) {
+        return Item.builder()
+                .itemId(itemId)
+                .name(name)
+                .manufacturer("Tokyo")
+                .price(100.0)
+                .volumeType("Unit").build();
+    }
+}
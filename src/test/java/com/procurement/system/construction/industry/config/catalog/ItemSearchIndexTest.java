@@ -0,0 +1,151 @@
+package com.procurement.system.construction.industry.config.catalog;
+
+import com.procurement.system.construction.industry.dto.ItemDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+
+    @AfterEach
+    public void tearDown() {
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void tokenize_shouldSplitOnAnythingButLettersAndDigits() {
+        assertThat(ItemSearchIndex.tokenize("Steel-Bar 12mm, GRADE  A")).containsExactly("steel", "bar", "12mm", "grade", "a");
+        assertThat(ItemSearchIndex.tokenize(" -- ")).isEmpty();
+        assertThat(ItemSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    public void search_shouldRankANameHitAboveADescriptionHit_thenTheShorterName() {
+        ItemSearchIndex index = seeded(
+                item(1L, "Rebar", "galvanised steel rod"),
+                item(2L, "Steel Pipe Long", null),
+                item(3L, "Steel", null),
+                item(4L, "Brick", null));
+
+        assertThat(ids(index.search("steel", 10))).containsExactly(3L, 2L, 1L);
+        assertThat(ids(index.search("steel", 1))).containsExactly(3L);
+    }
+
+    @Test
+    public void search_shouldRequireEveryToken() {
+        ItemSearchIndex index = seeded(
+                item(1L, "Red Brick", null),
+                item(2L, "Red Tile", null),
+                item(3L, "Grey Brick", null));
+
+        assertThat(ids(index.search("brick red", 10))).containsExactly(1L);
+        assertThat(index.search("brick blue", 10)).isEmpty();
+    }
+
+    @Test
+    public void search_shouldFallBackToSimilarTerms_butAutocompleteShouldNot() {
+        ItemSearchIndex index = seeded(
+                item(1L, "Cement", null),
+                item(2L, "Brick", null));
+
+        assertThat(ids(index.search("cemnt", 10))).containsExactly(1L);
+        assertThat(index.autocomplete("cemnt", 10)).isEmpty();
+    }
+
+    @Test
+    public void autocomplete_shouldMatchTheLastTokenAsAPrefix() {
+        ItemSearchIndex index = seeded(
+                item(1L, "Steel Bar", null),
+                item(2L, "Stone Slab", null),
+                item(3L, "Red Steel Sheet", null));
+
+        assertThat(ids(index.autocomplete("st", 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.autocomplete("red st", 10))).containsExactly(3L);
+        // ONLY THE LAST TOKEN IS STILL BEING TYPED
+        assertThat(index.autocomplete("ste bar", 10)).isEmpty();
+    }
+
+    @Test
+    public void autocomplete_shouldFindAPrefixMatchBeyondTheFirstExpandedTerms() {
+        List<ItemDTO> items = new ArrayList<>();
+        // MORE TERMS STARTING WITH "b" THAN A ONE-TOKEN LOOKUP EXPANDS, ALL SORTING BEFORE "bz"
+        for (long i = 0; i < 100; i++) {
+            items.add(item(100L + i, String.format("Blue b%03d", i), null));
+        }
+        items.add(item(1L, "Red bz", null));
+        ItemSearchIndex index = seeded(items.toArray(ItemDTO[]::new));
+
+        assertThat(ids(index.autocomplete("red b", 10))).containsExactly(1L);
+    }
+
+    @Test
+    public void index_shouldApplyOnlyOnceTheWriteCommits() {
+        ItemSearchIndex index = seeded(item(1L, "Cement", null));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(item(2L, "Cement Mixer", null));
+        index.remove(1L);
+        assertThat(ids(index.search("cement", 10))).containsExactly(1L);
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(ids(index.search("cement", 10))).containsExactly(2L);
+    }
+
+    @Test
+    public void index_shouldLeaveTheIndexAlone_whenTheWriteRollsBack() {
+        ItemSearchIndex index = seeded(item(1L, "Cement", null));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(item(1L, "Brick", null));
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(ids(index.search("cement", 10))).containsExactly(1L);
+        assertThat(index.search("brick", 10)).isEmpty();
+    }
+
+    @Test
+    public void index_shouldReplaceTheTermsOfAnUpdatedItem() {
+        ItemSearchIndex index = seeded(item(1L, "Cement", null));
+
+        index.index(item(1L, "Mortar", null));
+
+        assertThat(index.search("cement", 10)).isEmpty();
+        assertThat(ids(index.search("mortar", 10))).containsExactly(1L);
+    }
+
+    private static ItemSearchIndex seeded(ItemDTO... items) {
+        ItemCatalog itemCatalog = mock(ItemCatalog.class);
+        when(itemCatalog.all()).thenReturn(List.of(items));
+        ItemSearchIndex index = new ItemSearchIndex(itemCatalog, new SimpleMeterRegistry());
+        index.seed();
+        return index;
+    }
+
+    private static List<Long> ids(List<ItemDTO> items) {
+        return items.stream().map(ItemDTO::getItemId).toList();
+    }
+
+    private static ItemDTO item(Long itemId, String name, String description) {
+        return ItemDTO.builder()
+                .itemId(itemId)
+                .name(name)
+                .description(description)
+                .manufacturer("Tokyo")
+                .price(100.0)
+                .volumeType("Unit").build();
+    }
+}
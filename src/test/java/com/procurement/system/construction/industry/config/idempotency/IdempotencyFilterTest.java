@@ -0,0 +1,203 @@
+package com.procurement.system.construction.industry.config.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procurement.system.construction.industry.common.CurrentUser;
+import com.procurement.system.construction.industry.common.CurrentUserContext;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.entity.IdempotencyRecord;
+import com.procurement.system.construction.industry.enums.UserRole;
+import com.procurement.system.construction.industry.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final String ADD_ORDER = "/api/v1/site-manager/order/add";
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 200;
+
+    private final AuthPrincipal siteManager = new AuthPrincipal(7L, "manager@example.com", UserRole.SITE_MANAGER, true, 1L);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    // STANDS IN FOR THE idempotency_record TABLE
+    private final Map<String, IdempotencyRecord> table = new ConcurrentHashMap<>();
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        IdempotencyRecordRepository recordRepository = mock(IdempotencyRecordRepository.class);
+        when(recordRepository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.<String>getArgument(0))));
+        when(recordRepository.save(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            table.put(record.getKeyDigest(), record);
+            return record;
+        });
+
+        IdempotencyStore store = new IdempotencyStore(recordRepository, new SimpleMeterRegistry(), 1000, 60_000);
+        filter = new IdempotencyFilter(store, new ObjectMapper());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        CurrentUserContext.clear();
+    }
+
+    @Test
+    public void doFilter_shouldReplayTheStoredResponse_whenTheSameRequestIsRetried() throws Exception {
+        MockHttpServletResponse first = send("POST", ADD_ORDER, "key-1", createOrder());
+        MockHttpServletResponse retry = send("POST", ADD_ORDER, "key-1", createOrder());
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+    }
+
+    @Test
+    public void doFilter_shouldRejectTheKey_whenItIsReusedForADifferentRequest() throws Exception {
+        send("POST", ADD_ORDER, "key-1", createOrder());
+        MockHttpServletResponse reused = send("DELETE", "/api/v1/site-manager/order/delete/item/5", "key-1", createOrder());
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(reused.getStatus()).isEqualTo(400);
+        assertThat(reused.getContentAsString()).contains("already used for a different request");
+    }
+
+    @Test
+    public void doFilter_shouldRejectTheKey_whenItIsReusedWithADifferentBody() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        FilterChain readsBody = (req, res) -> {
+            received.add(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            createOrder().doFilter(req, res);
+        };
+
+        MockHttpServletResponse first = send("POST", ADD_ORDER, "key-1", "{\"requiredDate\":\"2026-11-01\"}", readsBody);
+        MockHttpServletResponse retry = send("POST", ADD_ORDER, "key-1", "{\"requiredDate\":\"2026-11-01\"}", readsBody);
+        MockHttpServletResponse reused = send("POST", ADD_ORDER, "key-1", "{\"requiredDate\":\"2026-12-01\"}", readsBody);
+
+        // THE CONTROLLER STILL GETS THE BODY THE FILTER HAS ALREADY READ
+        assertThat(received).containsExactly("{\"requiredDate\":\"2026-11-01\"}");
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(reused.getStatus()).isEqualTo(400);
+        assertThat(reused.getContentAsString()).contains("already used for a different request");
+    }
+
+    @Test
+    public void doFilter_shouldLeaveTheCatalogEndpointsAlone() throws Exception {
+        send("PUT", "/api/v1/site-manager/item/update", "key-1", createOrder());
+        MockHttpServletResponse second = send("PUT", "/api/v1/site-manager/item/update", "key-1", createOrder());
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    public void doFilter_shouldTurnAwayTheDuplicate_whileTheFirstRequestIsStillRunning() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> send("POST", ADD_ORDER, "key-1", (req, res) -> {
+                running.countDown();
+                awaitQuietly(release);
+                createOrder().doFilter(req, res);
+            }));
+            assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+
+            MockHttpServletResponse duplicate = send("POST", ADD_ORDER, "key-1", createOrder());
+            release.countDown();
+
+            assertThat(duplicate.getStatus()).isEqualTo(409);
+            assertThat(first.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void doFilter_shouldRunTheWriteOnce_whenRetriesWithOneKeyRace() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                String key = "race-" + round;
+                CyclicBarrier barrier = new CyclicBarrier(THREADS);
+                List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    responses.add(executor.submit(() -> {
+                        barrier.await(10, TimeUnit.SECONDS);
+                        return send("POST", ADD_ORDER, key, createOrder());
+                    }));
+                }
+
+                for (Future<MockHttpServletResponse> response : responses) {
+                    // EVERY LOSER EITHER SAW THE WRITE IN FLIGHT OR REPLAYED ITS RESULT; NONE RAN IT AGAIN
+                    assertThat(response.get(10, TimeUnit.SECONDS).getStatus()).isIn(201, 409);
+                }
+                assertThat(executions.get()).isEqualTo(round + 1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FilterChain createOrder() {
+        return (req, res) -> {
+            int order = executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(201);
+            res.setContentType("application/json");
+            res.getWriter().write("{\"orderId\":" + order + "}");
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MockHttpServletResponse send(String method, String path, String key, FilterChain chain) throws Exception {
+        return send(method, path, key, "", chain);
+    }
+
+    private MockHttpServletResponse send(String method, String path, String key, String body, FilterChain chain) throws Exception {
+        CurrentUserContext.set(new CurrentUser(siteManager, "token"));
+        try {
+            MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            return response;
+        } finally {
+            CurrentUserContext.clear();
+        }
+    }
+}
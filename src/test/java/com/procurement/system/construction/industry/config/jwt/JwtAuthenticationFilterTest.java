@@ -0,0 +1,151 @@
+package com.procurement.system.construction.industry.config.jwt;
+
+import com.procurement.system.construction.industry.common.CurrentUser;
+import com.procurement.system.construction.industry.common.CurrentUserContext;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS = 20_000;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        jwtService = mock(JwtService.class);
+        TokenVersionRegistry tokenVersionRegistry = mock(TokenVersionRegistry.class);
+
+        // THE TOKEN IS THE EMAIL, SO EVERY REQUEST CARRIES A DISTINCT, CHECKABLE IDENTITY
+        when(jwtService.extactAllClaims(anyString()))
+                .thenAnswer(invocation -> claimsOf(invocation.getArgument(0), JwtService.ACCESS_TOKEN));
+        when(jwtService.isTokenValid(any(Claims.class), any())).thenReturn(true);
+        when(tokenVersionRegistry.isCurrent(any(Claims.class))).thenReturn(true);
+
+        UserDetailsService userDetailsService = email -> new AuthPrincipal(
+                userIdOf(email), email, UserRole.SITE_MANAGER, true, userIdOf(email) % 7);
+
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenVersionRegistry);
+    }
+
+    @Test
+    public void doFilter_shouldExposeOnlyTheCallersIdentity_whenRequestsRunConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        AtomicInteger leaks = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            long userId = i;
+            futures.add(executor.submit(() -> {
+                if(CurrentUserContext.get().isPresent()){
+                    leaks.incrementAndGet();
+                }
+
+                String email = "user" + userId + "@example.com";
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/all-users/order/all/details");
+                request.addHeader("Authorization", "Bearer " + email);
+
+                try {
+                    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                        // LET OTHER REQUESTS INTERLEAVE WHILE THIS ONE IS "IN THE CONTROLLER"
+                        if(userId < THREADS){
+                            awaitQuietly(barrier);
+                        }
+                        Thread.yield();
+
+                        CurrentUser currentUser = CurrentUserContext.get().orElseThrow();
+                        if(!currentUser.getPrincipal().getUserId().equals(userId)
+                                || !currentUser.getToken().equals(email)){
+                            leaks.incrementAndGet();
+                        }
+                    });
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+
+                if(CurrentUserContext.get().isPresent()){
+                    leaks.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(leaks.get()).isZero();
+    }
+
+    @Test
+    public void doFilter_shouldLeaveContextEmpty_whenNoBearerTokenIsSent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> assertThat(CurrentUserContext.get()).isEmpty());
+
+        assertThat(CurrentUserContext.get()).isEmpty();
+    }
+
+    @Test
+    public void doFilter_shouldNotAuthenticate_whenARefreshTokenIsSentAsBearer() throws Exception {
+        String email = "user42@example.com";
+        when(jwtService.extactAllClaims(email)).thenReturn(claimsOf(email, JwtService.REFRESH_TOKEN));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/all-users/order/all/details");
+        request.addHeader("Authorization", "Bearer " + email);
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+                assertThat(CurrentUserContext.get()).isEmpty();
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static Claims claimsOf(String email, String tokenType) {
+        Claims claims = Jwts.claims()
+                .setSubject(email)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        claims.put(JwtService.TOKEN_TYPE_CLAIM, tokenType);
+        return claims;
+    }
+
+    private static long userIdOf(String email) {
+        return Long.parseLong(email.substring(4, email.indexOf('@')));
+    }
+
+    private static void awaitQuietly(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException | BrokenBarrierException | TimeoutException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
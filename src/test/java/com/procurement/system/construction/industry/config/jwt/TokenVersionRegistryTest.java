@@ -0,0 +1,117 @@
+package com.procurement.system.construction.industry.config.jwt;
+
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.TestFixtures;
+import com.procurement.system.construction.industry.entity.User;
+import com.procurement.system.construction.industry.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// THE SAVES AND THE REVOKES COMMIT ON THEIR OWN, AS THEY WOULD FROM TWO REQUESTS
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenVersionRegistryTest {
+
+    private static final int REVOKES = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TokenVersionRegistry tokenVersionRegistry;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionRegistry = new TokenVersionRegistry(userRepository, new SimpleMeterRegistry(), 100);
+        userId = userRepository.save(TestFixtures.supplier("supplier@example.com").build()).getUserId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void save_ofAUserReadBeforeARevoke_keepsTheRevoke() {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // MANAGED: THE ENTITY IS LOADED, ANOTHER REQUEST REVOKES, THEN THE DIRTY ENTITY IS FLUSHED
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            concurrent.executeWithoutResult(inner -> tokenVersionRegistry.revokeAll(userId));
+            assertEquals(0, user.getTokenVersion());
+
+            user.setIsActive(false);
+            userRepository.save(user);
+        });
+        assertEquals(1, tokenVersionRegistry.currentVersion(userId));
+
+        // DETACHED: THE MERGE COPIES EVERY FIELD OF THE STALE COPY ONTO THE FRESH ROW
+        User detached = userRepository.findById(userId).orElseThrow();
+        tokenVersionRegistry.revokeAll(userId);
+        detached.setIsActive(true);
+        userRepository.save(detached);
+
+        assertEquals(2, tokenVersionRegistry.currentVersion(userId));
+        assertTrue(userRepository.findById(userId).orElseThrow().getIsActive());
+    }
+
+    @Test
+    void concurrentSavesAndRevokes_loseNoRevoke() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Void> revoker = () -> {
+            start.await();
+            for (int i = 0; i < REVOKES; i++) {
+                tokenVersionRegistry.revokeAll(userId);
+            }
+            return null;
+        };
+        Callable<Void> saver = () -> {
+            start.await();
+            for (int i = 0; i < REVOKES; i++) {
+                User user = userRepository.findById(userId).orElseThrow();
+                user.setIsActive(!user.getIsActive());
+                userRepository.save(user);
+            }
+            return null;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Void>> futures = List.of(executor.submit(revoker), executor.submit(saver));
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(REVOKES, userRepository.findTokenVersionByUserId(userId).orElseThrow());
+        assertEquals(REVOKES, tokenVersionRegistry.currentVersion(userId));
+    }
+}
@@ -0,0 +1,187 @@
+package com.procurement.system.construction.industry.config.outbox;
+
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.entity.OutboxEvent;
+import com.procurement.system.construction.industry.enums.OutboxEventType;
+import com.procurement.system.construction.industry.enums.OutboxStatus;
+import com.procurement.system.construction.industry.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// THE DISPATCHER CLAIMS, LEASES AND MARKS ROWS IN ITS OWN TRANSACTIONS, SO IT RUNS AGAINST REAL COMMITS
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long LEASE = 60_000;
+    private static final long INITIAL_BACKOFF = 30_000;
+    private static final long MAX_BACKOFF = 45_000;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RecordingSink sink;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        sink = new RecordingSink();
+        dispatcher = new OutboxDispatcher(outboxEventRepository, sink, transactionManager, new SimpleMeterRegistry(),
+                BATCH_SIZE, 10, MAX_ATTEMPTS, LEASE, INITIAL_BACKOFF, MAX_BACKOFF, 86_400_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void dispatch_deliversEveryDueEventInIdOrder_acrossBatches() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(pending(100L + i).getId());
+        }
+
+        dispatcher.dispatch();
+
+        assertEquals(ids, sink.delivered);
+        for (Long id : ids) {
+            OutboxEvent event = outboxEventRepository.findById(id).orElseThrow();
+            assertEquals(OutboxStatus.DELIVERED, event.getStatus());
+            assertEquals(1, event.getAttempts());
+            assertNotNull(event.getDeliveredAt());
+        }
+    }
+
+    @Test
+    void dispatch_retriesAFailedEventWithGrowingBackoff() {
+        Long id = pending(100L).getId();
+        sink.failuresLeft.put(id, 2);
+
+        Instant before = Instant.now();
+        dispatcher.dispatch();
+        OutboxEvent event = outboxEventRepository.findById(id).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertNotNull(event.getLastError());
+        assertWithin(before.plusMillis(INITIAL_BACKOFF), event.getNextAttemptAt());
+
+        // NOT DUE YET, SO AN IMMEDIATE POLL LEAVES IT ALONE
+        dispatcher.dispatch();
+        assertEquals(1, sink.attempts.get(id));
+
+        // THE SECOND DELAY DOUBLES, BUT IS CAPPED AT max-backoff
+        makeDue(id);
+        before = Instant.now();
+        dispatcher.dispatch();
+        event = outboxEventRepository.findById(id).orElseThrow();
+        assertEquals(2, event.getAttempts());
+        assertWithin(before.plusMillis(MAX_BACKOFF), event.getNextAttemptAt());
+
+        makeDue(id);
+        dispatcher.dispatch();
+        event = outboxEventRepository.findById(id).orElseThrow();
+        assertEquals(OutboxStatus.DELIVERED, event.getStatus());
+        assertEquals(List.of(id), sink.delivered);
+    }
+
+    @Test
+    void dispatch_deadLettersAnEventAfterMaxAttempts() {
+        Long id = pending(100L).getId();
+        sink.failuresLeft.put(id, Integer.MAX_VALUE);
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS + 2; attempt++) {
+            dispatcher.dispatch();
+            makeDue(id);
+        }
+
+        OutboxEvent event = outboxEventRepository.findById(id).orElseThrow();
+        assertEquals(OutboxStatus.DEAD, event.getStatus());
+        assertEquals(MAX_ATTEMPTS, event.getAttempts());
+        assertEquals(MAX_ATTEMPTS, sink.attempts.get(id));
+        assertTrue(sink.delivered.isEmpty());
+    }
+
+    @Test
+    void dispatch_reclaimsAnEventOnceTheLeaseOfADeadDispatcherRunsOut() {
+        Long id = pending(100L).getId();
+
+        // ANOTHER DISPATCHER LEASED THE ROW AND DIED BEFORE DELIVERING IT
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxEventRepository.lease(List.of(id), Instant.now().plusMillis(LEASE)));
+        dispatcher.dispatch();
+        assertTrue(sink.attempts.isEmpty());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxEventRepository.lease(List.of(id), Instant.now().minusMillis(1)));
+        dispatcher.dispatch();
+
+        assertEquals(List.of(id), sink.delivered);
+        assertEquals(OutboxStatus.DELIVERED, outboxEventRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    private OutboxEvent pending(Long aggregateId) {
+        Instant now = Instant.now();
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(OutboxEventType.ORDER_STATUS_CHANGED)
+                .aggregateId(aggregateId)
+                .payload("{\"orderId\":" + aggregateId + "}")
+                .createdAt(now)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(now.minusSeconds(1)).build());
+    }
+
+    // STANDS IN FOR THE CLOCK MOVING PAST THE BACKOFF
+    private void makeDue(Long id) {
+        OutboxEvent event = outboxEventRepository.findById(id).orElseThrow();
+        outboxEventRepository.markFailed(id, event.getStatus(), event.getAttempts(), Instant.now().minusSeconds(1), event.getLastError());
+    }
+
+    private static void assertWithin(Instant expected, Instant actual) {
+        Duration drift = Duration.between(expected, actual).abs();
+        assertTrue(drift.compareTo(Duration.ofSeconds(5)) < 0, () -> "expected about " + expected + " but was " + actual);
+    }
+
+    private static final class RecordingSink implements OutboxSink {
+
+        private final List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+        private final Map<Long, Integer> attempts = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> failuresLeft = new ConcurrentHashMap<>();
+
+        @Override
+        public void deliver(OutboxEvent event) {
+            attempts.merge(event.getId(), 1, Integer::sum);
+            if(failuresLeft.getOrDefault(event.getId(), 0) > 0){
+                failuresLeft.merge(event.getId(), -1, Integer::sum);
+                throw new IllegalStateException("sink unavailable");
+            }
+            delivered.add(event.getId());
+        }
+    }
+}
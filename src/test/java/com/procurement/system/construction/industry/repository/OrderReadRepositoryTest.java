@@ -0,0 +1,207 @@
+package com.procurement.system.construction.industry.repository;
+
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.TestFixtures;
+import com.procurement.system.construction.industry.common.OrderCursor;
+import com.procurement.system.construction.industry.dto.OrderDetailsDTO;
+import com.procurement.system.construction.industry.dto.OrderFilterDTO;
+import com.procurement.system.construction.industry.dto.OrderItemDTO;
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.entity.OrderDetails;
+import com.procurement.system.construction.industry.entity.OrderItem;
+import com.procurement.system.construction.industry.entity.Site;
+import com.procurement.system.construction.industry.entity.User;
+import com.procurement.system.construction.industry.enums.Status;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+class OrderReadRepositoryTest {
+
+    private static final int ORDERS = 50;
+    private static final int ITEMS_PER_ORDER = 3;
+    // LINES OF 1, 2 AND 3 BAGS AT 2500
+    private static final double ORDER_TOTAL = 15000.0;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Statistics statistics;
+    private Long siteId;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        Site site = entityManager.persist(TestFixtures.northYard().build());
+        siteId = site.getSiteId();
+
+        item = entityManager.persist(TestFixtures.cement().build());
+
+        Status[] statuses = Status.values();
+        for (int i = 0; i < ORDERS; i++) {
+            Status status = statuses[i % statuses.length];
+            OrderDetails order = entityManager.persist(OrderDetails.builder()
+                    .status(status)
+                    .requiredDate(LocalDate.now().plusDays(i))
+                    .totalAmount(ORDER_TOTAL)
+                    .site(site).build());
+
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                entityManager.persist(OrderItem.builder()
+                        .quantity(j + 1)
+                        .unitPrice(2500.0)
+                        .lineTotal((j + 1) * 2500.0)
+                        .status(status)
+                        .item(item)
+                        .order(order).build());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findSiteOrderDetails_usesTwoQueriesRegardlessOfOrderCount() {
+        List<OrderDetailsDTO> orders = orderRepository.findSiteOrderDetails(siteId, EnumSet.allOf(Status.class));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(ORDERS, orders.size());
+        orders.forEach(order -> {
+            assertEquals(siteId, order.getSiteId());
+            assertEquals(ITEMS_PER_ORDER, order.getItems().size());
+            assertEquals(ORDER_TOTAL, order.getTotalAmount());
+            assertEquals(ORDER_TOTAL, order.getItems().stream().mapToDouble(OrderItemDTO::getLineTotal).sum());
+        });
+    }
+
+    @Test
+    void findSiteOrderDetails_onlyAttachesItemsForVisibleStatuses() {
+        List<OrderDetailsDTO> orders = orderRepository.findSiteOrderDetails(siteId, EnumSet.of(Status.Approved, Status.Returned));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(ORDERS, orders.size());
+        orders.forEach(order -> {
+            if(order.getStatus() == Status.Approved || order.getStatus() == Status.Returned){
+                assertEquals(ITEMS_PER_ORDER, order.getItems().size());
+            }else{
+                assertNull(order.getItems());
+            }
+        });
+    }
+
+    @Test
+    void findSiteOrderPage_walksEveryOrderOnceInRequiredDateOrder() {
+        OrderFilterDTO filter = new OrderFilterDTO();
+        List<Long> seen = new ArrayList<>();
+        OrderCursor after = null;
+
+        while (true) {
+            statistics.clear();
+            List<OrderDetailsDTO> page = orderRepository.findSiteOrderPage(siteId, filter, after, 7, EnumSet.allOf(Status.class));
+            if(page.isEmpty()){
+                break;
+            }
+
+            // DEEP PAGES COST THE SAME AS THE FIRST: ORDERS, THEN ITEMS
+            assertEquals(2, statistics.getPrepareStatementCount());
+            page.forEach(order -> seen.add(order.getOrderId()));
+
+            OrderDetailsDTO last = page.get(page.size() - 1);
+            after = new OrderCursor(last.getRequiredDate(), last.getOrderId());
+        }
+
+        assertEquals(ORDERS, seen.size());
+        assertEquals(ORDERS, seen.stream().distinct().count());
+    }
+
+    @Test
+    void findSiteOrderPage_appliesStatusAndDateFilters() {
+        OrderFilterDTO filter = OrderFilterDTO.builder()
+                .status(Status.Pending)
+                .fromDate(LocalDate.now().plusDays(10))
+                .toDate(LocalDate.now().plusDays(30)).build();
+
+        List<OrderDetailsDTO> page = orderRepository.findSiteOrderPage(siteId, filter, null, ORDERS, EnumSet.allOf(Status.class));
+
+        assertFalse(page.isEmpty());
+        page.forEach(order -> {
+            assertEquals(Status.Pending, order.getStatus());
+            assertFalse(order.getRequiredDate().isBefore(filter.getFromDate()));
+            assertFalse(order.getRequiredDate().isAfter(filter.getToDate()));
+        });
+    }
+
+    @Test
+    void findSupplierOrderPage_onlyReadsTheSuppliersOpenOrdersAcrossSites() {
+        User supplier = entityManager.persist(TestFixtures.supplier("kasun@supplier.lk").build());
+        Site otherSite = entityManager.persist(TestFixtures.southYard().build());
+
+        // TWO APPROVED ORDERS PER SITE, PLUS ONE PENDING THAT MUST STAY OUT OF THE INBOX
+        for (Site site : List.of(entityManager.find(Site.class, siteId), otherSite)) {
+            for (Status status : List.of(Status.Approved, Status.Approved, Status.Pending)) {
+                OrderDetails order = entityManager.persist(OrderDetails.builder()
+                        .status(status)
+                        .requiredDate(LocalDate.now())
+                        .supplier(supplier)
+                        .site(site).build());
+                entityManager.persist(OrderItem.builder()
+                        .quantity(1)
+                        .status(status)
+                        .item(item)
+                        .order(order).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        OrderCursor after = null;
+        while (true) {
+            statistics.clear();
+            List<OrderDetailsDTO> page = orderRepository.findSupplierOrderPage(
+                    supplier.getUserId(), EnumSet.of(Status.Approved, Status.Returned), after, 3);
+            if(page.isEmpty()){
+                break;
+            }
+
+            assertEquals(2, statistics.getPrepareStatementCount());
+            page.forEach(order -> {
+                assertEquals(supplier.getUserId(), order.getSupplierId());
+                assertEquals(Status.Approved, order.getStatus());
+                assertEquals(1, order.getItems().size());
+                seen.add(order.getOrderId());
+            });
+
+            OrderDetailsDTO last = page.get(page.size() - 1);
+            after = new OrderCursor(last.getRequiredDate(), last.getOrderId());
+        }
+
+        assertEquals(4, seen.size());
+    }
+}
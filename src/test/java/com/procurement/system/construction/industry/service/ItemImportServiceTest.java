@@ -0,0 +1,164 @@
+package com.procurement.system.construction.industry.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.config.catalog.ItemCatalog;
+import com.procurement.system.construction.industry.config.catalog.ItemSearchIndex;
+import com.procurement.system.construction.industry.dto.ItemDTO;
+import com.procurement.system.construction.industry.dto.ItemImportReportDTO;
+import com.procurement.system.construction.industry.enums.ImportFormat;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.repository.ItemImportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// EVERY CHUNK IS WRITTEN IN ITS OWN TRANSACTION, SO THE IMPORT RUNS AGAINST REAL COMMITS
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemImportServiceTest {
+
+    private static final int BATCH_SIZE = 4;
+    private static final String HEADER = "name,manufacturer,price,volumeType\n";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ItemImportRepository itemImportRepository;
+    private ItemSearchIndex itemSearchIndex;
+    private ItemImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        itemImportRepository = spy(new ItemImportRepository(jdbcTemplate));
+        itemSearchIndex = mock(ItemSearchIndex.class);
+        importService = new ItemImportServiceImpl(itemImportRepository, mock(ItemCatalog.class), itemSearchIndex,
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), transactionManager,
+                new SimpleMeterRegistry(), BATCH_SIZE, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM item");
+    }
+
+    @Test
+    void importItems_keepsStoredOptionalColumns_whenTheFileLeavesThemOut() throws BadRequestException {
+        csv("name,description,manufacturer,price,volumeType,weight,color\n" +
+                "Cement,\"grade 2, bagged\",Tokyo,100,Bag,50,grey\n");
+
+        ItemImportReportDTO report = csv(HEADER + "Cement,Tokyo,120,Bag\n");
+
+        assertEquals(1, report.getUpdated());
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM item WHERE name = 'Cement'");
+        assertEquals(120.0, ((Number) row.get("PRICE")).doubleValue());
+        assertEquals("grade 2, bagged", row.get("DESCRIPTION"));
+        assertEquals(50.0, ((Number) row.get("WEIGHT")).doubleValue());
+        assertEquals("grey", row.get("COLOR"));
+
+        // THE INDEX IS FED THE ROW AS STORED, NOT THE PARTIAL ONE FROM THE FILE
+        ArgumentCaptor<ItemDTO> indexed = ArgumentCaptor.forClass(ItemDTO.class);
+        verify(itemSearchIndex, times(2)).index(indexed.capture());
+        ItemDTO updated = indexed.getAllValues().get(1);
+        assertEquals(120.0, updated.getPrice());
+        assertEquals("grade 2, bagged", updated.getDescription());
+        assertEquals("grey", updated.getColor());
+    }
+
+    @Test
+    void importItems_replaysAFailedChunkRowByRow_andReportsOnlyTheBadRow() throws BadRequestException {
+        // THE BATCH REALLY RUNS, THEN FAILS, SO THE CHUNK'S OTHER ROWS ARE ROLLED BACK WITH IT
+        doAnswer(invocation -> {
+            List<ItemDTO> items = invocation.getArgument(0);
+            Object ids = invocation.callRealMethod();
+            if(items.stream().anyMatch(item -> item.getName().equals("Rejected"))){
+                throw new DataIntegrityViolationException("rejected by a constraint");
+            }
+            return ids;
+        }).when(itemImportRepository).insertAll(anyList());
+
+        ItemImportReportDTO report = csv(HEADER +
+                "Cement,Tokyo,100,Bag\n" +
+                "Rejected,Tokyo,100,Bag\n" +
+                "Brick,Lanka,20,Unit\n" +
+                "Tile,Lanka,5,Unit\n" +
+                "Sand,Lanka,30,Cube\n");
+
+        assertEquals(5, report.getRows());
+        assertEquals(4, report.getInserted());
+        assertEquals(1, report.getFailed());
+        assertEquals(1, report.getErrors().size());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        assertEquals("Rejected", report.getErrors().get(0).getName());
+        assertEquals(List.of("Brick", "Cement", "Sand", "Tile"),
+                jdbcTemplate.queryForList("SELECT name FROM item ORDER BY name", String.class));
+    }
+
+    @Test
+    void importItems_appliesANameRepeatedInOneChunkInFileOrder() throws BadRequestException {
+        ItemImportReportDTO report = csv(HEADER +
+                "Cement,Tokyo,100,Bag\n" +
+                "Brick,Lanka,20,Unit\n" +
+                "cement ,Tokyo,120,Bag\n");
+
+        assertEquals(3, report.getRows());
+        assertEquals(2, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(0, report.getFailed());
+        List<Map<String, Object>> cement = jdbcTemplate.queryForList("SELECT name, price FROM item WHERE LOWER(name) = 'cement'");
+        assertEquals(1, cement.size());
+        assertEquals("cement", cement.get(0).get("NAME"));
+        assertEquals(120.0, ((Number) cement.get(0).get("PRICE")).doubleValue());
+    }
+
+    @Test
+    void importItems_readsAHeaderThatStartsWithAByteOrderMark() throws BadRequestException {
+        ItemImportReportDTO report = csv("\uFEFF" + HEADER + "Cement,Tokyo,100,Bag\r\n");
+
+        assertEquals(1, report.getInserted());
+        assertEquals(0, report.getFailed());
+    }
+
+    @Test
+    void importItems_keepsTheRowsBeforeAnUnterminatedQuote() throws BadRequestException {
+        ItemImportReportDTO report = csv(HEADER +
+                "Cement,Tokyo,100,Bag\n" +
+                "\"Brick,Lanka,20,Unit\n");
+
+        assertEquals(1, report.getInserted());
+        assertNotNull(report.getAbortedReason());
+        assertEquals(List.of("Cement"), jdbcTemplate.queryForList("SELECT name FROM item", String.class));
+    }
+
+    private ItemImportReportDTO csv(String body) throws BadRequestException {
+        return importService.importItems(ImportFormat.CSV, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
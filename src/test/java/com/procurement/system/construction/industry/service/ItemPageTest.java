@@ -0,0 +1,149 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.ItemCursor;
+import com.procurement.system.construction.industry.config.catalog.ItemCatalog;
+import com.procurement.system.construction.industry.config.catalog.ItemSearchIndex;
+import com.procurement.system.construction.industry.dto.ItemFilterDTO;
+import com.procurement.system.construction.industry.dto.ItemPageDTO;
+import com.procurement.system.construction.industry.dto.ItemSummaryDTO;
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.enums.ItemSort;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.repository.ItemRepository;
+import com.procurement.system.construction.industry.repository.OrderItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+class ItemPageTest {
+
+    private static final int PAGE_SIZE = 5;
+    // FEW DISTINCT NAMES AND PRICES, SO EVERY PAGE BOUNDARY FALLS INSIDE A RUN OF EQUAL SORT KEYS
+    private static final List<String> NAMES = List.of("Brick", "Cement", "Tile");
+    private static final List<Double> PRICES = List.of(250.0, 100.0);
+    private static final int ITEMS = 17;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    private ItemService itemService;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        // PAGING READS THE TABLE DIRECTLY; THE CATALOG AND THE SEARCH INDEX ARE NOT INVOLVED
+        itemService = new ItemServiceImpl(itemRepository, orderItemRepository, new CommonFunctions(), new ModelMapper(),
+                mock(ItemCatalog.class), mock(ItemSearchIndex.class));
+
+        items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(entityManager.persist(Item.builder()
+                    .name(NAMES.get(i % NAMES.size()))
+                    .manufacturer("Tokyo")
+                    .price(PRICES.get(i % PRICES.size()))
+                    .volumeType("Unit").build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ItemSort.class)
+    void getItemPage_walksEveryItemOnceInSortOrder_acrossEqualKeys(ItemSort sort) throws BadRequestException {
+        Comparator<Item> byKey = sort.byPrice()
+                ? Comparator.comparing(Item::getPrice)
+                : Comparator.comparing(Item::getName);
+        Comparator<Item> order = byKey.thenComparing(Item::getItemId);
+        List<Long> expected = items.stream()
+                .sorted(sort.descending() ? order.reversed() : order)
+                .map(Item::getItemId).toList();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ItemPageDTO page = itemService.getItemPage(new ItemFilterDTO(), sort, cursor, PAGE_SIZE);
+            assertTrue(page.getItems().size() <= PAGE_SIZE);
+            page.getItems().stream().map(ItemSummaryDTO::getItemId).forEach(seen::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void getItemPage_keepsFiltersAcrossPages() throws BadRequestException {
+        ItemFilterDTO filter = ItemFilterDTO.builder().maxPrice(100.0).build();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ItemPageDTO page = itemService.getItemPage(filter, ItemSort.NAME_ASC, cursor, 2);
+            page.getItems().forEach(item -> {
+                assertEquals(100.0, item.getPrice());
+                seen.add(item.getItemId());
+            });
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(items.stream().filter(item -> item.getPrice() == 100.0).count(), seen.size());
+        assertEquals(seen.size(), seen.stream().distinct().count());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "not a cursor!",
+            "NAME_ASC",
+            "NAME_ASC|12",
+            "NAME_ASC|twelve|Brick",
+            "PRICE_ASC|12|cheap",
+            "NEWEST|12|Brick"
+    })
+    void getItemPage_rejectsAMalformedCursor(String raw) {
+        String cursor = raw.contains(" ") ? raw : encode(raw);
+
+        assertThrows(BadRequestException.class,
+                () -> itemService.getItemPage(new ItemFilterDTO(), ItemSort.NAME_ASC, cursor, PAGE_SIZE));
+    }
+
+    @Test
+    void getItemPage_rejectsACursorFromAnotherSortOrder() {
+        String cursor = new ItemCursor(ItemSort.PRICE_DESC, "250.0", 1L).encode();
+
+        assertThrows(BadRequestException.class,
+                () -> itemService.getItemPage(new ItemFilterDTO(), ItemSort.PRICE_ASC, cursor, PAGE_SIZE));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,174 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.CurrentUser;
+import com.procurement.system.construction.industry.common.CurrentUserContext;
+import com.procurement.system.construction.industry.common.OrderStatusChangedEvent;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.enums.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderChangeFeedServiceTest {
+
+    private static final int BUFFER_SIZE = 4;
+    private static final int REPLAY_SIZE = 8;
+    private static final Long SITE_ID = 1L;
+    private static final Long OTHER_SITE_ID = 2L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderChangeFeedServiceImpl feed;
+    private RecordingEmitter emitter;
+
+    @BeforeEach
+    void setUp() {
+        CurrentUserContext.set(new CurrentUser(
+                new AuthPrincipal(10L, "manager@example.com", UserRole.SITE_MANAGER, true, SITE_ID), "token"));
+        emitter = new RecordingEmitter(new CountDownLatch(0));
+        feed = new OrderChangeFeedServiceImpl(new CommonFunctions(), meterRegistry,
+                BUFFER_SIZE, REPLAY_SIZE, 100, 2, 60_000) {
+            @Override
+            SseEmitter newEmitter() {
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+        CurrentUserContext.clear();
+    }
+
+    @Test
+    void subscribe_replaysMissedChangesFromLastEventId_thenFollowsLiveOnes() throws Exception {
+        publish(101L, SITE_ID);
+        publish(102L, OTHER_SITE_ID);
+        publish(103L, SITE_ID);
+        publish(104L, SITE_ID);
+
+        feed.subscribe("1");
+        publish(105L, SITE_ID);
+
+        // 2 BELONGS TO ANOTHER SITE, SO ONLY 3 AND 4 ARE REPLAYED BEFORE THE LIVE 5
+        assertEquals(List.of("3", "4", "5"), ids(emitter.take(3)));
+    }
+
+    @Test
+    void subscribe_sendsReset_whenLastEventIdHasLeftTheRing() throws Exception {
+        for (long orderId = 1; orderId <= REPLAY_SIZE + 4; orderId++) {
+            publish(orderId, SITE_ID);
+        }
+
+        feed.subscribe("2");
+
+        String frame = emitter.take(1).get(0);
+        assertTrue(frame.contains("event:reset"), frame);
+    }
+
+    @Test
+    void subscribe_sendsReset_whenLastEventIdIsNotANumber() throws Exception {
+        publish(101L, SITE_ID);
+
+        feed.subscribe("not-an-id");
+
+        assertTrue(emitter.take(1).get(0).contains("event:reset"));
+    }
+
+    @Test
+    void publish_dropsTheSubscriber_whenItsQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        emitter = new RecordingEmitter(release);
+        feed.subscribe(null);
+
+        // THE FIRST CHANGE IS TAKEN BY THE SENDER, WHICH THEN HANGS ON A SLOW CLIENT
+        publish(100L, SITE_ID);
+        assertTrue(emitter.sending.await(10, TimeUnit.SECONDS));
+
+        for (long orderId = 1; orderId <= BUFFER_SIZE + 1; orderId++) {
+            publish(orderId, SITE_ID);
+        }
+
+        try {
+            assertTrue(emitter.completed);
+            assertEquals(1.0, meterRegistry.get("order.feed.dropped").counter().count());
+            assertEquals(0.0, meterRegistry.get("order.feed.subscribers").gauge().value());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void publish(Long orderId, Long siteId) {
+        feed.onOrderStatusChanged(new OrderStatusChangedEvent(orderId, siteId, null, LocalDate.now(),
+                Status.Pending, Status.Approved, 1));
+    }
+
+    private static List<String> ids(List<String> frames) {
+        List<String> ids = new ArrayList<>();
+        for (String frame : frames) {
+            int start = frame.indexOf("id:") + 3;
+            ids.add(frame.substring(start, frame.indexOf('\n', start)));
+        }
+        return ids;
+    }
+
+    // STANDS IN FOR THE CLIENT CONNECTION: KEEPS THE TEXT OF EVERY FRAME AND CAN HOLD THE SENDER UP
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+            StringBuilder frame = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                frame.append(data.getData() instanceof String text ? text : "<change>");
+            }
+            frames.add(frame.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        private List<String> take(int count) throws InterruptedException {
+            List<String> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String frame = frames.poll(10, TimeUnit.SECONDS);
+                assertNotNull(frame, "expected " + count + " frames, got " + taken);
+                taken.add(frame);
+            }
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.OrderStatusChangedEvent;
+import com.procurement.system.construction.industry.common.OrderSupplierChangedEvent;
+import com.procurement.system.construction.industry.dto.OrderSummaryDTO;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// THE COUNTERS ONLY MOVE ON COMMITTED EVENTS, SO EVERY EVENT HERE IS PUBLISHED INSIDE A REAL TRANSACTION
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderSummaryServiceImpl.class, CommonFunctions.class})
+class OrderSummaryServiceTest {
+
+    // NO site ROW IS NEEDED: A SITE WITH LIVE COUNTERS IS SERVED FROM MEMORY
+    private static final Long SITE_ID = 4242L;
+    private static final Long SUPPLIER_ID = 77L;
+
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        orderSummaryService.removeSite(SITE_ID);
+    }
+
+    @Test
+    void committedEvents_moveTheCounters() throws NotFoundException {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        commit(new OrderStatusChangedEvent(1L, SITE_ID, null, yesterday, null, Status.Pending, 0));
+        commit(new OrderStatusChangedEvent(2L, SITE_ID, null, LocalDate.now().plusDays(3), null, Status.Pending, 0));
+        commit(new OrderStatusChangedEvent(1L, SITE_ID, null, yesterday, Status.Pending, Status.Approved, 1));
+        commit(new OrderSupplierChangedEvent(1L, SITE_ID, null, SUPPLIER_ID));
+
+        OrderSummaryDTO summary = orderSummaryService.getOrderSummary(SITE_ID);
+        assertEquals(1L, summary.getStatusCounts().get(Status.Pending));
+        assertEquals(1L, summary.getStatusCounts().get(Status.Approved));
+        assertEquals(1L, summary.getOverdueCount());
+        assertEquals(Map.of(SUPPLIER_ID, 1L), summary.getSupplierCounts());
+
+        // A CLOSED ORDER IS NO LONGER OVERDUE
+        commit(new OrderStatusChangedEvent(1L, SITE_ID, SUPPLIER_ID, yesterday, Status.Approved, Status.Completed, 2));
+        summary = orderSummaryService.getOrderSummary(SITE_ID);
+        assertEquals(0L, summary.getStatusCounts().get(Status.Approved));
+        assertEquals(1L, summary.getStatusCounts().get(Status.Completed));
+        assertEquals(0L, summary.getOverdueCount());
+    }
+
+    @Test
+    void rolledBackEvents_areNotCounted() throws NotFoundException {
+        commit(new OrderStatusChangedEvent(1L, SITE_ID, null, LocalDate.now(), null, Status.Pending, 0));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(2L, SITE_ID, null, LocalDate.now(), null, Status.Pending, 0));
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(1L, SITE_ID, null, LocalDate.now(), Status.Pending, Status.Cancelled, 1));
+            status.setRollbackOnly();
+        });
+
+        OrderSummaryDTO summary = orderSummaryService.getOrderSummary(SITE_ID);
+        assertEquals(1L, summary.getStatusCounts().get(Status.Pending));
+        assertEquals(0L, summary.getStatusCounts().get(Status.Cancelled));
+    }
+
+    @Test
+    void deletedSite_isNoLongerServed() throws NotFoundException {
+        commit(new OrderStatusChangedEvent(1L, SITE_ID, null, LocalDate.now(), null, Status.Pending, 0));
+        assertEquals(1L, orderSummaryService.getOrderSummary(SITE_ID).getStatusCounts().get(Status.Pending));
+
+        orderSummaryService.removeSite(SITE_ID);
+
+        assertThrows(NotFoundException.class, () -> orderSummaryService.getOrderSummary(SITE_ID));
+    }
+
+    private void commit(Object event) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> eventPublisher.publishEvent(event));
+    }
+}
@@ -0,0 +1,229 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.TestFixtures;
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.CurrentUser;
+import com.procurement.system.construction.industry.common.CurrentUserContext;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.dto.OrderDetailsDTO;
+import com.procurement.system.construction.industry.dto.OrderItemDTO;
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.entity.OrderDetails;
+import com.procurement.system.construction.industry.entity.OrderItem;
+import com.procurement.system.construction.industry.entity.Site;
+import com.procurement.system.construction.industry.entity.User;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.enums.UserRole;
+import com.procurement.system.construction.industry.exception.ConflictException;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// EVERY SERVICE CALL COMMITS ON ITS OWN, AS IT WOULD BEHIND A REQUEST, SO THE TOTALS ARE READ BACK FROM THE DATABASE
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderTotalsTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OrderService orderService;
+    private Site site;
+    private Item cement;
+    private Item brick;
+
+    @BeforeEach
+    void setUp() {
+        // STATUS CHANGES, BUDGETS AND EVENTS HAVE THEIR OWN TESTS; ONLY PRICES AND TOTALS ARE CHECKED HERE
+        orderService = new OrderServiceImpl(orderRepository, orderItemRepository, itemRepository, userRepository,
+                siteRepository, new CommonFunctions(), new ModelMapper(), entityManager,
+                mock(OrderTransitionService.class), mock(SiteBudgetService.class), mock(ApplicationEventPublisher.class));
+
+        site = siteRepository.save(TestFixtures.northYard().build());
+        cement = itemRepository.save(TestFixtures.cement().build());
+        brick = itemRepository.save(TestFixtures.brick().build());
+
+        CurrentUserContext.set(new CurrentUser(
+                new AuthPrincipal(10L, "manager@example.com", UserRole.SITE_MANAGER, true, site.getSiteId()), "token"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        CurrentUserContext.clear();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        itemRepository.deleteAllInBatch();
+        siteRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void orderLines_capturePricesAndMoveTheTotal() {
+        inTransaction(() -> orderService.addOrder(OrderDetailsDTO.builder()
+                .requiredDate(LocalDate.now().plusDays(7))
+                .items(List.of(line(cement.getItemId(), 2), line(brick.getItemId(), 10))).build()));
+
+        Long orderId = orderRepository.findAll().get(0).getOrderId();
+        assertEquals(5200.0, totalOf(orderId));
+
+        // A LATER CATALOG PRICE ONLY APPLIES TO LINES ADDED AFTER IT
+        cement.setPrice(3000.0);
+        itemRepository.save(cement);
+        OrderItemDTO added = line(cement.getItemId(), 1);
+        added.setOrderId(orderId);
+        inTransaction(() -> orderService.addOrderItem(added));
+
+        List<OrderItem> lines = linesOf(orderId);
+        assertEquals(3, lines.size());
+        assertLine(lines.get(0), 2500.0, 5000.0);
+        assertLine(lines.get(1), 20.0, 200.0);
+        assertLine(lines.get(2), 3000.0, 3000.0);
+        assertEquals(8200.0, totalOf(orderId));
+
+        Long brickLine = lines.get(1).getOrderItemId();
+        inTransaction(() -> orderService.removeOrderItem(brickLine));
+
+        assertEquals(2, linesOf(orderId).size());
+        assertEquals(8000.0, totalOf(orderId));
+        assertEquals(linesOf(orderId).stream().mapToDouble(OrderItem::getLineTotal).sum(), totalOf(orderId));
+    }
+
+    @Test
+    void assignSupplier_keepsALineTotalThatCommittedAfterTheOrderWasRead() {
+        inTransaction(() -> orderService.addOrder(OrderDetailsDTO.builder()
+                .requiredDate(LocalDate.now().plusDays(7))
+                .items(List.of(line(cement.getItemId(), 2))).build()));
+        Long orderId = orderRepository.findAll().get(0).getOrderId();
+        User supplier = userRepository.save(TestFixtures.supplier("supplier@example.com").build());
+
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        inTransaction(() -> {
+            // THE ASSIGNMENT HAS ALREADY LOADED THE ORDER WHEN ANOTHER REQUEST ADDS A LINE
+            OrderDetails stale = orderRepository.findById(orderId).orElseThrow();
+            concurrent.executeWithoutResult(status -> orderRepository.addToTotalAmount(orderId, 500.0));
+            assertEquals(5000.0, stale.getTotalAmount());
+
+            return orderService.assignSupplier(orderId, supplier.getUserId());
+        });
+
+        OrderDetails order = orderRepository.findById(orderId).orElseThrow();
+        assertEquals(supplier.getUserId(), order.getSupplier().getUserId());
+        assertEquals(5500.0, order.getTotalAmount());
+    }
+
+    @Test
+    void addOrderItem_isRejected_onceTheOrderHasLeftPending() {
+        inTransaction(() -> orderService.addOrder(OrderDetailsDTO.builder()
+                .requiredDate(LocalDate.now().plusDays(7))
+                .items(List.of(line(cement.getItemId(), 2))).build()));
+        OrderDetails order = orderRepository.findAll().get(0);
+        order.setStatus(Status.Approved);
+        orderRepository.save(order);
+
+        OrderItemDTO added = line(brick.getItemId(), 10);
+        added.setOrderId(order.getOrderId());
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> inTransaction(() -> orderService.addOrderItem(added)));
+
+        assertInstanceOf(ConflictException.class, thrown.getCause());
+        assertEquals(1, linesOf(order.getOrderId()).size());
+        assertEquals(5000.0, totalOf(order.getOrderId()));
+    }
+
+    @Test
+    void addOrderItem_isRejected_onAnotherSitesOrder() {
+        Site otherSite = siteRepository.save(TestFixtures.southYard().build());
+        OrderDetails order = orderRepository.save(OrderDetails.builder()
+                .status(Status.Pending)
+                .requiredDate(LocalDate.now().plusDays(7))
+                .totalAmount(0.0)
+                .site(otherSite).build());
+
+        OrderItemDTO added = line(cement.getItemId(), 1);
+        added.setOrderId(order.getOrderId());
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> inTransaction(() -> orderService.addOrderItem(added)));
+
+        assertInstanceOf(NotFoundException.class, thrown.getCause());
+        assertTrue(linesOf(order.getOrderId()).isEmpty());
+        assertEquals(0.0, totalOf(order.getOrderId()));
+    }
+
+    private Double totalOf(Long orderId) {
+        return orderRepository.findById(orderId).orElseThrow().getTotalAmount();
+    }
+
+    private List<OrderItem> linesOf(Long orderId) {
+        return orderItemRepository.findAll().stream()
+                .filter(orderItem -> orderItem.getOrder().getOrderId().equals(orderId))
+                .sorted(Comparator.comparing(OrderItem::getOrderItemId))
+                .toList();
+    }
+
+    private static void assertLine(OrderItem orderItem, double unitPrice, double lineTotal) {
+        assertEquals(unitPrice, orderItem.getUnitPrice());
+        assertEquals(lineTotal, orderItem.getLineTotal());
+    }
+
+    private static OrderItemDTO line(Long itemId, int quantity) {
+        return OrderItemDTO.builder()
+                .itemId(itemId)
+                .quantity(quantity).build();
+    }
+
+    private <T> T inTransaction(Callable<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            try {
+                return work.call();
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+    }
+}
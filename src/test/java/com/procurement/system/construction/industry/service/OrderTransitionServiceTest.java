@@ -0,0 +1,269 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.TestFixtures;
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.CurrentUser;
+import com.procurement.system.construction.industry.common.CurrentUserContext;
+import com.procurement.system.construction.industry.common.StatusSnapshot;
+import com.procurement.system.construction.industry.config.principal.AuthPrincipal;
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.entity.OrderDetails;
+import com.procurement.system.construction.industry.entity.OrderItem;
+import com.procurement.system.construction.industry.entity.Site;
+import com.procurement.system.construction.industry.entity.User;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.enums.UserRole;
+import com.procurement.system.construction.industry.exception.BadRequestException;
+import com.procurement.system.construction.industry.exception.ConflictException;
+import com.procurement.system.construction.industry.exception.NotFoundException;
+import com.procurement.system.construction.industry.repository.ItemRepository;
+import com.procurement.system.construction.industry.repository.OrderArchiveRepository;
+import com.procurement.system.construction.industry.repository.OrderItemRepository;
+import com.procurement.system.construction.industry.repository.OrderRepository;
+import com.procurement.system.construction.industry.repository.SiteRepository;
+import com.procurement.system.construction.industry.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// THOUSANDS OF CONFLICTING TRANSITIONS ON REAL COMMITS: EVERY APPROVED ORDER IS RACED TO Delivered (SUPPLIER) AND
+// Cancelled (PROCUREMENT MANAGER) FROM MANY THREADS. EXACTLY ONE OF THEM MAY WIN PER ORDER, AND IT MUST WIN ONCE.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderTransitionServiceImpl.class, SiteBudgetServiceImpl.class, OrderArchiveRepository.class, CommonFunctions.class})
+class OrderTransitionServiceTest {
+
+    private static final int ORDERS = 200;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int ATTEMPTS_PER_TARGET = 8;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private OrderTransitionService orderTransitionService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private AuthPrincipal supplier;
+    private AuthPrincipal procurementManager;
+    private List<Long> orderIds;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // ONE TRANSACTION SO THE CASCADING ORDER AND ITEM SAVES SEE A MANAGED SITE AND CATALOG ITEM
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> createOrders());
+    }
+
+    private void createOrders() {
+        Site site = siteRepository.save(TestFixtures.northYard().build());
+        Item item = itemRepository.save(TestFixtures.cement().build());
+
+        User supplierUser = userRepository.save(TestFixtures.supplier("supplier@example.com").build());
+
+        supplier = new AuthPrincipal(supplierUser.getUserId(), supplierUser.getEmail(), UserRole.SUPPLIER, true, null);
+        procurementManager = new AuthPrincipal(2L, "procurement@example.com", UserRole.PROCUREMENT_MANAGER, true, site.getSiteId());
+
+        orderIds = new ArrayList<>(ORDERS);
+        List<OrderItem> items = new ArrayList<>(ORDERS * ITEMS_PER_ORDER);
+        for (int i = 0; i < ORDERS; i++) {
+            OrderDetails order = orderRepository.save(OrderDetails.builder()
+                    .status(Status.Approved)
+                    .requiredDate(LocalDate.now().plusDays(i))
+                    .site(site)
+                    .supplier(supplierUser).build());
+            orderIds.add(order.getOrderId());
+
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                items.add(OrderItem.builder()
+                        .quantity(j + 1)
+                        .unitPrice(item.getPrice())
+                        .lineTotal((j + 1) * item.getPrice())
+                        .status(Status.Approved)
+                        .item(item)
+                        .order(order).build());
+            }
+        }
+        orderItemRepository.saveAll(items);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        itemRepository.deleteAllInBatch();
+        siteRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void conflictingTransitions_exactlyOneWinsPerOrder() throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        Map<Long, Queue<Status>> winners = new ConcurrentHashMap<>();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        for (Long orderId : orderIds) {
+            for (int i = 0; i < ATTEMPTS_PER_TARGET; i++) {
+                tasks.add(transition(orderId, Status.Delivered, supplier, winners, conflicts, unexpected));
+                tasks.add(transition(orderId, Status.Cancelled, procurementManager, winners, conflicts, unexpected));
+            }
+        }
+        Collections.shuffle(tasks, new Random(42));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+        assertEquals(tasks.size() - ORDERS, conflicts.get());
+
+        Map<Long, List<OrderItem>> itemsByOrder = new HashMap<>();
+        orderItemRepository.findAll().forEach(item ->
+                itemsByOrder.computeIfAbsent(item.getOrder().getOrderId(), id -> new ArrayList<>()).add(item));
+
+        for (Long orderId : orderIds) {
+            Queue<Status> won = winners.get(orderId);
+            assertNotNull(won, "no transition won for order " + orderId);
+            assertEquals(1, won.size(), "more than one transition won for order " + orderId);
+
+            Status winner = won.peek();
+            StatusSnapshot order = orderRepository.findStatusSnapshot(orderId).orElseThrow();
+            assertEquals(winner, order.status());
+            assertEquals(1, order.version());
+
+            List<OrderItem> items = itemsByOrder.get(orderId);
+            assertEquals(ITEMS_PER_ORDER, items.size());
+            items.forEach(item -> {
+                assertEquals(winner, item.getStatus());
+                assertEquals(1, item.getVersion());
+            });
+        }
+    }
+
+    @Test
+    void illegalTransition_isRejectedWithoutWriting() {
+        Long orderId = orderIds.get(0);
+        CurrentUserContext.set(new CurrentUser(procurementManager, "token"));
+        try {
+            // APPROVED -> APPROVED IS NOT AN EDGE IN THE TABLE
+            assertThrows(ConflictException.class, () -> orderTransitionService.transitionOrder(orderId, Status.Approved));
+        } finally {
+            CurrentUserContext.clear();
+        }
+
+        StatusSnapshot order = orderRepository.findStatusSnapshot(orderId).orElseThrow();
+        assertEquals(Status.Approved, order.status());
+        assertEquals(0, order.version());
+    }
+
+    @Test
+    void supplier_cannotTransitionAnOrderAssignedToSomeoneElse() {
+        Long orderId = orderIds.get(0);
+        // SAME SITE AS THE ORDER, BUT NOT ITS SUPPLIER
+        AuthPrincipal otherSupplier = new AuthPrincipal(supplier.getUserId() + 1000, "other@example.com",
+                UserRole.SUPPLIER, true, procurementManager.getSiteId());
+        CurrentUserContext.set(new CurrentUser(otherSupplier, "token"));
+        try {
+            assertThrows(NotFoundException.class, () -> orderTransitionService.transitionOrder(orderId, Status.Delivered));
+        } finally {
+            CurrentUserContext.clear();
+        }
+
+        StatusSnapshot order = orderRepository.findStatusSnapshot(orderId).orElseThrow();
+        assertEquals(Status.Approved, order.status());
+        assertEquals(0, order.version());
+    }
+
+    @Test
+    void admin_canBulkTransitionOrdersAcrossSites_withoutASiteOfTheirOwn() throws Exception {
+        Long otherSiteOrder = new TransactionTemplate(transactionManager).execute(status -> {
+            Site otherSite = siteRepository.save(TestFixtures.southYard().build());
+            OrderDetails order = orderRepository.save(OrderDetails.builder()
+                    .status(Status.Approved)
+                    .requiredDate(LocalDate.now())
+                    .site(otherSite).build());
+            orderItemRepository.save(OrderItem.builder()
+                    .quantity(1)
+                    .status(Status.Approved)
+                    .item(itemRepository.findAll().get(0))
+                    .order(order).build());
+            return order.getOrderId();
+        });
+        List<Long> batch = List.of(orderIds.get(0), orderIds.get(1), otherSiteOrder);
+
+        AuthPrincipal admin = new AuthPrincipal(1L, "admin@example.com", UserRole.ADMIN, true, null);
+        CurrentUserContext.set(new CurrentUser(admin, "token"));
+        try {
+            // AN UNKNOWN ID STILL FAILS THE WHOLE BATCH
+            assertThrows(BadRequestException.class,
+                    () -> orderTransitionService.transitionOrders(List.of(orderIds.get(0), -1L), Status.Cancelled));
+            assertEquals(3, orderTransitionService.transitionOrders(batch, Status.Cancelled));
+        } finally {
+            CurrentUserContext.clear();
+        }
+
+        for (Long orderId : batch) {
+            assertEquals(Status.Cancelled, orderRepository.findStatusSnapshot(orderId).orElseThrow().status());
+        }
+        assertEquals(Status.Approved, orderRepository.findStatusSnapshot(orderIds.get(2)).orElseThrow().status());
+    }
+
+    private Callable<Void> transition(Long orderId, Status target, AuthPrincipal actor, Map<Long, Queue<Status>> winners,
+                                      AtomicInteger conflicts, Queue<Throwable> unexpected) {
+        return () -> {
+            CurrentUserContext.set(new CurrentUser(actor, "token"));
+            try {
+                orderTransitionService.transitionOrder(orderId, target);
+                winners.computeIfAbsent(orderId, id -> new ConcurrentLinkedQueue<>()).add(target);
+            } catch (ConflictException exception) {
+                conflicts.incrementAndGet();
+            } catch (Throwable throwable) {
+                unexpected.add(throwable);
+            } finally {
+                CurrentUserContext.clear();
+            }
+            return null;
+        };
+    }
+}
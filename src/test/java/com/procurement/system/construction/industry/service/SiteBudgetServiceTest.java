@@ -0,0 +1,143 @@
+package com.procurement.system.construction.industry.service;
+
+import com.procurement.system.construction.industry.JpaSliceConfig;
+import com.procurement.system.construction.industry.TestFixtures;
+import com.procurement.system.construction.industry.common.CommonFunctions;
+import com.procurement.system.construction.industry.common.LedgerAmount;
+import com.procurement.system.construction.industry.entity.Item;
+import com.procurement.system.construction.industry.entity.OrderDetails;
+import com.procurement.system.construction.industry.entity.OrderItem;
+import com.procurement.system.construction.industry.entity.Site;
+import com.procurement.system.construction.industry.entity.SiteSpend;
+import com.procurement.system.construction.industry.enums.Status;
+import com.procurement.system.construction.industry.repository.OrderArchiveRepository;
+import com.procurement.system.construction.industry.repository.SiteSpendRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaSliceConfig.class)
+@Import({SiteBudgetServiceImpl.class, OrderArchiveRepository.class, CommonFunctions.class})
+class SiteBudgetServiceTest {
+
+    private static final double BUDGET = 10_000.0;
+    private static final double DELTA = 0.001;
+
+    @Autowired
+    private SiteBudgetService siteBudgetService;
+
+    @Autowired
+    private SiteSpendRepository siteSpendRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long siteId;
+
+    @BeforeEach
+    void setUp() {
+        siteId = entityManager.persist(TestFixtures.northYard()
+                .allocatedBudget(BUDGET).build()).getSiteId();
+    }
+
+    @Test
+    void recordItemMoves_reservesApprovalsWithinTheBudget_andRefusesTheRest() {
+        openLedger();
+
+        assertTrue(siteBudgetService.recordItemMoves(siteId, List.of(line(Status.Pending, 6_000.0)), Status.Approved));
+        // 6000 + 5000 WOULD PASS THE 10000 BUDGET
+        assertFalse(siteBudgetService.recordItemMoves(siteId, List.of(line(Status.Pending, 5_000.0)), Status.Approved));
+
+        SiteSpend spend = spend();
+        assertEquals(6_000.0, spend.getCommittedAmount(), DELTA);
+        assertEquals(0.0, spend.getDeliveredAmount(), DELTA);
+
+        // DELIVERY RE-CLASSIFIES THE RESERVED AMOUNT WITHOUT BEING HELD TO THE BUDGET AGAIN
+        assertTrue(siteBudgetService.recordItemMoves(siteId, List.of(line(Status.Approved, 6_000.0)), Status.Delivered));
+        spend = spend();
+        assertEquals(0.0, spend.getCommittedAmount(), DELTA);
+        assertEquals(6_000.0, spend.getDeliveredAmount(), DELTA);
+    }
+
+    @Test
+    void releaseLine_takesADeletedLineOffItsBucket() {
+        openLedger();
+        siteBudgetService.recordItemMoves(siteId, List.of(line(Status.Pending, 4_000.0), line(Status.Pending, 1_500.0)), Status.Approved);
+        siteBudgetService.recordItemMoves(siteId, List.of(line(Status.Approved, 1_500.0)), Status.Delivered);
+
+        siteBudgetService.releaseLine(siteId, Status.Approved, 4_000.0);
+        siteBudgetService.releaseLine(siteId, Status.Delivered, 1_500.0);
+        // A PENDING LINE NEVER COUNTED, SO RELEASING IT CHANGES NOTHING
+        siteBudgetService.releaseLine(siteId, Status.Pending, 9_000.0);
+
+        SiteSpend spend = spend();
+        assertEquals(0.0, spend.getCommittedAmount(), DELTA);
+        assertEquals(0.0, spend.getDeliveredAmount(), DELTA);
+    }
+
+    @Test
+    void reconcile_correctsDrift_andDropsLedgersOfDeletedSites() {
+        Item item = entityManager.persist(TestFixtures.cement().build());
+        OrderDetails order = entityManager.persist(OrderDetails.builder()
+                .status(Status.Approved)
+                .requiredDate(LocalDate.now())
+                .totalAmount(7_500.0)
+                .site(entityManager.find(Site.class, siteId)).build());
+        persistLine(order, item, 1, Status.Approved);
+        persistLine(order, item, 2, Status.Delivered);
+        openLedger();
+
+        // A MISSED UPDATE LEAVES THE LEDGER OUT OF STEP WITH THE LINES, AND A DELETED SITE LEAVES ITS ROW BEHIND
+        siteSpendRepository.adjust(siteId, 999.0, -250.0);
+        entityManager.persist(SiteSpend.builder().siteId(siteId + 1000).committedAmount(1.0).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        siteBudgetService.reconcile();
+
+        SiteSpend spend = spend();
+        assertEquals(2_500.0, spend.getCommittedAmount(), DELTA);
+        assertEquals(5_000.0, spend.getDeliveredAmount(), DELTA);
+        assertTrue(siteSpendRepository.findById(siteId + 1000).isEmpty());
+    }
+
+    private void openLedger() {
+        siteBudgetService.openLedger(siteId);
+        entityManager.flush();
+    }
+
+    private void persistLine(OrderDetails order, Item item, int quantity, Status status) {
+        entityManager.persist(OrderItem.builder()
+                .quantity(quantity)
+                .unitPrice(item.getPrice())
+                .lineTotal(quantity * item.getPrice())
+                .status(status)
+                .item(item)
+                .order(order).build());
+    }
+
+    private LedgerAmount line(Status status, double amount) {
+        return new LedgerAmount(siteId, status, amount);
+    }
+
+    // THE LEDGER IS WRITTEN WITH BULK UPDATES, SO READ IT BACK PAST THE PERSISTENCE CONTEXT
+    private SiteSpend spend() {
+        entityManager.flush();
+        entityManager.clear();
+        return siteSpendRepository.findById(siteId).orElseThrow();
+    }
+}
@@ -6,7 +6,6 @@ import com.procurement.system.construction.industry.common.CommonFunctions;
 import com.procurement.system.construction.industry.common.ResponseMessage;
 import com.procurement.system.construction.industry.dto.GetUserDTO;
 import com.procurement.system.construction.industry.dto.UserDTO;
-import com.procurement.system.construction.industry.entity.AuthToken;
 import com.procurement.system.construction.industry.entity.User;
 import com.procurement.system.construction.industry.enums.UserRole;
 import com.procurement.system.construction.industry.exception.*;
@@ -252,7 +251,7 @@ class UserServiceTest {
     }
 
     @Test
-    public void authenticate_shouldReturnSuccessResponse_whenUserAuthenticatedSuccessfully() throws NotFoundException, ForbiddenException {
+    public void authenticate_shouldReturnSuccessResponse_whenUserAuthenticatedSuccessfully() throws NotFoundException, ForbiddenException, ServiceUnavailableException {
         String email = "test@example.com";
         String password = "password";
 
@@ -273,7 +272,7 @@ class UserServiceTest {
     }
 
     @Test
-    public void authenticate_shouldThrowNotFoundException_whenUserNotFound() throws ForbiddenException, NotFoundException {
+    public void authenticate_shouldThrowNotFoundException_whenUserNotFound() throws ForbiddenException, NotFoundException, ServiceUnavailableException {
         String email = "test@example.com";
         String password = "password";
 
@@ -285,7 +284,7 @@ class UserServiceTest {
     }
 
     @Test
-    public void authenticate_shouldThrowForbiddenException_whenUserNotActivated() throws ForbiddenException, NotFoundException {
+    public void authenticate_shouldThrowForbiddenException_whenUserNotActivated() throws ForbiddenException, NotFoundException, ServiceUnavailableException {
         String email = "test@example.com";
         String password = "password";
 
@@ -308,7 +307,6 @@ class UserServiceTest {
         User user = new User();
         user.setEmail("test@example.com");
         user.setPassword(passwordEncoder.encode("password"));
-        user.setAuthToken(new AuthToken(1L, refreshToken, false, false, user));
 
         // When
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
@@ -337,7 +335,6 @@ class UserServiceTest {
         User user = new User();
         user.setEmail("test@example.com");
         user.setPassword(passwordEncoder.encode("password"));
-        user.setAuthToken(new AuthToken(1L, refreshToken, false, false, user));
 
         // When
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.empty());
@@ -353,7 +350,6 @@ class UserServiceTest {
         User user = new User();
         user.setEmail("test@example.com");
         user.setPassword(passwordEncoder.encode("password"));
-        user.setAuthToken(new AuthToken(1L ,refreshToken, false, false, user));
 
         // When
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
@@ -369,7 +365,6 @@ class UserServiceTest {
         User user = new User();
         user.setEmail("test@example.com");
         user.setPassword(passwordEncoder.encode("password"));
-        user.setAuthToken(new AuthToken(1L, token, false, false, user));
 
         // When
         when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));